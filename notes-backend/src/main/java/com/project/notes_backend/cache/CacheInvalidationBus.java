@@ -0,0 +1,19 @@
+package com.project.notes_backend.cache;
+
+/**
+ * Tells the other nodes to drop their local cache entries for a user. Local
+ * eviction stays with the @CacheEvict annotations; the bus only covers
+ * remote nodes.
+ */
+public interface CacheInvalidationBus {
+
+    // Username meaning "every entry in the cache"
+    String ALL = "*";
+
+    /**
+     * Queue an invalidation of the user's entries in the named cache. Inside
+     * a transaction it is sent only after commit; repeated calls before the
+     * next flush collapse into one message.
+     */
+    void publish(String cacheName, String username);
+}
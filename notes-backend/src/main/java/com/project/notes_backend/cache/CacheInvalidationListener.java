@@ -0,0 +1,12 @@
+package com.project.notes_backend.cache;
+
+/**
+ * Derived structure outside the CacheManager that still wants invalidations
+ * sent on the bus under its own name.
+ */
+public interface CacheInvalidationListener {
+
+    String getCacheName();
+
+    void invalidate(String username);
+}
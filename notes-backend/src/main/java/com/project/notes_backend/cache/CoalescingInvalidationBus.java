@@ -0,0 +1,159 @@
+package com.project.notes_backend.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batching half of the bus, shared by the transports. Published entries land
+ * in a set, so a burst of writes by one user is a single "cache:user" line
+ * however many notes it touched; every flush packs the pending lines into as
+ * few payloads as the transport's size limit allows.
+ *
+ * Payload format: the sending node's id, then one "cache:user" entry per
+ * line. Nodes skip their own payloads since they already evicted locally.
+ */
+@Slf4j
+public abstract class CoalescingInvalidationBus implements CacheInvalidationBus {
+
+    private static final char SEPARATOR = '\n';
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final LocalCacheEvictor evictor;
+    private final int maxPayloadBytes;
+
+    private final LongAdder sentPayloads = new LongAdder();
+    private final LongAdder receivedEntries = new LongAdder();
+
+    protected CoalescingInvalidationBus(LocalCacheEvictor evictor, int maxPayloadBytes) {
+        this.evictor = evictor;
+        this.maxPayloadBytes = maxPayloadBytes;
+    }
+
+    @Override
+    public void publish(String cacheName, String username) {
+        String entry = cacheName + ':' + username;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Other nodes must not reload the old row before this one commits
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.add(entry);
+                }
+            });
+        } else {
+            pending.add(entry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.flush-interval-millis:50}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<String> batch = new ArrayList<>();
+        for (Iterator<String> it = pending.iterator(); it.hasNext();) {
+            batch.add(it.next());
+            it.remove();
+        }
+
+        try {
+            for (String payload : encode(batch)) {
+                send(payload);
+                sentPayloads.increment();
+            }
+        } catch (RuntimeException e) {
+            // Entries are idempotent, so resending the whole batch is safe
+            pending.addAll(batch);
+            log.warn("Failed to send cache invalidations, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a payload received from the transport
+     */
+    protected void receive(String payload) {
+        int lineEnd = payload.indexOf(SEPARATOR);
+        if (lineEnd < 0 || lineEnd == nodeId.length() && payload.startsWith(nodeId)) {
+            return;
+        }
+
+        int start = lineEnd + 1;
+        while (start < payload.length()) {
+            int end = payload.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = payload.length();
+            }
+            int colon = payload.indexOf(':', start);
+            if (colon > start && colon < end) {
+                evictor.evict(payload.substring(start, colon), payload.substring(colon + 1, end));
+                receivedEntries.increment();
+            }
+            start = end + 1;
+        }
+    }
+
+    protected abstract void send(String payload);
+
+    protected LocalCacheEvictor getEvictor() {
+        return evictor;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getSentPayloads() {
+        return sentPayloads.sum();
+    }
+
+    public long getReceivedEntries() {
+        return receivedEntries.sum();
+    }
+
+    List<String> encode(List<String> entries) {
+        // A whole-cache entry makes the per-user entries of that cache redundant
+        Set<String> clearedCaches = new HashSet<>();
+        for (String entry : entries) {
+            if (entry.endsWith(":" + ALL)) {
+                clearedCaches.add(entry.substring(0, entry.indexOf(':')));
+            }
+        }
+
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId);
+        int payloadBytes = nodeId.length();
+        for (String entry : entries) {
+            String cacheName = entry.substring(0, entry.indexOf(':'));
+            if (clearedCaches.contains(cacheName) && !entry.endsWith(":" + ALL)) {
+                continue;
+            }
+            int entryBytes = entry.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (payloadBytes + entryBytes > maxPayloadBytes && payloadBytes > nodeId.length()) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+                payload.append(nodeId);
+                payloadBytes = nodeId.length();
+            }
+            payload.append(SEPARATOR).append(entry);
+            payloadBytes += entryBytes;
+        }
+        if (payloadBytes > nodeId.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.notes_backend.cache;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.project.notes_backend.dto.NoteResponseDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies invalidations received from other nodes. Every cache here is
+ * scoped by owner: userStats is keyed by username, userNotes by a
+ * UserNotesKey and noteDetails holds DTOs carrying their owner, so one
+ * user's entries can be found without clearing the whole cache. Owners are
+ * compared exactly; a prefix would also hit "bob_smith" when evicting "bob".
+ */
+@Component
+@Slf4j
+public class LocalCacheEvictor {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired(required = false)
+    private List<CacheInvalidationListener> listeners = List.of();
+
+    public LocalCacheEvictor() {
+    }
+
+    public LocalCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evict(String cacheName, String username) {
+        for (CacheInvalidationListener listener : listeners) {
+            if (listener.getCacheName().equals(cacheName)) {
+                listener.invalidate(username);
+            }
+        }
+
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (CacheInvalidationBus.ALL.equals(username)) {
+            cache.clear();
+            return;
+        }
+
+        Map<Object, Object> entries = asMap(cache.getNativeCache());
+        if (entries == null) {
+            // Unknown store, so entries cannot be matched by owner
+            cache.clear();
+            return;
+        }
+        entries.entrySet().removeIf(entry -> entry.getKey().equals(username)
+                || entry.getKey() instanceof UserNotesKey key && username.equals(key.username())
+                || entry.getValue() instanceof NoteResponseDTO note && username.equals(note.getOwnerUsername()));
+    }
+
+    /**
+     * Drop everything, used when messages may have been missed
+     */
+    public void clearAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        for (CacheInvalidationListener listener : listeners) {
+            listener.invalidate(CacheInvalidationBus.ALL);
+        }
+        log.info("Cleared all local caches");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> asMap(Object nativeCache) {
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (Map<Object, Object>) caffeine.asMap();
+        }
+        if (nativeCache instanceof Map<?, ?> map) {
+            return (Map<Object, Object>) map;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.project.notes_backend.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.project.notes_backend.config.CacheConfig;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-JVM transport: payloads go to every bus instance in this JVM. With a
+ * single application context that is a no-op; tests that start several
+ * contexts (or construct several buses) get the same delivery semantics as
+ * the PostgreSQL transport without a database that supports NOTIFY.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackCacheInvalidationBus extends CoalescingInvalidationBus {
+
+    private static final List<LoopbackCacheInvalidationBus> NODES = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public LoopbackCacheInvalidationBus(LocalCacheEvictor evictor, CacheConfig cacheConfig) {
+        this(evictor, cacheConfig.getInvalidation().getMaxPayloadBytes());
+    }
+
+    LoopbackCacheInvalidationBus(LocalCacheEvictor evictor, int maxPayloadBytes) {
+        super(evictor, maxPayloadBytes);
+    }
+
+    @PostConstruct
+    public void join() {
+        NODES.add(this);
+    }
+
+    @PreDestroy
+    public void leave() {
+        flush();
+        NODES.remove(this);
+    }
+
+    @Override
+    protected void send(String payload) {
+        for (LoopbackCacheInvalidationBus node : NODES) {
+            node.receive(payload);
+        }
+    }
+}
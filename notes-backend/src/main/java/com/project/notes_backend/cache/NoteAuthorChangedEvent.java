@@ -0,0 +1,9 @@
+package com.project.notes_backend.cache;
+
+/**
+ * Published when a user's name or picture changes; note DTOs embed both.
+ *
+ * @param username the name the user had before the change
+ */
+public record NoteAuthorChangedEvent(String username) {
+}
@@ -0,0 +1,19 @@
+package com.project.notes_backend.cache;
+
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.model.Note;
+
+/**
+ * Published by note writes; listeners run after commit.
+ *
+ * @param noteId    the note's id
+ * @param wasPublic whether the note was public before the write
+ * @param note      the saved entity, null when the note was deleted
+ * @param summary   the DTO built for the response, null when deleted
+ */
+public record NoteChangedEvent(Long noteId, boolean wasPublic, Note note, NoteResponseDTO summary) {
+
+    public boolean isPublic() {
+        return note != null && Boolean.TRUE.equals(note.getIsPublic());
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.notes_backend.cache;
+
+import java.util.List;
+
+/**
+ * Published when notes are moved to the trash; listeners run after commit.
+ *
+ * @param noteIds the trashed notes' ids
+ */
+public record NotesTrashedEvent(List<Long> noteIds) {
+}
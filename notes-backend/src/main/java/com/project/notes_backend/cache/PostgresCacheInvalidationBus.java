@@ -0,0 +1,135 @@
+package com.project.notes_backend.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.project.notes_backend.config.CacheConfig;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PostgreSQL transport: batches go out with pg_notify on a pooled
+ * connection, and one daemon thread per node holds a pooled connection of its
+ * own that LISTENs on the channel (so size the pool one larger).
+ *
+ * NOTIFY is not durable. If the listening connection drops, everything sent
+ * meanwhile is lost, so after reconnecting the node clears its caches
+ * instead of trusting them.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "postgres")
+@Slf4j
+public class PostgresCacheInvalidationBus extends CoalescingInvalidationBus {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheConfig.Invalidation config;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    @Autowired
+    public PostgresCacheInvalidationBus(LocalCacheEvictor evictor, CacheConfig cacheConfig, DataSource dataSource) {
+        super(evictor, cacheConfig.getInvalidation().getMaxPayloadBytes());
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.config = cacheConfig.getInvalidation();
+    }
+
+    @PostConstruct
+    public void start() {
+        // LISTEN does not take a bind parameter, so the name is inlined
+        if (!CHANNEL_NAME.matcher(config.getChannel()).matches()) {
+            throw new IllegalStateException("Invalid cache invalidation channel: " + config.getChannel());
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flush();
+        running = false;
+        listener.interrupt();
+        listener.join(config.getListenTimeoutMillis() * 2);
+    }
+
+    @Override
+    protected void send(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, config.getChannel(), payload);
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                execute(connection, "LISTEN " + config.getChannel());
+                if (reconnecting) {
+                    getEvictor().clearAll();
+                }
+                log.info("Listening for cache invalidations on channel '{}' as node {}", config.getChannel(), getNodeId());
+
+                try {
+                    while (running) {
+                        PGNotification[] notifications = pgConnection.getNotifications((int) config.getListenTimeoutMillis());
+                        if (notifications != null) {
+                            for (PGNotification notification : notifications) {
+                                apply(notification.getParameter());
+                            }
+                        }
+                    }
+                } finally {
+                    // The connection goes back to the pool; it must not keep listening
+                    execute(connection, "UNLISTEN *");
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                reconnecting = true;
+                log.warn("Cache invalidation listener lost its connection, retrying in {} ms: {}",
+                        config.getReconnectDelayMillis(), e.getMessage());
+                try {
+                    Thread.sleep(config.getReconnectDelayMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        try {
+            receive(payload);
+        } catch (RuntimeException e) {
+            // A stale entry is worse than a cold cache
+            log.error("Failed to apply cache invalidation, clearing local caches", e);
+            getEvictor().clearAll();
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.project.notes_backend.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notes_backend.config.PublicFeedConfig;
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.service.NoteService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Materialized public feed: the newest public notes, sorted the way
+ * GET /api/notes/public sorts by default, kept in memory and shared by every
+ * caller. Note writes patch the window after commit instead of rebuilding
+ * it, and each window version caches its pages as serialized JSON, so a page
+ * request is usually a map lookup.
+ *
+ * Pages past the window of a partial feed (more public notes than
+ * windowSize) and other sort orders return null; the caller falls back to
+ * the database. Changes made on other nodes arrive over the invalidation bus
+ * and trigger a background rebuild, during which the old window is served.
+ */
+@Component
+@Slf4j
+public class PublicNoteFeed implements CacheInvalidationListener {
+
+    public static final String CACHE_NAME = "publicFeed";
+    public static final Sort FEED_SORT = Sort.by(Sort.Direction.DESC, "updatedAt");
+
+    private static final Comparator<NoteResponseDTO> NEWEST_FIRST = Comparator
+            .comparing(NoteResponseDTO::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(NoteResponseDTO::getId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .reversed();
+
+    @Autowired
+    private PublicFeedConfig config;
+
+    @Autowired
+    private ObjectProvider<NoteService> noteService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("cacheRefreshExecutor")
+    private ThreadPoolExecutor refreshExecutor;
+
+    private final Object loadLock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Bumped by every incremental change, so a rebuild can tell it raced one
+    private final AtomicLong version = new AtomicLong();
+    private volatile Window window;
+    private volatile boolean stale;
+
+    /**
+     * Serialized page, or null if the feed cannot answer this request
+     */
+    public byte[] pageJson(Pageable pageable) {
+        if (!config.isEnabled() || !FEED_SORT.equals(pageable.getSort())) {
+            return null;
+        }
+
+        Window current = window;
+        try {
+            if (current == null) {
+                current = initialLoad();
+            } else if (stale) {
+                scheduleRebuild();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Public feed unavailable, falling back to the database: {}", e.getMessage());
+            return null;
+        }
+
+        long from = pageable.getOffset();
+        long to = from + pageable.getPageSize();
+        if (to > current.notes().size() && !current.isComplete()) {
+            return null;
+        }
+
+        long pageKey = ((long) pageable.getPageNumber() << 32) | pageable.getPageSize();
+        byte[] json = current.pages().get(pageKey);
+        if (json == null) {
+            json = serialize(current, pageable, (int) Math.min(from, current.notes().size()),
+                    (int) Math.min(to, current.notes().size()));
+            if (json != null && current.pages().size() < config.getMaxCachedPages()) {
+                current.pages().putIfAbsent(pageKey, json);
+            }
+        }
+        return json;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoteChanged(NoteChangedEvent event) {
+        if (event.wasPublic() || event.isPublic()) {
+            apply(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(NoteAuthorChangedEvent event) {
+        invalidate(event.username());
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void invalidate(String username) {
+        Window current = window;
+        if (current == null) {
+            return;
+        }
+        if (CacheInvalidationBus.ALL.equals(username)
+                || current.notes().stream().anyMatch(note -> username.equals(note.getOwnerUsername()))) {
+            stale = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.public-feed.reconcile-interval-millis:300000}")
+    public void reconcile() {
+        if (window != null) {
+            stale = true;
+        }
+    }
+
+    synchronized void apply(NoteChangedEvent event) {
+        version.incrementAndGet();
+        Window current = window;
+        if (current == null) {
+            return;
+        }
+
+        List<NoteResponseDTO> notes = new ArrayList<>(current.notes());
+        notes.removeIf(note -> note.getId().equals(event.noteId()));
+        long total = current.total() - (event.wasPublic() ? 1 : 0);
+        boolean complete = notes.size() >= total;
+
+        if (event.isPublic()) {
+            total++;
+            NoteResponseDTO summary = event.summary();
+            // @UpdateTimestamp is assigned at flush, after the DTO was built
+            summary.setUpdatedAt(event.note().getUpdatedAt());
+            int at = Collections.binarySearch(notes, summary, NEWEST_FIRST);
+            at = at < 0 ? -at - 1 : at;
+            // Past the tail of a partial window there may be notes never loaded
+            if (complete || at < notes.size()) {
+                notes.add(at, summary);
+            }
+        }
+        if (notes.size() > config.getWindowSize()) {
+            notes.subList(config.getWindowSize(), notes.size()).clear();
+        }
+        if (notes.size() < total && notes.size() < config.getWindowSize() * 3 / 4) {
+            // Removals have eaten into a partial window; refill it
+            stale = true;
+        }
+
+        window = new Window(List.copyOf(notes), total);
+    }
+
+    private Window initialLoad() {
+        synchronized (loadLock) {
+            Window current = window;
+            return current != null ? current : rebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    stale = true;
+                    log.warn("Failed to rebuild public feed: {}", e.getMessage());
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuilding.set(false);
+        }
+    }
+
+    private Window rebuild() {
+        long startVersion = version.get();
+        stale = false;
+        Page<NoteResponseDTO> page = noteService.getObject()
+                .getPublicNotes(PageRequest.of(0, config.getWindowSize(), FEED_SORT));
+        List<NoteResponseDTO> notes = new ArrayList<>(page.getContent());
+        notes.sort(NEWEST_FIRST);
+        Window rebuilt = new Window(List.copyOf(notes), page.getTotalElements());
+
+        synchronized (this) {
+            if (version.get() != startVersion) {
+                // A write landed while the query ran and may not be in its result
+                stale = true;
+            }
+            window = rebuilt;
+        }
+        log.debug("Rebuilt public feed with {} of {} public notes", notes.size(), rebuilt.total());
+        return rebuilt;
+    }
+
+    private byte[] serialize(Window current, Pageable pageable, int from, int to) {
+        // Same shape as the Page<NoteResponseDTO> the endpoint used to return
+        Page<NoteResponseDTO> page = new PageImpl<>(current.notes().subList(from, to),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), FEED_SORT), current.total());
+        try {
+            return objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize public feed page: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private record Window(List<NoteResponseDTO> notes, long total, ConcurrentHashMap<Long, byte[]> pages) {
+
+        Window(List<NoteResponseDTO> notes, long total) {
+            this(notes, total, new ConcurrentHashMap<>());
+        }
+
+        boolean isComplete() {
+            return notes.size() >= total;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.notes_backend.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+/**
+ * Loader bean for one cache. When that cache's spec sets
+ * refresh-after-write, entries read after that age are reloaded in the
+ * background while readers keep getting the old value.
+ */
+public interface RefreshingCacheLoader extends CacheLoader<Object, Object> {
+
+    String getCacheName();
+}
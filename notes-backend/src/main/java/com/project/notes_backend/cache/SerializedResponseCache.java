@@ -0,0 +1,178 @@
+package com.project.notes_backend.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.notes_backend.config.ResponseCacheConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Final response bytes for values returned by the service caches. Entries
+ * are keyed by the identity of the cached value (weak keys): a cache hit in
+ * userNotes, userStats or noteDetails returns the same instance and so the
+ * same bytes, and once the service cache evicts or replaces that value the
+ * next call gets a new instance and is serialized again. Invalidation
+ * therefore follows the service caches without a second set of evictions.
+ *
+ * Responses are returned as byte[] bodies, which Spring copies straight to
+ * the servlet output stream; gzip is computed once on the first request that
+ * accepts it, and the entry is then re-weighed to charge both copies.
+ */
+@Component
+@Slf4j
+public class SerializedResponseCache {
+
+    @Autowired
+    private ResponseCacheConfig config;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Cache<Object, SerializedResponse> responses;
+
+    @PostConstruct
+    public void init() {
+        responses = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumWeight(config.getMaxWeightBytes())
+                .weigher((Object value, SerializedResponse response) -> response.weight())
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, responses, "serializedResponses");
+        }
+    }
+
+    /**
+     * 200 response with the value's JSON, gzipped when the client accepts it
+     * and the body is large enough. A byte[] value is taken as JSON already.
+     */
+    public ResponseEntity<byte[]> ok(Object value, String acceptEncoding) {
+        SerializedResponse response = config.isEnabled()
+                ? responses.get(value, this::serialize)
+                : serialize(value);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding) && response.json().length >= config.getGzipMinBytes()) {
+            boolean weighed = response.hasGzip();
+            byte[] gzip = response.gzip();
+            if (!weighed && config.isEnabled()) {
+                // Re-weigh the entry now that it also holds the gzip copy
+                responses.asMap().replace(value, response, response);
+            }
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+        }
+        return builder.body(response.json());
+    }
+
+    private SerializedResponse serialize(Object value) {
+        if (value instanceof byte[] json) {
+            return new SerializedResponse(json);
+        }
+        try {
+            return new SerializedResponse(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    /**
+     * True when Accept-Encoding allows gzip: listed (or matched by "*") with a
+     * non-zero q-value. An explicit gzip entry wins over the wildcard.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] params = entry.split(";");
+            String coding = params[0].trim();
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                return qValue(params) > 0;
+            }
+            if (coding.equals("*")) {
+                wildcard = qValue(params) > 0;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double qValue(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.length() > 2 && Character.toLowerCase(param.charAt(0)) == 'q' && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static final class SerializedResponse {
+
+        private final byte[] json;
+        private volatile byte[] gzip;
+
+        SerializedResponse(byte[] json) {
+            this.json = json;
+        }
+
+        byte[] json() {
+            return json;
+        }
+
+        byte[] gzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                // Racing threads may both compress; the results are identical
+                compressed = compress(json);
+                gzip = compressed;
+            }
+            return compressed;
+        }
+
+        boolean hasGzip() {
+            return gzip != null;
+        }
+
+        int weight() {
+            byte[] compressed = gzip;
+            return json.length + (compressed != null ? compressed.length : 0);
+        }
+
+        private static byte[] compress(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.notes_backend.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts one user's note caches on this node and queues the same
+ * invalidation for the other nodes. Used by the bulk paths (import, batch
+ * operations), which change many notes at once and evict once per request
+ * instead of through per-note @CacheEvict annotations. Call it after the
+ * changes are committed.
+ */
+@Component
+public class UserNoteCacheInvalidator {
+
+    private static final String[] USER_CACHES = {"userNotes", "userStats", "noteDetails"};
+
+    @Autowired
+    private LocalCacheEvictor localCacheEvictor;
+
+    @Autowired(required = false)
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    /**
+     * @param publicFeed also rebuild the public feed, for changes that touched public notes
+     */
+    public void invalidate(String username, boolean publicFeed) {
+        for (String cacheName : USER_CACHES) {
+            localCacheEvictor.evict(cacheName, username);
+            if (cacheInvalidationBus != null) {
+                cacheInvalidationBus.publish(cacheName, username);
+            }
+        }
+        if (publicFeed) {
+            localCacheEvictor.evict(PublicNoteFeed.CACHE_NAME, CacheInvalidationBus.ALL);
+            if (cacheInvalidationBus != null) {
+                cacheInvalidationBus.publish(PublicNoteFeed.CACHE_NAME, CacheInvalidationBus.ALL);
+            }
+        }
+    }
+}
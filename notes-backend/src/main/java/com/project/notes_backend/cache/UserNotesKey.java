@@ -0,0 +1,18 @@
+package com.project.notes_backend.cache;
+
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Key of a userNotes page. Kept as separate components rather than one joined
+ * string so an owner's entries can be matched exactly: usernames and search
+ * terms may both contain the separator.
+ */
+public record UserNotesKey(String username, String search, String category, boolean shared,
+        String sortBy, String sortOrder, int page, int size) {
+
+    public static UserNotesKey of(String username, String search, String category, boolean shared,
+            String sortBy, String sortOrder, Pageable pageable) {
+        return new UserNotesKey(username, search, category, shared, sortBy, sortOrder,
+                pageable.getPageNumber(), pageable.getPageSize());
+    }
+}
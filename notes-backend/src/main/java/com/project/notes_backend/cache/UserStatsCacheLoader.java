@@ -0,0 +1,27 @@
+package com.project.notes_backend.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.project.notes_backend.service.impl.UserNotesStatsCalculator;
+
+/**
+ * Recomputes userStats entries (keyed by username) for loads and background
+ * refreshes.
+ */
+@Component
+public class UserStatsCacheLoader implements RefreshingCacheLoader {
+
+    @Autowired
+    private UserNotesStatsCalculator calculator;
+
+    @Override
+    public String getCacheName() {
+        return "userStats";
+    }
+
+    @Override
+    public Object load(Object username) {
+        return calculator.calculate((String) username);
+    }
+}
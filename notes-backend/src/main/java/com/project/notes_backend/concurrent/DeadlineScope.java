@@ -0,0 +1,134 @@
+package com.project.notes_backend.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fork/join scope for independent subtasks with their own deadlines, shaped
+ * after StructuredTaskScope (still a preview API on Java 21, which this build
+ * does not enable). Each subtask runs on its own virtual thread. join() waits
+ * for every subtask until its deadline and cancels the ones that miss it;
+ * close() interrupts whatever is left and waits a short grace period, so
+ * subtasks do not outlive the block that forked them.
+ *
+ * Outcomes are kept per subtask instead of failing the whole scope, which is
+ * what callers assembling partial results need. Not thread-safe: fork, join
+ * and close belong to the owning thread.
+ */
+@Slf4j
+public final class DeadlineScope implements AutoCloseable {
+
+    public enum State {
+        RUNNING, SUCCESS, FAILED, TIMED_OUT
+    }
+
+    private final ExecutorService executor;
+    private final long closeGraceMillis;
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    private boolean joined;
+
+    public DeadlineScope(String threadPrefix, long closeGraceMillis) {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadPrefix, 1).factory());
+        this.closeGraceMillis = closeGraceMillis;
+    }
+
+    /**
+     * Start a subtask; its deadline counts from now, not from join()
+     */
+    public <T> Subtask<T> fork(String name, Callable<T> task, long deadlineMillis) {
+        if (joined) {
+            throw new IllegalStateException("Cannot fork after join");
+        }
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        Subtask<T> subtask = new Subtask<>(name, deadlineNanos, executor.submit(task));
+        subtasks.add(subtask);
+        return subtask;
+    }
+
+    /**
+     * Wait for all subtasks, each until its own deadline. Deadlines are
+     * absolute, so the total wait is the longest deadline, not their sum.
+     */
+    public DeadlineScope join() throws InterruptedException {
+        joined = true;
+        for (Subtask<?> subtask : subtasks) {
+            subtask.await();
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(closeGraceMillis, TimeUnit.MILLISECONDS)) {
+                // Interrupted but still blocked, e.g. in a driver call that ignores interrupts
+                log.warn("Abandoning subtasks still running {} ms after cancellation", closeGraceMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static final class Subtask<T> {
+
+        private final String name;
+        private final long deadlineNanos;
+        private final Future<T> future;
+        private State state = State.RUNNING;
+        private T result;
+        private Throwable exception;
+
+        private Subtask(String name, long deadlineNanos, Future<T> future) {
+            this.name = name;
+            this.deadlineNanos = deadlineNanos;
+            this.future = future;
+        }
+
+        private void await() throws InterruptedException {
+            try {
+                // A zero timeout still returns a result that is already there
+                result = future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                state = State.SUCCESS;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                state = State.TIMED_OUT;
+            } catch (ExecutionException e) {
+                exception = e.getCause();
+                state = State.FAILED;
+            } catch (CancellationException e) {
+                exception = e;
+                state = State.FAILED;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public Throwable getException() {
+            return exception;
+        }
+
+        public T get() {
+            if (state != State.SUCCESS) {
+                throw new IllegalStateException("Subtask '" + name + "' did not complete: " + state);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.project.notes_backend.concurrent;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import com.project.notes_backend.config.VirtualThreadConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier, which on JDK 21
+ * happens when they block inside a synchronized block (the JDBC driver,
+ * Hibernate, connection pool internals). Streams the JFR
+ * jdk.VirtualThreadPinned event in-process, counts it per blocking frame and
+ * logs each distinct frame once with its stack.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "app.virtual-threads.pinning-detection", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PinnedThreadMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    @Autowired
+    private VirtualThreadConfig config;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(config.getPinningThresholdMillis()))
+                .withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning detection enabled (threshold {} ms)", config.getPinningThresholdMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String frame = blockingFrame(event);
+        if (meterRegistry != null) {
+            meterRegistry.counter("virtual.threads.pinned", "frame", frame).increment();
+            meterRegistry.timer("virtual.threads.pinned.duration").record(event.getDuration());
+        }
+        if (reportedFrames.add(frame)) {
+            log.warn("Virtual thread pinned for {} ms in {}:{}", event.getDuration().toMillis(), frame,
+                    stackOf(event));
+        }
+    }
+
+    /**
+     * First frame outside the JDK, i.e. the library code that blocked while
+     * holding a monitor; bounded by the number of such call sites
+     */
+    private static String blockingFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "jdk";
+    }
+
+    private static String stackOf(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "";
+        }
+        StringBuilder stack = new StringBuilder();
+        int count = 0;
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            if (count++ == LOGGED_FRAMES) {
+                stack.append("\n\t...");
+                break;
+            }
+            stack.append("\n\tat ").append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        return stack.toString();
+    }
+}
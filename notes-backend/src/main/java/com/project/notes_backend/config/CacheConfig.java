@@ -1,34 +1,196 @@
 package com.project.notes_backend.config;
 
 import java.time.Duration;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.notes_backend.cache.RefreshingCacheLoader;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One Caffeine spec per cache name (app.cache.specs.NAME.*). Every cache
+ * records stats and is bound to Micrometer, so hit ratio, evictions and load
+ * time show up under /actuator/metrics/cache.*.
+ *
+ * Caches with a {@link RefreshingCacheLoader} bean are built as loading
+ * caches; their refresh-after-write reloads run on a small dedicated pool so
+ * slow queries never occupy the common fork-join pool.
+ */
 @Configuration
 @EnableCaching
+@ConfigurationProperties(prefix = "app.cache")
+@Data
+@Slf4j
 public class CacheConfig {
 
+    // Serialized size charged for values Jackson cannot serialize
+    private static final int UNKNOWN_WEIGHT = 1024;
+
+    private Map<String, CacheSpec> specs = new LinkedHashMap<>();
+
+    private Invalidation invalidation = new Invalidation();
+
+    // Threads running background refreshes, and refreshes allowed to wait for one
+    private int refreshThreads = 2;
+    private int refreshQueueCapacity = 256;
+
+    public CacheConfig() {
+        // Paged note lists per user and filter combination
+        specs.put("userNotes", new CacheSpec(1000L, null, Duration.ofMinutes(10), null, null));
+        // Six aggregate queries per user; small values, expensive to compute, so
+        // hot entries are refreshed in the background well before they expire
+        specs.put("userStats", new CacheSpec(1000L, null, Duration.ofMinutes(10), null, Duration.ofMinutes(1)));
+        // Single notes by id; hot notes stay while they are being read
+        specs.put("noteDetails", new CacheSpec(5000L, null, null, Duration.ofMinutes(10), null));
+    }
+
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<RefreshingCacheLoader> refreshingLoaders) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        
-        // Configure different caches with different settings
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .initialCapacity(100)
-                .maximumSize(1000)
-                .expireAfterWrite(Duration.ofMinutes(10))
-                .recordStats());
-        
-        // Define cache names
-        cacheManager.setCacheNames(List.of("userNotes", "userStats", "noteDetails"));
-        
+        cacheManager.setCacheNames(specs.keySet());
+
+        Map<String, RefreshingCacheLoader> loaders = new LinkedHashMap<>();
+        refreshingLoaders.orderedStream().forEach(loader -> loaders.put(loader.getCacheName(), loader));
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        specs.forEach((name, spec) -> {
+            Cache<Object, Object> cache = buildCache(name, spec, objectMapper, loaders.get(name));
+            cacheManager.registerCustomCache(name, cache);
+            if (registry != null) {
+                // Same tags as Spring Boot's cache metrics binder, so a second bind is a no-op
+                CaffeineCacheMetrics.monitor(registry, cache, name, "cacheManager", "cacheManager");
+            }
+        });
+
         return cacheManager;
     }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor cacheRefreshExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+
+        // Caffeine drops a rejected refresh and keeps serving the current value
+        return new ThreadPoolExecutor(refreshThreads, refreshThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(refreshQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    Cache<Object, Object> buildCache(String name, CacheSpec spec, ObjectMapper objectMapper,
+            RefreshingCacheLoader loader) {
+        Caffeine<Object, Object> builder = newBuilder(spec, objectMapper);
+        if (loader == null) {
+            if (spec.getRefreshAfterWrite() != null) {
+                // Refreshing needs a loader that knows how to recompute the key
+                log.warn("Ignoring refresh-after-write for cache '{}': no loader registered", name);
+            }
+            return builder.build();
+        }
+
+        if (spec.getRefreshAfterWrite() != null) {
+            builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+        }
+        // A loading cache also makes Spring's lookups load through the loader,
+        // one computation per key however many callers miss at once
+        return builder.executor(cacheRefreshExecutor()).build(loader);
+    }
+
+    private Caffeine<Object, Object> newBuilder(CacheSpec spec, ObjectMapper objectMapper) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getInitialCapacity() != null) {
+            builder.initialCapacity(spec.getInitialCapacity());
+        }
+
+        if (spec.getMaximumWeightBytes() != null) {
+            builder.maximumWeight(spec.getMaximumWeightBytes())
+                    .weigher((key, value) -> serializedSize(objectMapper, value));
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
+    }
+
+    private static int serializedSize(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value).length;
+        } catch (Exception e) {
+            return UNKNOWN_WEIGHT;
+        }
+    }
+
+    /**
+     * Bounds and expiry for one cache. Set maximumWeightBytes to bound by
+     * serialized JSON size instead of entry count (costs one serialization per
+     * insert).
+     */
+    @Data
+    public static class CacheSpec {
+
+        private Integer initialCapacity = 100;
+        private Long maximumSize;
+        private Long maximumWeightBytes;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private Duration refreshAfterWrite;
+
+        public CacheSpec() {
+        }
+
+        public CacheSpec(Long maximumSize, Long maximumWeightBytes, Duration expireAfterWrite,
+                Duration expireAfterAccess, Duration refreshAfterWrite) {
+            this.maximumSize = maximumSize;
+            this.maximumWeightBytes = maximumWeightBytes;
+            this.expireAfterWrite = expireAfterWrite;
+            this.expireAfterAccess = expireAfterAccess;
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+    }
+
+    /**
+     * Cross-node invalidation (app.cache.invalidation.*). transport is
+     * loopback (in-JVM, single node and tests) or postgres (LISTEN/NOTIFY).
+     */
+    @Data
+    public static class Invalidation {
+
+        private String transport = "loopback";
+        private String channel = "cache_invalidation";
+        private long flushIntervalMillis = 50;
+        // PostgreSQL rejects NOTIFY payloads of 8000 bytes or more
+        private int maxPayloadBytes = 7500;
+        private long listenTimeoutMillis = 500;
+        private long reconnectDelayMillis = 5000;
+    }
 }
@@ -0,0 +1,31 @@
+package com.project.notes_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Settings for GET /api/dashboard. Each section has its own deadline; a
+ * section that misses it is left out of the response instead of delaying the
+ * rest.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.dashboard")
+@Data
+public class DashboardConfig {
+
+    private long statsDeadlineMillis = 1000;
+    private long recentActivitiesDeadlineMillis = 500;
+    private long favoritesDeadlineMillis = 500;
+    private long notesDeadlineMillis = 1000;
+
+    // How long the response waits for cancelled sections to actually stop
+    private long cancelGraceMillis = 50;
+
+    // Same defaults as the individual endpoints the dashboard replaces
+    private int recentActivityDays = 7;
+    private int recentActivityLimit = 10;
+    private int favoritesLimit = 10;
+    private int notesLimit = 20;
+}
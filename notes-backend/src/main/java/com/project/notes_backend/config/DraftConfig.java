@@ -0,0 +1,42 @@
+package com.project.notes_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Settings for the autosave draft buffer (PUT /api/notes/{id}/draft).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.drafts")
+@Data
+public class DraftConfig {
+
+    // A draft is written to the note once no save arrived for this long
+    private long quietPeriodMillis = 3000;
+
+    // ... or once its oldest unwritten save is this old, for non-stop typing
+    private long maxDelayMillis = 30000;
+
+    // ... or once this many saves are buffered
+    private int maxPendingSaves = 100;
+
+    // How often due drafts are looked for
+    private long flushTickMillis = 500;
+
+    // Written drafts stay this long so the client's base version keeps matching
+    private long sessionIdleMillis = 600000;
+
+    // Drafts held in memory; beyond this, saves go straight to the database
+    private int maxDrafts = 10000;
+
+    // Write-ahead file; every save is appended before it is acknowledged
+    private String walFile = "data/drafts.wal";
+
+    // fsync each append; without it a crash of the OS (not the JVM) can lose saves
+    private boolean walFsync = true;
+
+    // Rewrite the file with only the unwritten drafts once it grows past this
+    private long walCompactBytes = 4 * 1024 * 1024;
+}
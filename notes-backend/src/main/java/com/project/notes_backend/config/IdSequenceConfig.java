@@ -0,0 +1,29 @@
+package com.project.notes_backend.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Settings for the id sequences behind Note, User, UserActivity and AuditLog.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.id-sequences")
+@Data
+public class IdSequenceConfig {
+
+    // Create missing sequences and move them past existing ids before Hibernate starts
+    private boolean migrateOnStartup = true;
+
+    /**
+     * Hibernate must not hand out ids until the sequences are past the rows
+     * written while the tables still used IDENTITY columns
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor idSequenceMigratorDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("idSequenceMigrator");
+    }
+}
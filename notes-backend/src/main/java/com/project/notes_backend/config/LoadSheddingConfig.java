@@ -0,0 +1,52 @@
+package com.project.notes_backend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.project.notes_backend.ratelimit.AdaptiveConcurrencyLimiter;
+
+import lombok.Data;
+
+/**
+ * Node-wide adaptive concurrency limit applied before authentication. Unlike
+ * the per-key rate limits this protects the node itself: when latency climbs,
+ * the limit drops and low priority routes are shed with a 503 first.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.load-shedding")
+@Data
+public class LoadSheddingConfig {
+
+    private boolean enabled = true;
+
+    // Starting point and bounds for the adaptive in-flight limit
+    private int initialLimit = 100;
+    private int minLimit = 10;
+    private int maxLimit = 400;
+
+    // Fraction of the limit low priority routes may occupy
+    private double lowPriorityShare = 0.5;
+
+    // Latency may exceed the baseline by this factor before the limit shrinks
+    private double tolerance = 1.5;
+
+    // How often the limit is recomputed from the latest latency samples
+    private long windowMillis = 100;
+
+    // Value of the Retry-After header on shed requests
+    private int retryAfterSeconds = 1;
+
+    // Normalized endpoints (see RouteClassifier) shed first under load
+    private List<String> lowPriorityEndpoints = new ArrayList<>(List.of(
+            "/api/notes/public", "/api/notes/search", "/api/notes/stats"));
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, lowPriorityShare, tolerance,
+                windowMillis * 1_000_000L);
+    }
+}
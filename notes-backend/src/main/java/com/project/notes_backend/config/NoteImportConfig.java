@@ -0,0 +1,25 @@
+package com.project.notes_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Settings for POST /api/notes/import.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.note-import")
+@Data
+public class NoteImportConfig {
+
+    // Notes per INSERT batch; each batch commits with one audit and one activity row
+    private int batchSize = 500;
+
+    // Rejected rows described in the response; the rest are only counted
+    private int maxReportedErrors = 20;
+
+    // Largest ZIP entry or NDJSON line read; notes are capped at 10000
+    // characters anyway
+    private int maxEntryBytes = 65536;
+}
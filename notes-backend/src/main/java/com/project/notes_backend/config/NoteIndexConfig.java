@@ -0,0 +1,21 @@
+package com.project.notes_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Startup index maintenance on the notes table (Postgres only), see PartialIndexInitializer.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.note-indexes")
+@Data
+public class NoteIndexConfig {
+
+    // Create the partial indexes JPA cannot declare
+    private boolean createPartialOnStartup = true;
+
+    // Drop indexes that no query uses since the owner_id composite indexes replaced them
+    private boolean dropObsoleteOnStartup = true;
+}
@@ -0,0 +1,54 @@
+package com.project.notes_backend.config;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Sizing for the dedicated password hashing executor. BCrypt is CPU bound, so
+ * the pool is capped at the core count by default and the queue is kept short:
+ * a login storm should get fast 503s instead of tying up every Tomcat worker.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.password-hashing")
+@Data
+public class PasswordHashingConfig {
+
+    // BCrypt cost factor; changing it rehashes passwords on the next login
+    private int strength = 10;
+
+    // Threads doing hashing work (0 = number of available processors)
+    private int poolSize = 0;
+
+    // Hash requests allowed to wait for a free thread before rejecting
+    private int queueCapacity = 64;
+
+    // Maximum time a request thread waits for a queued hash before giving up
+    private long timeoutMillis = 5000;
+
+    // Value of the Retry-After header sent when the executor is saturated
+    private int retryAfterSeconds = 2;
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+
+        return new ThreadPoolExecutor(threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.notes_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Settings for the in-memory public notes feed behind GET /api/notes/public.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.public-feed")
+@Data
+public class PublicFeedConfig {
+
+    private boolean enabled = true;
+
+    // Newest public notes kept in memory; later pages go to the database
+    private int windowSize = 1000;
+
+    // Serialized pages kept per window version
+    private int maxCachedPages = 256;
+
+    // Full rebuild interval, catches anything the incremental updates missed
+    private long reconcileIntervalMillis = 300000;
+}
@@ -10,9 +10,11 @@ import org.springframework.context.annotation.Configuration;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.notes_backend.ratelimit.RateLimitKey;
 
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.local.SynchronizationStrategy;
 import lombok.Data;
 
 @Configuration
@@ -34,9 +36,40 @@ public class RateLimitingConfig {
     private long cacheMaxSize = 10000;
     private long cacheExpireMinutes = 60;
 
+    // Limiter backend: "bucket4j" (Caffeine cache of Bucket objects),
+    // "compact" (primitive open-addressing table, see CompactTokenBucketStore)
+    // or "jdbc" (cluster-wide buckets in the database, see JdbcRateLimitBackend)
+    private String backend = "bucket4j";
+
+    // Compact backend sizing: total slots (16 bytes each) and shard count
+    private int compactStoreSlots = 2_097_152;
+    private int compactStoreShards = 64;
+
+    // JDBC backend: tokens leased per database round trip, how long a node may
+    // hold them, and how often idle bucket rows are purged
+    private long jdbcLeaseSize = 5;
+    private long jdbcLeaseTtlMillis = 1000;
+    private long jdbcCleanupIntervalMillis = 300_000;
+
     // Endpoint-specific limits
     private Map<String, Long> endpointLimits = new ConcurrentHashMap<>();
 
+    // Tokens charged per request by endpoint (default 1), see RouteCostModel
+    private Map<String, Long> endpointCosts = new ConcurrentHashMap<>();
+
+    // Charge one token per cost unit of a route's average handler latency when
+    // that exceeds the static cost (the larger of the two, not the sum)
+    private boolean dynamicCosts = false;
+    private long costUnitMillis = 50;
+    private long maxDynamicCost = 10;
+
+    // Heavy-hitter sketch: counters per stripe (power-of-two stripe count),
+    // keys reported, and how often counts are halved
+    private int heavyHitterCountersPerStripe = 16;
+    private int heavyHitterStripes = 16;
+    private int heavyHitterTopK = 20;
+    private long heavyHitterDecayMillis = 60_000;
+
     public RateLimitingConfig() {
         // Initialize endpoint-specific limits
         // High-frequency endpoints (lower limits)
@@ -46,19 +79,26 @@ public class RateLimitingConfig {
 
         // Medium-frequency endpoints
         endpointLimits.put("/api/notes", 100L); // 100 per minute
+        endpointLimits.put("/api/notes/public", 100L); // 100 per minute
         endpointLimits.put("/api/notes/stats", 30L); // 30 per minute
+        endpointLimits.put("/api/dashboard", 30L); // 30 per minute
 
         // Low-frequency endpoints (higher limits)
         endpointLimits.put("/api/auth/login", 10L); // 10 per minute (security)
         endpointLimits.put("/api/auth/register", 5L); // 5 per minute (security)
         endpointLimits.put("/api/auth/refresh", 20L); // 20 per minute
+        endpointLimits.put("/api/notes/export", 5L); // 5 per minute (full table scan per user)
+        endpointLimits.put("/api/notes/import", 5L); // 5 per minute (bulk inserts)
+        endpointLimits.put("/api/notes/batch", 30L); // 30 per minute
+        endpointLimits.put("/api/notes/{id}/draft", 300L); // 300 per minute (editor autosave)
+        endpointLimits.put("/api/notes/trash", 30L); // 30 per minute
 
         // Admin endpoints
         endpointLimits.put("/api/admin/**", 100L); // 100 per minute
     }
 
     @Bean
-    public Cache<String, Bucket> rateLimitCache() {
+    public Cache<RateLimitKey, Bucket> rateLimitCache() {
         return Caffeine.newBuilder()
                 .maximumSize(cacheMaxSize)
                 .expireAfterWrite(Duration.ofMinutes(cacheExpireMinutes))
@@ -70,12 +110,34 @@ public class RateLimitingConfig {
     }
 
     public Bucket createBucket(RateLimitTier tier, String endpoint) {
+        BucketLimit bucketLimit = limitFor(tier, endpoint);
+
+        // Create bandwidth with burst capacity and steady refill
+        Bandwidth limit = Bandwidth.builder()
+                .capacity(bucketLimit.capacity())
+                .refillIntervally(bucketLimit.refillTokens(), bucketLimit.refillPeriod())
+                .build();
+
+        // SYNCHRONIZED mutates bucket state in place; the default lock-free
+        // strategy allocates a new state copy on every consume
+        return Bucket.builder()
+                .addLimit(limit)
+                .withSynchronizationStrategy(SynchronizationStrategy.SYNCHRONIZED)
+                .build();
+    }
+
+    /**
+     * Resolve the burst capacity and refill rate for a tier and normalized
+     * endpoint; shared by every limiter backend.
+     */
+    public BucketLimit limitFor(RateLimitTier tier, String endpoint) {
         long requestsPerMinute;
         long burstLimit;
 
         // Check for endpoint-specific limits first
-        if (endpoint != null && endpointLimits.containsKey(endpoint)) {
-            requestsPerMinute = endpointLimits.get(endpoint);
+        Long endpointLimit = endpoint != null ? endpointLimits.get(endpoint) : null;
+        if (endpointLimit != null) {
+            requestsPerMinute = endpointLimit;
             burstLimit = Math.min(requestsPerMinute / 3, getDefaultBurstLimit(tier));
         } else {
             // Use tier-based limits
@@ -96,15 +158,7 @@ public class RateLimitingConfig {
             }
         }
 
-        // Create bandwidth with burst capacity and steady refill
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(burstLimit)
-                .refillIntervally(requestsPerMinute, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+        return new BucketLimit(burstLimit, requestsPerMinute, Duration.ofMinutes(1));
     }
 
     private long getDefaultBurstLimit(RateLimitTier tier) {
@@ -119,6 +173,12 @@ public class RateLimitingConfig {
         }
     }
 
+    /**
+     * Burst capacity plus refill of refillTokens every refillPeriod
+     */
+    public record BucketLimit(long capacity, long refillTokens, Duration refillPeriod) {
+    }
+
     public enum RateLimitTier {
         ANONYMOUS,
         AUTHENTICATED,
@@ -0,0 +1,24 @@
+package com.project.notes_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Settings for the serialized response cache (JSON bytes of cached service
+ * results).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.response-cache")
+@Data
+public class ResponseCacheConfig {
+
+    private boolean enabled = true;
+
+    // Upper bound on cached JSON plus gzip bytes
+    private long maxWeightBytes = 64L * 1024 * 1024;
+
+    // Bodies smaller than this are never gzipped
+    private int gzipMinBytes = 1024;
+}
@@ -1,7 +1,9 @@
 package com.project.notes_backend.config;
 
 import java.time.LocalDate;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
@@ -13,21 +15,26 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import com.project.notes_backend.filter.ConcurrencyLimitFilter;
 import com.project.notes_backend.filter.RateLimitingFilter;
+import com.project.notes_backend.filter.RequestClassificationFilter;
 import com.project.notes_backend.model.AppRole;
 import com.project.notes_backend.model.Role;
 import com.project.notes_backend.model.User;
 import com.project.notes_backend.repository.RoleRepository;
 import com.project.notes_backend.repository.UserRepository;
+import com.project.notes_backend.security.BoundedPasswordEncoder;
 import com.project.notes_backend.security.jwt.AuthEntryPointJwt;
 import com.project.notes_backend.security.jwt.AuthTokenFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true,
@@ -48,6 +55,12 @@ public class SecurityConfig {
     @Autowired
     private RateLimitingFilter rateLimitingFilter;
 
+    @Autowired
+    private RequestClassificationFilter requestClassificationFilter;
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -75,6 +88,8 @@ public class SecurityConfig {
                         .requestMatchers("/login**").permitAll()
                         .requestMatchers("/error").permitAll()
                         .requestMatchers("/favicon.ico").permitAll()
+                        // Metrics name users and routes; health and info stay public
+                        .requestMatchers("/actuator/metrics/**").hasAuthority("ADMIN")
                         .requestMatchers("/actuator/**").permitAll()
                         // Profile picture serving endpoint - public access
                         .requestMatchers("/api/profile/picture/**").permitAll()
@@ -101,9 +116,14 @@ public class SecurityConfig {
         http.exceptionHandling(exception
                 -> exception.authenticationEntryPoint(unauthorizedHandler));
 
-        http.addFilterBefore(rateLimitingFilter, UsernamePasswordAuthenticationFilter.class);
+        // Classify the route once; the filters below read the stored descriptor
+        http.addFilterBefore(requestClassificationFilter, UsernamePasswordAuthenticationFilter.class);
+        // Shed load before any JWT or database work when the node is saturated
+        http.addFilterBefore(concurrencyLimitFilter, UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(authenticationJwtTokenFilter(),
                 UsernamePasswordAuthenticationFilter.class);
+        // Rate limit after JWT authentication so the user's tier is known
+        http.addFilterAfter(rateLimitingFilter, AuthTokenFilter.class);
 
         // Disable form login for REST API
         http.formLogin(form -> form.disable());
@@ -121,8 +141,15 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingConfig passwordHashingConfig,
+            ThreadPoolExecutor passwordHashingExecutor,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        // BCrypt runs on a bounded executor so login storms cannot pin every request thread
+        return new BoundedPasswordEncoder(passwordHashingConfig.getStrength(),
+                passwordHashingExecutor,
+                passwordHashingConfig.getTimeoutMillis(),
+                passwordHashingConfig.getRetryAfterSeconds(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
     }
 
     @Bean
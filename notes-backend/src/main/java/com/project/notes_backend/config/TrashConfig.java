@@ -0,0 +1,26 @@
+package com.project.notes_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Settings for the note trash and the purger that empties it.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.trash")
+@Data
+public class TrashConfig {
+
+    // Trashed notes can be restored for this long, then they are deleted for good
+    private int retentionDays = 30;
+
+    private boolean purgeEnabled = true;
+
+    // Notes deleted per transaction, keeping row locks and WAL bursts small
+    private int purgeChunkSize = 500;
+
+    // Pause between purge runs
+    private long purgeIntervalMillis = 3600000;
+}
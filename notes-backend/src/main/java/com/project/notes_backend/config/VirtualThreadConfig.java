@@ -0,0 +1,105 @@
+package com.project.notes_backend.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.project.notes_backend.concurrent.GatedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Virtual thread mode, switched by spring.threads.virtual.enabled. Spring
+ * Boot then runs Tomcat requests, @Async methods and @Scheduled jobs on
+ * virtual threads; this class covers the rest:
+ *
+ * - outbound work (mail) runs on virtual threads instead of a small pool
+ * - the DataSource is gated by a semaphore sized to the Hikari pool, so
+ *   unbounded request threads queue cheaply for connections
+ * - pinned virtual threads are reported (see PinnedThreadMonitor)
+ *
+ * With the switch off, nothing changes from the platform thread setup, which
+ * keeps the two modes comparable under the same load.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.virtual-threads")
+@Data
+@Slf4j
+public class VirtualThreadConfig {
+
+    // Concurrent connections allowed through the gate (0 = Hikari maximum-pool-size)
+    private int jdbcPermits = 0;
+
+    // Longest a thread waits at the gate before the request fails
+    private long jdbcAcquireTimeoutMillis = 5000;
+
+    // Report virtual threads pinned for at least this long
+    private boolean pinningDetection = true;
+    private long pinningThresholdMillis = 20;
+
+    // Platform mode only: threads sending mail in the background
+    private int outboundPoolSize = 4;
+
+    // Plain ExecutorServices, not TaskExecutors, so @Async never picks them as its default
+    @Bean(name = "outboundExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualOutboundExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("outbound-", 1).factory());
+    }
+
+    @Bean(name = "outboundExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService platformOutboundExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+
+        return new ThreadPoolExecutor(outboundPoolSize, outboundPoolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(100),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outbound-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Static so it is registered before the DataSource is created; reads its
+     * settings from the environment because this instance is not bound yet
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor jdbcGatePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof GatedDataSource) {
+                    return bean;
+                }
+                int permits = environment.getProperty("app.virtual-threads.jdbc-permits", Integer.class, 0);
+                if (permits <= 0) {
+                    permits = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                }
+                long timeout = environment.getProperty("app.virtual-threads.jdbc-acquire-timeout-millis",
+                        Long.class, 5000L);
+                log.info("Gating DataSource '{}' at {} concurrent connections", beanName, permits);
+                return new GatedDataSource(dataSource, permits, timeout);
+            }
+        };
+    }
+}
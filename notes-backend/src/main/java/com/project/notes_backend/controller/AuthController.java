@@ -28,6 +28,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.project.notes_backend.exception.ServiceOverloadedException;
 import com.project.notes_backend.model.AppRole;
 import com.project.notes_backend.model.Role;
 import com.project.notes_backend.model.User;
@@ -267,6 +268,9 @@ public class AuthController {
         try {
             userService.resetPassword(token, newPassword);
             return ResponseEntity.ok(new MessageResponse("Password reset successful"));
+        } catch (ServiceOverloadedException e) {
+            // Let the global handler answer with 503 + Retry-After
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new MessageResponse(e.getMessage()));
@@ -0,0 +1,35 @@
+package com.project.notes_backend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.notes_backend.dto.DashboardResponseDTO;
+import com.project.notes_backend.service.DashboardService;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    /**
+     * Stats, recent activities, favorites and the first page of notes in one
+     * response; replaces the four separate calls the dashboard made on load
+     */
+    @GetMapping
+    public ResponseEntity<DashboardResponseDTO> getDashboard(@AuthenticationPrincipal UserDetails userDetails) {
+        DashboardResponseDTO dashboard = dashboardService.getDashboard(userDetails.getUsername());
+        if (dashboard.isPartial()) {
+            // Let the next load retry the missing sections
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(dashboard);
+        }
+        return ResponseEntity.ok(dashboard);
+    }
+}
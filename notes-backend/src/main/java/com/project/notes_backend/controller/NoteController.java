@@ -1,28 +1,50 @@
 package com.project.notes_backend.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.project.notes_backend.cache.PublicNoteFeed;
+import com.project.notes_backend.cache.SerializedResponseCache;
+import com.project.notes_backend.dto.DraftSaveResultDTO;
+import com.project.notes_backend.dto.NoteBatchRequestDTO;
+import com.project.notes_backend.dto.NoteBatchResultDTO;
+import com.project.notes_backend.dto.NoteDraftDTO;
+import com.project.notes_backend.dto.NoteFlagResponseDTO;
+import com.project.notes_backend.dto.NoteImportResultDTO;
+import com.project.notes_backend.dto.NotePatchRequestDTO;
 import com.project.notes_backend.dto.NoteRequestDTO;
 import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.model.NoteFlag;
+import com.project.notes_backend.service.NoteBatchService;
+import com.project.notes_backend.service.NoteDraftService;
+import com.project.notes_backend.service.NoteExportService;
+import com.project.notes_backend.service.NoteImportService;
 import com.project.notes_backend.service.NoteService;
 
 import jakarta.validation.Valid;
@@ -35,6 +57,25 @@ public class NoteController {
     @Autowired
     private NoteService noteService;
 
+    @Autowired
+    private PublicNoteFeed publicNoteFeed;
+
+    // Cached service results are sent as their cached JSON bytes
+    @Autowired
+    private SerializedResponseCache responseCache;
+
+    @Autowired
+    private NoteExportService noteExportService;
+
+    @Autowired
+    private NoteImportService noteImportService;
+
+    @Autowired
+    private NoteBatchService noteBatchService;
+
+    @Autowired
+    private NoteDraftService noteDraftService;
+
     /**
      * Create a new note for the authenticated user
      */
@@ -52,29 +93,106 @@ public class NoteController {
      * filter
      */
     @GetMapping
-    public ResponseEntity<Page<NoteResponseDTO>> getUserNotes(
+    public ResponseEntity<byte[]> getUserNotes(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String category,
             @RequestParam(required = false, defaultValue = "false") boolean shared,
             @RequestParam(required = false, defaultValue = "updatedAt") String sortBy,
             @RequestParam(required = false, defaultValue = "desc") String sortOrder,
             @PageableDefault(size = 20) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         Page<NoteResponseDTO> notes = noteService.getNotesForUser(userDetails.getUsername(), search, category, shared, sortBy, sortOrder, pageable);
-        return ResponseEntity.ok(notes);
+        return responseCache.ok(notes, acceptEncoding);
+    }
+
+    /**
+     * Apply several create, update and delete operations in one request and
+     * one transaction
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<NoteBatchResultDTO> applyBatch(
+            @Valid @RequestBody NoteBatchRequestDTO batchRequest,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        NoteBatchResultDTO result = noteBatchService.applyBatch(userDetails.getUsername(), batchRequest);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Export all of the user's notes, streamed as NDJSON (format=ndjson) or
+     * as a ZIP of markdown files (format=zip)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportNotes(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        String username = userDetails.getUsername();
+        StreamingResponseBody body;
+        MediaType contentType;
+        String fileName;
+        switch (format.toLowerCase()) {
+            case "ndjson":
+                body = out -> noteExportService.exportNdjson(username, out);
+                contentType = MediaType.APPLICATION_NDJSON;
+                fileName = "notes.ndjson";
+                break;
+            case "zip":
+                body = out -> noteExportService.exportZip(username, out);
+                contentType = MediaType.parseMediaType("application/zip");
+                fileName = "notes.zip";
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Bulk import from the raw request body: NDJSON, or a ZIP of markdown
+     * files when format=zip or the body is sent as application/zip. The body
+     * is read as it arrives, so its size is not limited by memory.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<NoteImportResultDTO> importNotes(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body,
+            @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+
+        String resolved = format != null ? format.toLowerCase()
+                : contentType != null && contentType.toLowerCase().contains("zip") ? "zip" : "ndjson";
+        NoteImportResultDTO result;
+        switch (resolved) {
+            case "ndjson":
+                result = noteImportService.importNdjson(userDetails.getUsername(), body);
+                break;
+            case "zip":
+                result = noteImportService.importZip(userDetails.getUsername(), body);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+        return ResponseEntity.ok(result);
     }
 
     /**
      * Get a specific note by ID
      */
     @GetMapping("/{noteId}")
-    public ResponseEntity<NoteResponseDTO> getNoteById(
+    public ResponseEntity<byte[]> getNoteById(
             @PathVariable Long noteId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         NoteResponseDTO note = noteService.getNoteByIdForUser(noteId, userDetails.getUsername());
-        return ResponseEntity.ok(note);
+        return responseCache.ok(note, acceptEncoding);
     }
 
     /**
@@ -91,7 +209,69 @@ public class NoteController {
     }
 
     /**
-     * Delete a note by ID
+     * Partially update a note: JSON merge patch of the text fields, or text
+     * edits against the content of baseVersion. 409 when baseVersion is stale.
+     */
+    @PatchMapping(value = "/{noteId}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<NoteResponseDTO> patchNote(
+            @PathVariable Long noteId,
+            @Valid @RequestBody NotePatchRequestDTO patch,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        return ResponseEntity.ok(noteService.patchNoteForUser(noteId, patch, userDetails.getUsername()));
+    }
+
+    /**
+     * Autosave: same body as PATCH, buffered and written to the note once the
+     * editor goes quiet. 202 because the note itself may not be updated yet.
+     */
+    @PutMapping("/{noteId}/draft")
+    public ResponseEntity<DraftSaveResultDTO> saveDraft(
+            @PathVariable Long noteId,
+            @Valid @RequestBody NotePatchRequestDTO draft,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(noteDraftService.saveDraft(noteId, draft, userDetails.getUsername()));
+    }
+
+    /**
+     * Buffered draft of a note, e.g. to restore an editor after a reload; 204 when none
+     */
+    @GetMapping("/{noteId}/draft")
+    public ResponseEntity<NoteDraftDTO> getDraft(
+            @PathVariable Long noteId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        NoteDraftDTO draft = noteDraftService.getDraft(noteId, userDetails.getUsername());
+        return draft != null ? ResponseEntity.ok(draft) : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Write the draft to the note now (editor closed, explicit save)
+     */
+    @PostMapping("/{noteId}/draft/commit")
+    public ResponseEntity<NoteResponseDTO> commitDraft(
+            @PathVariable Long noteId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        return ResponseEntity.ok(noteDraftService.commitDraft(noteId, userDetails.getUsername()));
+    }
+
+    /**
+     * Drop unwritten draft changes
+     */
+    @DeleteMapping("/{noteId}/draft")
+    public ResponseEntity<Void> discardDraft(
+            @PathVariable Long noteId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        noteDraftService.discardDraft(noteId, userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Delete a note by ID (moves it to the trash)
      */
     @DeleteMapping("/{noteId}")
     public ResponseEntity<Void> deleteNote(
@@ -102,15 +282,38 @@ public class NoteController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Notes in the trash, most recently deleted first
+     */
+    @GetMapping("/trash")
+    public ResponseEntity<Page<NoteResponseDTO>> getTrash(
+            @PageableDefault(size = 20) Pageable pageable,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        return ResponseEntity.ok(noteService.getTrashedNotes(userDetails.getUsername(), pageable));
+    }
+
+    /**
+     * Move a note back out of the trash
+     */
+    @PostMapping("/{noteId}/restore")
+    public ResponseEntity<NoteResponseDTO> restoreNote(
+            @PathVariable Long noteId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        return ResponseEntity.ok(noteService.restoreNoteForUser(noteId, userDetails.getUsername()));
+    }
+
     /**
      * Get user's notes statistics
      */
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getNotesStats(
+    public ResponseEntity<byte[]> getNotesStats(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         Map<String, Object> stats = noteService.getUserNotesStats(userDetails.getUsername());
-        return ResponseEntity.ok(stats);
+        return responseCache.ok(stats, acceptEncoding);
     }
 
     /**
@@ -139,23 +342,44 @@ public class NoteController {
     }
 
     /**
-     * Toggle favorite status of a note
+     * Toggle favorite status of a note; returns the new flag state only
      */
     @PostMapping("/{noteId}/favorite")
-    public ResponseEntity<NoteResponseDTO> toggleFavorite(
+    public ResponseEntity<NoteFlagResponseDTO> toggleFavorite(
             @PathVariable Long noteId,
             @AuthenticationPrincipal UserDetails userDetails) {
 
-        NoteResponseDTO note = noteService.toggleFavorite(noteId, userDetails.getUsername());
-        return ResponseEntity.ok(note);
+        return ResponseEntity.ok(noteService.toggleFavorite(noteId, userDetails.getUsername()));
+    }
+
+    /**
+     * Set the favorite, public or shared flag, e.g. PUT /api/notes/5/public?value=true.
+     * Idempotent: "changed" is false when the flag already had the value.
+     */
+    @PutMapping("/{noteId}/{flag:favorite|public|shared}")
+    public ResponseEntity<NoteFlagResponseDTO> setFlag(
+            @PathVariable Long noteId,
+            @PathVariable String flag,
+            @RequestParam boolean value,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        return ResponseEntity.ok(noteService.setFlag(noteId, userDetails.getUsername(),
+                NoteFlag.fromLabel(flag), value));
     }
 
     /**
      * Get all public notes (accessible to all authenticated users)
      */
     @GetMapping("/public")
-    public ResponseEntity<Page<NoteResponseDTO>> getPublicNotes(
-            @PageableDefault(size = 20, sort = "updatedAt", direction = org.springframework.data.domain.Sort.Direction.DESC) Pageable pageable) {
+    public ResponseEntity<?> getPublicNotes(
+            @PageableDefault(size = 20, sort = "updatedAt", direction = org.springframework.data.domain.Sort.Direction.DESC) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        // Default-sorted pages near the top come pre-serialized from the shared feed
+        byte[] json = publicNoteFeed.pageJson(pageable);
+        if (json != null) {
+            return responseCache.ok(json, acceptEncoding);
+        }
 
         Page<NoteResponseDTO> publicNotes = noteService.getPublicNotes(pageable);
         return ResponseEntity.ok(publicNotes);
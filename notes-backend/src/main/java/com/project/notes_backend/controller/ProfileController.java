@@ -32,6 +32,7 @@ import com.project.notes_backend.dto.ProfileUpdateRequestDTO;
 import com.project.notes_backend.dto.ProfileUpdateResponseDTO;
 import com.project.notes_backend.dto.TwoFactorSetupDTO;
 import com.project.notes_backend.dto.TwoFactorVerificationDTO;
+import com.project.notes_backend.exception.ServiceOverloadedException;
 import com.project.notes_backend.service.ProfileService;
 
 import jakarta.validation.Valid;
@@ -87,6 +88,9 @@ public class ProfileController {
         try {
             profileService.changePassword(userDetails.getUsername(), request);
             return ResponseEntity.ok("Password changed successfully");
+        } catch (ServiceOverloadedException e) {
+            // Let the global handler answer with 503 + Retry-After
+            throw e;
         } catch (Exception e) {
             log.error("Failed to change password for user: {}", userDetails.getUsername(), e);
             return ResponseEntity.badRequest().body(e.getMessage());
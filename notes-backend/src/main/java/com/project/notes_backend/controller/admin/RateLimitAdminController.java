@@ -1,5 +1,7 @@
 package com.project.notes_backend.controller.admin;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,8 +11,12 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.ratelimit.HeavyHitterSketch.HeavyHitter;
+import com.project.notes_backend.ratelimit.RateLimitTelemetry;
 import com.project.notes_backend.service.RateLimitService;
 import com.project.notes_backend.service.RateLimitService.RateLimitInfo;
 
@@ -25,6 +31,12 @@ public class RateLimitAdminController {
     @Autowired
     private RateLimitService rateLimitService;
 
+    @Autowired
+    private RateLimitTelemetry telemetry;
+
+    @Autowired
+    private RateLimitingConfig rateLimitConfig;
+
     @GetMapping("/status/{key}")
     public ResponseEntity<RateLimitInfo> getRateLimitStatus(@PathVariable String key) {
         log.info("Admin checking rate limit status for key: {}", key);
@@ -44,4 +56,23 @@ public class RateLimitAdminController {
         long remaining = rateLimitService.getRemainingRequests(key);
         return ResponseEntity.ok(Map.of("remainingRequests", remaining));
     }
+
+    /**
+     * Keys with the most recent requests, heaviest first; use the returned key
+     * with the status and reset endpoints
+     */
+    @GetMapping("/heavy-hitters")
+    public ResponseEntity<List<HeavyHitter>> getHeavyHitters(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(telemetry.heavyHitters(Math.max(1, Math.min(limit, 100))));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("backend", rateLimitConfig.getBackend());
+        stats.put("decisions", telemetry.decisionsByTier());
+        stats.put("limits", telemetry.configuredLimits());
+        stats.put("heavyHitters", telemetry.heavyHitters(rateLimitConfig.getHeavyHitterTopK()));
+        return ResponseEntity.ok(stats);
+    }
 }
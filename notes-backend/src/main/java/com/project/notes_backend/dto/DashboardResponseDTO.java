@@ -0,0 +1,27 @@
+package com.project.notes_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+
+import com.project.notes_backend.model.UserActivity;
+
+import lombok.Data;
+
+/**
+ * Everything the dashboard shows on load. Sections that failed or missed
+ * their deadline are null and listed in unavailableSections.
+ */
+@Data
+public class DashboardResponseDTO {
+
+    private Map<String, Object> stats;
+    private Page<UserActivity> recentActivities;
+    private Page<NoteResponseDTO> favorites;
+    private Page<NoteResponseDTO> notes;
+
+    private boolean partial;
+    private List<String> unavailableSections = new ArrayList<>();
+}
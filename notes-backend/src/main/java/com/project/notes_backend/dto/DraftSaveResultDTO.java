@@ -0,0 +1,25 @@
+package com.project.notes_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Acknowledgement of an autosave; the save is durable but may not be in the note yet.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DraftSaveResultDTO {
+
+    private Long noteId;
+
+    // Send as baseVersion with the next save or PATCH
+    private long version;
+
+    // Saves held since the last write to the note
+    private int pendingSaves;
+
+    // False when the buffer was full and the save went straight to the note
+    private boolean buffered;
+}
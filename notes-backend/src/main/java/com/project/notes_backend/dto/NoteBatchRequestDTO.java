@@ -0,0 +1,57 @@
+package com.project.notes_backend.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Operations for POST /api/notes/batch, applied in order in one transaction.
+ *
+ * CREATE takes notes; UPDATE takes ids plus the fields to set on all of them
+ * (null fields are left unchanged); DELETE takes ids.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteBatchRequestDTO {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 20, message = "A batch cannot have more than 20 operations")
+    @Valid
+    private List<Operation> operations;
+
+    public enum OperationType {
+        CREATE, UPDATE, DELETE
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+
+        @NotNull(message = "Operation type is required")
+        private OperationType type;
+
+        @Size(max = 500, message = "An operation cannot target more than 500 notes")
+        private List<Long> ids;
+
+        @Size(max = 100, message = "An operation cannot create more than 100 notes")
+        @Valid
+        private List<NoteRequestDTO> notes;
+
+        @Size(max = 50, message = "Category cannot exceed 50 characters")
+        private String category;
+
+        private Boolean isFavorite;
+
+        private Boolean isPublic;
+    }
+}
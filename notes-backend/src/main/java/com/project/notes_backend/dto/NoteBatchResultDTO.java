@@ -0,0 +1,14 @@
+package com.project.notes_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class NoteBatchResultDTO {
+
+    private List<NoteResponseDTO> created = new ArrayList<>();
+    private int updated;
+    private int deleted;
+}
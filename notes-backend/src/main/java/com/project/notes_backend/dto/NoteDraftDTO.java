@@ -0,0 +1,29 @@
+package com.project.notes_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The buffered state of a note being edited, including saves not yet written.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NoteDraftDTO {
+
+    private Long noteId;
+    private long version;
+    private String title;
+    private String description;
+    private String category;
+    private String content;
+
+    // Some saves are not in the note yet
+    private boolean unsaved;
+
+    // The note changed elsewhere; commit fails until the draft is discarded
+    private boolean conflicted;
+}
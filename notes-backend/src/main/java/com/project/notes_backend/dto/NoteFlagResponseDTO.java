@@ -0,0 +1,25 @@
+package com.project.notes_backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a flag change: the flag's state after the write, not the note.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteFlagResponseDTO {
+
+    private Long id;
+    private String flag;
+    private boolean value;
+
+    // False when the flag already had the requested value
+    private boolean changed;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.project.notes_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Outcome of a bulk import. Rows before a failed batch stay imported.
+ */
+@Data
+public class NoteImportResultDTO {
+
+    private long imported;
+    private long skipped;
+    private int batches;
+    private List<String> errors = new ArrayList<>();
+}
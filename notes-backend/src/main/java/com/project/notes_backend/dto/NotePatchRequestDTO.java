@@ -0,0 +1,94 @@
+package com.project.notes_backend.dto;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Body of PATCH /api/notes/{id}. The text fields follow JSON merge patch
+ * (RFC 7396): a missing key leaves the field alone, an explicit null clears
+ * it. Content can instead be sent as edits against the content of
+ * baseVersion, so an autosave carries only the characters that changed.
+ */
+@Data
+@NoArgsConstructor
+public class NotePatchRequestDTO {
+
+    @NotNull(message = "baseVersion is required")
+    private Long baseVersion;
+
+    @Size(max = 10000, message = "Content cannot exceed 10000 characters")
+    private String content;
+
+    @Size(max = 100, message = "Title cannot exceed 100 characters")
+    private String title;
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+
+    @Size(max = 50, message = "Category cannot exceed 50 characters")
+    private String category;
+
+    @Valid
+    @Size(max = 1000, message = "At most 1000 edits per patch")
+    private List<TextEdit> edits;
+
+    // Keys present in the body; Jackson only calls setters for those
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private Set<String> presentFields = new HashSet<>();
+
+    public void setContent(String content) {
+        this.content = content;
+        presentFields.add("content");
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+        presentFields.add("title");
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        presentFields.add("description");
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+        presentFields.add("category");
+    }
+
+    public boolean isPresent(String field) {
+        return presentFields.contains(field);
+    }
+
+    /**
+     * Replace delete characters at offset (UTF-16 index into the base
+     * content) with insert. Edits must be sorted and must not overlap.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TextEdit {
+
+        @Min(value = 0, message = "offset cannot be negative")
+        private int offset;
+
+        @Min(value = 0, message = "delete cannot be negative")
+        private int delete;
+
+        private String insert;
+    }
+}
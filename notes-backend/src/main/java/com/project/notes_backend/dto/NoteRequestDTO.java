@@ -31,4 +31,7 @@ public class NoteRequestDTO {
 
     @Builder.Default
     private Boolean isPublic = false;
+
+    // Version the edit is based on; when set, a newer stored version is rejected with 409
+    private Long version;
 }
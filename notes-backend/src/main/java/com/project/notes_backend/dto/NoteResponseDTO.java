@@ -2,6 +2,7 @@ package com.project.notes_backend.dto;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.AllArgsConstructor;
@@ -33,4 +34,11 @@ public class NoteResponseDTO {
     private boolean isFavorite;
     @JsonProperty("public")
     private boolean isPublic;
+
+    // Send back as baseVersion (PATCH) or version (PUT) to detect concurrent edits
+    private Long version;
+
+    // Only set on notes in the trash
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime deletedAt;
 }
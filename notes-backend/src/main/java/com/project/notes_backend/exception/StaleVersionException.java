@@ -0,0 +1,20 @@
+package com.project.notes_backend.exception;
+
+/**
+ * Thrown when an edit is based on an older version of a note than the one
+ * stored. Mapped to 409 so the client can reload and reapply its change.
+ */
+public class StaleVersionException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public StaleVersionException(Long noteId, long baseVersion, long currentVersion) {
+        super("Note " + noteId + " was modified: edit is based on version " + baseVersion
+                + ", current version is " + currentVersion);
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
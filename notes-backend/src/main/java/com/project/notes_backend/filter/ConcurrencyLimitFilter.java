@@ -0,0 +1,120 @@
+package com.project.notes_backend.filter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notes_backend.config.LoadSheddingConfig;
+import com.project.notes_backend.exception.ErrorResponse;
+import com.project.notes_backend.ratelimit.AdaptiveConcurrencyLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sheds load before any JWT parsing or database work once the node's
+ * adaptive concurrency limit is reached. Routes listed as low priority are
+ * turned away first; health checks, static resources and preflights are never
+ * counted.
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Autowired
+    private LoadSheddingConfig loadSheddingConfig;
+
+    @Autowired
+    private RouteClassifier routeClassifier;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // Indexed by route id; unknown routes are normal priority
+    private boolean[] lowPriorityRoutes;
+
+    private Counter shedLowPriority;
+    private Counter shedNormal;
+
+    @PostConstruct
+    public void init() {
+        lowPriorityRoutes = new boolean[routeClassifier.routeCount()];
+        for (String endpoint : loadSheddingConfig.getLowPriorityEndpoints()) {
+            int routeId = routeClassifier.routeIdOf(endpoint);
+            if (routeId == RouteDescriptor.UNKNOWN_ROUTE_ID) {
+                log.warn("Ignoring unknown low priority endpoint: {}", endpoint);
+            } else {
+                lowPriorityRoutes[routeId] = true;
+            }
+        }
+
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        Gauge.builder("load.shedding.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit").register(registry);
+        Gauge.builder("load.shedding.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently holding a concurrency slot").register(registry);
+        shedLowPriority = Counter.builder("load.shedding.rejected").tag("priority", "low").register(registry);
+        shedNormal = Counter.builder("load.shedding.rejected").tag("priority", "normal").register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        RouteDescriptor route = routeClassifier.resolve(request);
+        if (!loadSheddingConfig.isEnabled() || route.isSkipRateLimit()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean lowPriority = route.isKnownRoute() && lowPriorityRoutes[route.getRouteId()];
+        long start = limiter.tryAcquire(lowPriority);
+        if (start < 0) {
+            (lowPriority ? shedLowPriority : shedNormal).increment();
+            rejectOverloaded(request, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(start);
+        }
+    }
+
+    private void rejectOverloaded(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(loadSheddingConfig.getRetryAfterSeconds()));
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("Server is busy, please retry shortly")
+                .path(request.getRequestURI())
+                .build();
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
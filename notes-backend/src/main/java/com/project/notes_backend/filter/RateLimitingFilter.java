@@ -1,6 +1,7 @@
 package com.project.notes_backend.filter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -10,6 +11,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.RateLimitingConfig.BucketLimit;
+import com.project.notes_backend.ratelimit.RouteCostModel;
 import com.project.notes_backend.service.RateLimitService;
 
 import jakarta.servlet.FilterChain;
@@ -28,12 +32,22 @@ public class RateLimitingFilter extends OncePerRequestFilter {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private RouteClassifier routeClassifier;
+
+    @Autowired
+    private RouteCostModel routeCostModel;
+
+    @Autowired
+    private RateLimitingConfig rateLimitConfig;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
         // Skip rate limiting for static resources, health checks, and actuator endpoints
-        if (shouldSkipRateLimit(request)) {
+        RouteDescriptor route = routeClassifier.resolve(request);
+        if (route.isSkipRateLimit()) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -41,43 +55,30 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (!rateLimitService.allowRequest(request, authentication)) {
-            handleRateLimitExceeded(request, response, authentication);
+            handleRateLimitExceeded(request, response, authentication, route);
             return;
         }
 
-        filterChain.doFilter(request, response);
-    }
-
-    private boolean shouldSkipRateLimit(HttpServletRequest request) {
-        String uri = request.getRequestURI();
-        String method = request.getMethod();
-
-        // Skip static resources
-        if (uri.contains("/static/") || uri.contains("/css/") || uri.contains("/js/")
-                || uri.contains("/images/") || uri.endsWith(".ico")) {
-            return true;
-        }
-
-        // Skip health checks and actuator
-        if (uri.startsWith("/actuator/") || uri.equals("/health") || uri.equals("/info")) {
-            return true;
+        if (!rateLimitConfig.isDynamicCosts()) {
+            filterChain.doFilter(request, response);
+            return;
         }
 
-        // Skip OPTIONS requests (CORS preflight)
-        if ("OPTIONS".equalsIgnoreCase(method)) {
-            return true;
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            routeCostModel.recordLatency(route, System.nanoTime() - start);
         }
-
-        return false;
     }
 
     private void handleRateLimitExceeded(HttpServletRequest request, HttpServletResponse response,
-            Authentication authentication) throws IOException {
+            Authentication authentication, RouteDescriptor route) throws IOException {
         String clientIp = getClientIp(request);
         String username = authentication != null ? authentication.getName() : "anonymous";
 
         log.warn("Rate limit exceeded for user: {} from IP: {} on endpoint: {}",
-                username, clientIp, request.getRequestURI());
+                username, clientIp, route.getEndpoint());
 
         response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
         response.setContentType("application/json");
@@ -87,10 +88,25 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         String rateLimitKey = rateLimitService.generateRateLimitKey(request, authentication);
         long remaining = rateLimitService.getRemainingRequests(rateLimitKey);
 
-        response.setHeader("X-RateLimit-Limit", "60"); // Base limit
+        // Limit actually applied to this tier and route; retry once enough tokens for this route have refilled
+        BucketLimit limit = rateLimitConfig.limitFor(rateLimitService.getRateLimitTier(authentication),
+                route.getEndpoint());
+        long waitNanos = rateLimitService.getNanosUntilAllowed(request, authentication);
+        long waitMillis;
+        if (waitNanos >= 0) {
+            waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos + 999_999);
+        } else {
+            // No estimate from the backend: assume a steady refill
+            long cost = routeCostModel.costOf(route);
+            waitMillis = (Math.max(0, cost - remaining) * limit.refillPeriod().toMillis() + limit.refillTokens() - 1)
+                    / limit.refillTokens();
+        }
+        int retryAfterSeconds = (int) Math.max(1, (waitMillis + 999) / 1000);
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(limit.refillTokens()));
         response.setHeader("X-RateLimit-Remaining", String.valueOf(remaining));
-        response.setHeader("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() + 60000)); // Reset in 1 minute
-        response.setHeader("Retry-After", "60"); // Retry after 60 seconds
+        response.setHeader("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() + waitMillis));
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
 
         RateLimitErrorResponse errorResponse = new RateLimitErrorResponse(
                 "Rate limit exceeded",
@@ -98,7 +114,7 @@ public class RateLimitingFilter extends OncePerRequestFilter {
                 System.currentTimeMillis(),
                 request.getRequestURI(),
                 remaining,
-                60
+                retryAfterSeconds
         );
 
         response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
@@ -0,0 +1,32 @@
+package com.project.notes_backend.filter;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * First filter in the security chain: classifies the request once and stores
+ * the {@link RouteDescriptor} under {@link RouteDescriptor#REQUEST_ATTRIBUTE}
+ * so later filters and the rate limiter don't re-derive route facts from the
+ * raw URI.
+ */
+@Component
+public class RequestClassificationFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RouteClassifier routeClassifier;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        routeClassifier.resolve(request);
+        filterChain.doFilter(request, response);
+    }
+}
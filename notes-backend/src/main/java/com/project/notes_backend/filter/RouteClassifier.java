@@ -0,0 +1,265 @@
+package com.project.notes_backend.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Classifies request URIs into {@link RouteDescriptor}s with a character trie
+ * compiled once at startup. A lookup is a single pass over the URI: the
+ * longest matching prefix rule wins, an exact rule on the final node beats
+ * prefixes, and a digit edge stands in for numeric path variables.
+ *
+ * This replaces the separate startsWith/contains chains and the per-call regex
+ * that used to live in AuthTokenFilter, RateLimitingFilter and
+ * RateLimitServiceImpl; the rule table below must stay in sync with the
+ * permitAll() matchers in SecurityConfig.
+ */
+@Component
+public class RouteClassifier {
+
+    private static final String[] STATIC_SEGMENTS = {"/static/", "/css/", "/js/", "/images/"};
+
+    private final Node root = new Node();
+    private final Map<String, Integer> routeIds = new LinkedHashMap<>();
+    private final List<RouteDescriptor> descriptors = new ArrayList<>();
+
+    public RouteClassifier() {
+        // Public endpoints (JWT processing skipped)
+        prefix("/auth/public/", "/auth/public", true, false);
+        prefix("/api/auth/public/", "/api/auth", true, false);
+        prefix("/oauth2/", "/oauth2", true, false);
+        prefix("/login", "/login", true, false);
+        exact("/error", "/error", true, false);
+        exact("/favicon.ico", "/favicon.ico", true, true);
+        prefix("/actuator/", "/actuator", true, true);
+        // ADMIN only (SecurityConfig), so the JWT must be read; longer than /actuator/
+        exact("/actuator/metrics", "/actuator/metrics", false, true);
+        prefix("/actuator/metrics/", "/actuator/metrics", false, true);
+        prefix("/swagger-ui/", "/swagger-ui", true, false);
+        exact("/swagger-ui.html", "/swagger-ui", true, false);
+        prefix("/api-docs", "/api-docs", true, false);
+        prefix("/v3/api-docs/", "/api-docs", true, false);
+        prefix("/swagger-resources/", "/swagger-resources", true, false);
+        prefix("/webjars/", "/webjars", true, false);
+
+        // Health probes outside actuator
+        exact("/health", "/health", false, true);
+        exact("/info", "/info", false, true);
+
+        // Rate limit groups for protected API routes
+        exact("/api/notes", "/api/notes", false, false);
+        prefix("/api/notes/", "/api/notes", false, false);
+        numericPrefix("/api/notes/", "/api/notes/{id}", false, false);
+        numericPrefix("/api/notes/", "/draft", "/api/notes/{id}/draft", false, false);
+        prefix("/api/notes/favorites", "/api/notes/favorites", false, false);
+        prefix("/api/notes/stats", "/api/notes/stats", false, false);
+        prefix("/api/notes/search", "/api/notes/search", false, false);
+        prefix("/api/notes/public", "/api/notes/public", false, false);
+        prefix("/api/notes/export", "/api/notes/export", false, false);
+        prefix("/api/notes/import", "/api/notes/import", false, false);
+        prefix("/api/notes/batch", "/api/notes/batch", false, false);
+        prefix("/api/notes/trash", "/api/notes/trash", false, false);
+
+        exact("/api/activities", "/api/activities", false, false);
+        prefix("/api/activities/", "/api/activities", false, false);
+        prefix("/api/activities/recent", "/api/activities/recent", false, false);
+
+        exact("/api/dashboard", "/api/dashboard", false, false);
+
+        prefix("/api/auth/", "/api/auth", false, false);
+        prefix("/api/auth/login", "/api/auth/login", false, false);
+        prefix("/api/auth/register", "/api/auth/register", false, false);
+        prefix("/api/auth/refresh", "/api/auth/refresh", false, false);
+
+        prefix("/api/admin/", "/api/admin/**", false, false);
+    }
+
+    /**
+     * Return the descriptor stored on the request by
+     * {@link RequestClassificationFilter}, classifying and storing it if the
+     * filter has not run yet.
+     */
+    public RouteDescriptor resolve(HttpServletRequest request) {
+        Object cached = request.getAttribute(RouteDescriptor.REQUEST_ATTRIBUTE);
+        if (cached instanceof RouteDescriptor stored) {
+            return stored;
+        }
+        RouteDescriptor descriptor = classify(request.getMethod(), request.getRequestURI());
+        request.setAttribute(RouteDescriptor.REQUEST_ATTRIBUTE, descriptor);
+        return descriptor;
+    }
+
+    public RouteDescriptor classify(String method, String uri) {
+        RouteDescriptor descriptor = match(uri);
+        if (descriptor == null) {
+            descriptor = new RouteDescriptor(RouteDescriptor.UNKNOWN_ROUTE_ID, uri, false, false);
+        }
+
+        if (!descriptor.isSkipRateLimit()
+                && ("OPTIONS".equalsIgnoreCase(method) || isStaticResource(uri))) {
+            descriptor = descriptor.withSkipRateLimit();
+        }
+        return descriptor;
+    }
+
+    /**
+     * Dense id for a normalized endpoint, or {@link RouteDescriptor#UNKNOWN_ROUTE_ID}
+     */
+    public int routeIdOf(String endpoint) {
+        Integer id = routeIds.get(endpoint);
+        return id != null ? id : RouteDescriptor.UNKNOWN_ROUTE_ID;
+    }
+
+    /**
+     * Number of distinct normalized endpoints known to the classifier
+     */
+    public int routeCount() {
+        return routeIds.size();
+    }
+
+    public List<RouteDescriptor> getDescriptors() {
+        return Collections.unmodifiableList(descriptors);
+    }
+
+    private RouteDescriptor match(String uri) {
+        Node node = root;
+        RouteDescriptor lastPrefix = null;
+        int length = uri.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = uri.charAt(i);
+            Node next = null;
+            if (node.digit != null && c >= '0' && c <= '9') {
+                next = node.digit;
+                i++;
+                while (i < length && uri.charAt(i) >= '0' && uri.charAt(i) <= '9') {
+                    i++;
+                }
+            } else {
+                next = node.child(c);
+                i++;
+            }
+            if (next == null) {
+                return lastPrefix;
+            }
+            node = next;
+            if (node.prefix != null) {
+                lastPrefix = node.prefix;
+            }
+        }
+
+        return node.exact != null ? node.exact : lastPrefix;
+    }
+
+    private static boolean isStaticResource(String uri) {
+        if (uri.endsWith(".ico")) {
+            return true;
+        }
+        // Single scan over '/' positions instead of one contains() per segment
+        for (int slash = uri.indexOf('/'); slash >= 0; slash = uri.indexOf('/', slash + 1)) {
+            for (String segment : STATIC_SEGMENTS) {
+                if (uri.startsWith(segment, slash)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void exact(String path, String endpoint, boolean publicEndpoint, boolean skipRateLimit) {
+        insert(path, false).exact = descriptor(endpoint, publicEndpoint, skipRateLimit);
+    }
+
+    private void prefix(String path, String endpoint, boolean publicEndpoint, boolean skipRateLimit) {
+        insert(path, false).prefix = descriptor(endpoint, publicEndpoint, skipRateLimit);
+    }
+
+    private void numericPrefix(String path, String endpoint, boolean publicEndpoint, boolean skipRateLimit) {
+        insert(path, true).prefix = descriptor(endpoint, publicEndpoint, skipRateLimit);
+    }
+
+    private void numericPrefix(String path, String suffix, String endpoint, boolean publicEndpoint,
+            boolean skipRateLimit) {
+        Node node = insert(path, true);
+        for (int i = 0; i < suffix.length(); i++) {
+            node = node.getOrCreateChild(suffix.charAt(i));
+        }
+        node.prefix = descriptor(endpoint, publicEndpoint, skipRateLimit);
+    }
+
+    private Node insert(String path, boolean numericTail) {
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.getOrCreateChild(path.charAt(i));
+        }
+        if (numericTail) {
+            if (node.digit == null) {
+                node.digit = new Node();
+            }
+            node = node.digit;
+        }
+        return node;
+    }
+
+    private RouteDescriptor descriptor(String endpoint, boolean publicEndpoint, boolean skipRateLimit) {
+        int id = routeIds.computeIfAbsent(endpoint, key -> routeIds.size());
+        RouteDescriptor descriptor = new RouteDescriptor(id, endpoint, publicEndpoint, skipRateLimit);
+        // Build the skip variant now so lookups never publish it lazily across threads
+        descriptor.withSkipRateLimit();
+        descriptors.add(descriptor);
+        return descriptor;
+    }
+
+    /**
+     * Trie node with children kept in parallel sorted arrays; the rule table is
+     * small, so a linear scan beats hashing here.
+     */
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private Node digit;
+        private RouteDescriptor exact;
+        private RouteDescriptor prefix;
+
+        Node child(char c) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node getOrCreateChild(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node created = new Node();
+            int position = 0;
+            while (position < keys.length && keys[position] < c) {
+                position++;
+            }
+            char[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+            Node[] newChildren = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(keys, position, newKeys, position + 1, keys.length - position);
+            System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+            newKeys[position] = c;
+            newChildren[position] = created;
+            keys = newKeys;
+            children = newChildren;
+            return created;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.notes_backend.filter;
+
+/**
+ * Route facts derived once per request by {@link RequestClassificationFilter}
+ * and shared by the security and rate limiting filters through a request
+ * attribute. Instances for known routes are built once at startup and reused.
+ */
+public final class RouteDescriptor {
+
+    public static final String REQUEST_ATTRIBUTE = RouteDescriptor.class.getName();
+
+    // Route id used for paths that did not match any known route
+    public static final int UNKNOWN_ROUTE_ID = -1;
+
+    private final int routeId;
+    private final String endpoint;
+    private final boolean publicEndpoint;
+    private final boolean skipRateLimit;
+    private RouteDescriptor skipRateLimitVariant;
+
+    RouteDescriptor(int routeId, String endpoint, boolean publicEndpoint, boolean skipRateLimit) {
+        this.routeId = routeId;
+        this.endpoint = endpoint;
+        this.publicEndpoint = publicEndpoint;
+        this.skipRateLimit = skipRateLimit;
+    }
+
+    /**
+     * Small dense id of the normalized endpoint, or {@link #UNKNOWN_ROUTE_ID}
+     */
+    public int getRouteId() {
+        return routeId;
+    }
+
+    /**
+     * Normalized endpoint pattern used as the rate limit group, e.g.
+     * "/api/notes/{id}"
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * True when the route is permitted without a JWT
+     */
+    public boolean isPublicEndpoint() {
+        return publicEndpoint;
+    }
+
+    /**
+     * True for static resources, health checks and CORS preflight requests
+     */
+    public boolean isSkipRateLimit() {
+        return skipRateLimit;
+    }
+
+    public boolean isKnownRoute() {
+        return routeId != UNKNOWN_ROUTE_ID;
+    }
+
+    /**
+     * Same route with rate limiting skipped; cached so preflight and static
+     * requests on known routes do not allocate.
+     */
+    RouteDescriptor withSkipRateLimit() {
+        if (skipRateLimit) {
+            return this;
+        }
+        RouteDescriptor variant = skipRateLimitVariant;
+        if (variant == null) {
+            variant = new RouteDescriptor(routeId, endpoint, publicEndpoint, true);
+            skipRateLimitVariant = variant;
+        }
+        return variant;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteDescriptor{" + endpoint + ", id=" + routeId
+                + ", public=" + publicEndpoint + ", skipRateLimit=" + skipRateLimit + "}";
+    }
+}
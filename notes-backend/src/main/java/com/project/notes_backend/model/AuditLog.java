@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
 
 @Entity
@@ -13,7 +14,9 @@ import lombok.Data;
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = PooledSequences.AUDIT_LOG)
+    @SequenceGenerator(name = PooledSequences.AUDIT_LOG, sequenceName = PooledSequences.AUDIT_LOG,
+            allocationSize = PooledSequences.ALLOCATION_SIZE)
     private Long id;
     private String action;
     private String username;
@@ -2,7 +2,10 @@ package com.project.notes_backend.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -16,7 +19,9 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -24,19 +29,31 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+// UPDATEs list only the changed columns, so a title edit does not rewrite the content.
+// Trashed notes are invisible to entity loads and JPQL; the trash uses native queries.
+// Indexes follow NoteRepository: owner_id first (every owner query filters on it),
+// then the sort column, so a page is read in index order. The Postgres-only
+// partial indexes for favorites, public notes and the trash are created by
+// PartialIndexInitializer; NoteQueryPlanTest guards against table scans.
 @Entity
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "notes", indexes = {
-    @Index(name = "idx_notes_owner", columnList = "owner_id"),
-    @Index(name = "idx_notes_created", columnList = "created_at"),
-    @Index(name = "idx_notes_title", columnList = "title")
+    @Index(name = "idx_notes_owner_updated", columnList = "owner_id, updated_at DESC, id"),
+    @Index(name = "idx_notes_owner_category", columnList = "owner_id, category, updated_at"),
+    @Index(name = "idx_notes_owner_created", columnList = "owner_id, created_at"),
+    @Index(name = "idx_notes_owner_title", columnList = "owner_id, title"),
+    @Index(name = "idx_notes_public_updated", columnList = "is_public, updated_at")
 })
 public class Note {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = PooledSequences.NOTES)
+    @SequenceGenerator(name = PooledSequences.NOTES, sequenceName = PooledSequences.NOTES,
+            allocationSize = PooledSequences.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Content cannot be blank")
@@ -88,6 +105,18 @@ public class Note {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock for edits; the default fills rows that predate the column.
+    // Flag updates (favorite, public, shared) deliberately leave it alone.
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Set when the note is moved to the trash; NoteTrashPurger deletes the row
+    // once it is older than the retention period
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     // Convenience constructor for backward compatibility
     public Note(String content, User owner) {
         this.content = content;
@@ -0,0 +1,29 @@
+package com.project.notes_backend.model;
+
+import java.util.Locale;
+
+/**
+ * Boolean note attributes that can be changed on their own with a single
+ * UPDATE, without loading or rewriting the note.
+ */
+public enum NoteFlag {
+    FAVORITE,
+    PUBLIC,
+    SHARED;
+
+    /**
+     * Lower-case name used in URLs and audit entries
+     */
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static NoteFlag fromLabel(String label) {
+        for (NoteFlag flag : values()) {
+            if (flag.label().equalsIgnoreCase(label)) {
+                return flag;
+            }
+        }
+        throw new IllegalArgumentException("Unknown note flag: " + label);
+    }
+}
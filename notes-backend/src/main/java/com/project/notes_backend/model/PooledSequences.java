@@ -0,0 +1,24 @@
+package com.project.notes_backend.model;
+
+/**
+ * Sequences behind the entity ids. Every value drawn from one of them
+ * reserves ALLOCATION_SIZE ids (Hibernate's pooled optimizer: the value is
+ * the top of the block), so inserts need one sequence call per 50 rows and
+ * can be sent as JDBC batches. IDENTITY columns cannot do either: Hibernate
+ * has to execute each INSERT on its own to learn the key.
+ *
+ * Shared by the entity mappings, the startup migration and raw JDBC inserts,
+ * which all have to agree on names and block size.
+ */
+public final class PooledSequences {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String NOTES = "notes_seq";
+    public static final String USERS = "users_seq";
+    public static final String USER_ACTIVITIES = "user_activities_seq";
+    public static final String AUDIT_LOG = "audit_log_seq";
+
+    private PooledSequences() {
+    }
+}
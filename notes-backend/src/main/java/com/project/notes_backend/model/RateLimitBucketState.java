@@ -0,0 +1,58 @@
+package com.project.notes_backend.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Shared token bucket for the JDBC rate limit backend. Nodes lease batches of
+ * tokens from this row under a row lock instead of touching it per request.
+ */
+@Entity
+@Table(name = "rate_limit_buckets", indexes = {
+    @Index(name = "idx_rate_limit_buckets_last_leased", columnList = "lastLeasedAt")
+})
+@Data
+@NoArgsConstructor
+public class RateLimitBucketState {
+
+    // 64-bit fingerprint of the (user, client IP, route) key
+    @Id
+    private Long bucketKey;
+
+    @Column(nullable = false)
+    private long tokens;
+
+    @Column(nullable = false)
+    private long capacity;
+
+    @Column(nullable = false)
+    private long refillTokens;
+
+    @Column(nullable = false)
+    private long refillPeriodMillis;
+
+    // Epoch millis up to which refill has been credited
+    @Column(nullable = false)
+    private long refilledAtMillis;
+
+    @Column(nullable = false)
+    private Instant lastLeasedAt;
+
+    public RateLimitBucketState(Long bucketKey, long capacity, long refillTokens, long refillPeriodMillis,
+            long nowMillis) {
+        this.bucketKey = bucketKey;
+        this.tokens = capacity;
+        this.capacity = capacity;
+        this.refillTokens = refillTokens;
+        this.refillPeriodMillis = refillPeriodMillis;
+        this.refilledAtMillis = nowMillis;
+        this.lastLeasedAt = Instant.ofEpochMilli(nowMillis);
+    }
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -29,7 +30,9 @@ import lombok.NoArgsConstructor;
 public class UserActivity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = PooledSequences.USER_ACTIVITIES)
+    @SequenceGenerator(name = PooledSequences.USER_ACTIVITIES, sequenceName = PooledSequences.USER_ACTIVITIES,
+            allocationSize = PooledSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "username", nullable = false)
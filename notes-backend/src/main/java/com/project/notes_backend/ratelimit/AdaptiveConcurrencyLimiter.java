@@ -0,0 +1,149 @@
+package com.project.notes_backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Node-wide concurrency limit that adapts to observed latency, in the style
+ * of a gradient limiter: the limit grows while request latency stays near its
+ * long-term baseline and shrinks in proportion when latency rises, which is
+ * what queueing (an exhausted connection pool, piled-up searches) looks like
+ * from the outside.
+ *
+ * Low priority requests may only use {@code lowPriorityShare} of the limit,
+ * so they are shed first and the remaining headroom stays reserved for
+ * normal traffic.
+ *
+ * Admission is one CAS on the in-flight counter. Latency samples are summed
+ * in LongAdders and the limit is recomputed at most once per window by
+ * whichever thread crosses the window boundary.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_DECAY = 0.01;
+    private static final double BASELINE_RECOVERY = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double lowPriorityShare;
+    private final double tolerance;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rttSum = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+    private final AtomicLong nextUpdateNanos;
+    private volatile int limit;
+    // Racy maximum; only used to detect windows where demand stayed far below the limit
+    private volatile int peakInFlight;
+
+    // Only touched by the thread that won the window CAS
+    private double estimate;
+    private double baselineRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double lowPriorityShare,
+            double tolerance, long windowNanos) {
+        this(initialLimit, minLimit, maxLimit, lowPriorityShare, tolerance, windowNanos, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double lowPriorityShare,
+            double tolerance, long windowNanos, LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.lowPriorityShare = lowPriorityShare;
+        this.tolerance = tolerance;
+        this.windowNanos = windowNanos;
+        this.nanoClock = nanoClock;
+        this.estimate = Math.max(this.minLimit, Math.min(initialLimit, this.maxLimit));
+        this.limit = (int) estimate;
+        this.nextUpdateNanos = new AtomicLong(nanoClock.getAsLong() + windowNanos);
+    }
+
+    /**
+     * Reserve a slot. Every successful call must be paired with
+     * {@link #release(long)}.
+     *
+     * @return start timestamp to pass to release, or -1 if the request is shed
+     */
+    public long tryAcquire(boolean lowPriority) {
+        int allowed = lowPriority ? Math.max(1, (int) (limit * lowPriorityShare)) : limit;
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                if (current + 1 > peakInFlight) {
+                    peakInFlight = current + 1;
+                }
+                return nanoClock.getAsLong();
+            }
+        }
+    }
+
+    public void release(long startNanos) {
+        inFlight.decrementAndGet();
+        long now = nanoClock.getAsLong();
+        rttSum.add(now - startNanos);
+        rttCount.increment();
+
+        long next = nextUpdateNanos.get();
+        if (now - next >= 0 && nextUpdateNanos.compareAndSet(next, now + windowNanos)) {
+            updateLimit();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Long-term latency baseline in nanoseconds (0 until the first window)
+     */
+    public double getBaselineRttNanos() {
+        return baselineRtt;
+    }
+
+    private void updateLimit() {
+        long count = rttCount.sumThenReset();
+        long sum = rttSum.sumThenReset();
+        int peak = peakInFlight;
+        peakInFlight = inFlight.get();
+        if (count == 0) {
+            return;
+        }
+
+        double sampleRtt = Math.max(1.0, (double) sum / count);
+        if (baselineRtt == 0) {
+            baselineRtt = sampleRtt;
+        } else {
+            // Follow improvements quickly and degradations slowly, so sustained
+            // overload cannot redefine "normal" within a few windows
+            double alpha = sampleRtt < baselineRtt ? BASELINE_RECOVERY : BASELINE_DECAY;
+            baselineRtt += (sampleRtt - baselineRtt) * alpha;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRtt / sampleRtt));
+        if (gradient >= 1.0 && peak < estimate / 2) {
+            // Latency is fine but demand never came near the limit; growing
+            // here would only let a later burst in unchecked
+            return;
+        }
+
+        double headroom = Math.sqrt(estimate);
+        double target = estimate * gradient + headroom;
+        // Grow gently, back off at once: tail latency matters more than a few
+        // requests shed while the limit recovers
+        double next = target > estimate ? estimate * (1 - SMOOTHING) + target * SMOOTHING : target;
+        estimate = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimate;
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.notes_backend.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.RateLimitingConfig.RateLimitTier;
+import com.project.notes_backend.service.RateLimitService.RateLimitInfo;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.VerboseResult;
+
+/**
+ * Default backend: one Bucket4j bucket per key in the bounded Caffeine cache.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "bucket4j", matchIfMissing = true)
+public class Bucket4jRateLimitBackend implements RateLimitBackend {
+
+    @Autowired
+    private RateLimitingConfig rateLimitConfig;
+
+    @Autowired
+    private Cache<RateLimitKey, Bucket> rateLimitCache;
+
+    @Override
+    public boolean tryConsume(RateLimitKey key, RateLimitTier tier, long tokens) {
+        Bucket bucket = rateLimitCache.getIfPresent(key);
+        if (bucket == null) {
+            bucket = rateLimitCache.get(key.copy(), k -> rateLimitConfig.createBucket(tier, k.getEndpoint()));
+        }
+        return bucket.tryConsume(tokens);
+    }
+
+    /**
+     * From the bucket's own estimate: with interval refill, tokens arrive at
+     * period boundaries, which a tokens-per-second estimate gets wrong
+     */
+    @Override
+    public long nanosUntilAvailable(RateLimitKey key, long tokens) {
+        Bucket bucket = rateLimitCache.getIfPresent(key);
+        return bucket != null ? bucket.estimateAbilityToConsume(tokens).getNanosToWaitForRefill() : 0;
+    }
+
+    /**
+     * Tokens and the limit they were read against, from one verbose call;
+     * buckets carry a single bandwidth (RateLimitingConfig.createBucket)
+     */
+    @Override
+    public RateLimitInfo inspect(RateLimitKey key) {
+        Bucket bucket = rateLimitCache.getIfPresent(key);
+        if (bucket == null) {
+            return null;
+        }
+        VerboseResult<Long> tokens = bucket.asVerbose().getAvailableTokens();
+        Bandwidth limit = tokens.getConfiguration().getBandwidths()[0];
+        return new RateLimitInfo(tokens.getValue(), limit.getCapacity(), limit.getRefillPeriodNanos());
+    }
+
+    @Override
+    public void reset(RateLimitKey key) {
+        rateLimitCache.invalidate(key);
+    }
+}
@@ -0,0 +1,99 @@
+package com.project.notes_backend.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.RateLimitingConfig.BucketLimit;
+import com.project.notes_backend.config.RateLimitingConfig.RateLimitTier;
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.filter.RouteDescriptor;
+import com.project.notes_backend.service.RateLimitService.RateLimitInfo;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Backend on {@link CompactTokenBucketStore}: no per-key objects, so memory
+ * stays flat at millions of distinct clients. Every (tier, route) pair is
+ * mapped to a limit profile once at startup, so a consume is a table lookup
+ * plus one CAS.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "compact")
+@Slf4j
+public class CompactRateLimitBackend implements RateLimitBackend {
+
+    @Autowired
+    private RateLimitingConfig rateLimitConfig;
+
+    @Autowired
+    private RouteClassifier routeClassifier;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private CompactTokenBucketStore store;
+
+    // [tier][routeId], last column is for unknown routes
+    private int[][] profiles;
+
+    @PostConstruct
+    public void init() {
+        store = new CompactTokenBucketStore(rateLimitConfig.getCompactStoreSlots(),
+                rateLimitConfig.getCompactStoreShards(), rateLimitConfig.getCacheExpireMinutes() * 60_000L);
+
+        int routes = routeClassifier.routeCount();
+        RateLimitTier[] tiers = RateLimitTier.values();
+        profiles = new int[tiers.length][routes + 1];
+        for (RateLimitTier tier : tiers) {
+            profiles[tier.ordinal()][routes] = register(tier, null);
+            for (RouteDescriptor route : routeClassifier.getDescriptors()) {
+                profiles[tier.ordinal()][route.getRouteId()] = register(tier, route.getEndpoint());
+            }
+        }
+
+        if (meterRegistry != null) {
+            Gauge.builder("rate.limit.compact.slots.used", store, CompactTokenBucketStore::occupiedSlots)
+                    .register(meterRegistry);
+            Gauge.builder("rate.limit.compact.slots.capacity", store, CompactTokenBucketStore::capacitySlots)
+                    .register(meterRegistry);
+            Gauge.builder("rate.limit.compact.overflows", store, CompactTokenBucketStore::overflowCount)
+                    .register(meterRegistry);
+        }
+        log.info("Compact rate limiter ready with {} slots", store.capacitySlots());
+    }
+
+    @Override
+    public boolean tryConsume(RateLimitKey key, RateLimitTier tier, long tokens) {
+        return store.tryConsume(key.fingerprint(), profileFor(tier, key.getRouteBits()), tokens);
+    }
+
+    @Override
+    public RateLimitInfo inspect(RateLimitKey key) {
+        CompactTokenBucketStore.Snapshot snapshot = store.snapshot(key.fingerprint());
+        if (snapshot == null) {
+            return null;
+        }
+        return new RateLimitInfo(snapshot.tokens(), snapshot.capacity(), snapshot.refillPeriodNanos());
+    }
+
+    @Override
+    public void reset(RateLimitKey key) {
+        store.reset(key.fingerprint());
+    }
+
+    private int profileFor(RateLimitTier tier, long routeBits) {
+        int[] byRoute = profiles[tier.ordinal()];
+        int unknown = byRoute.length - 1;
+        return routeBits >= 0 && routeBits < unknown ? byRoute[(int) routeBits] : byRoute[unknown];
+    }
+
+    private int register(RateLimitTier tier, String endpoint) {
+        BucketLimit limit = rateLimitConfig.limitFor(tier, endpoint);
+        return store.registerProfile(limit.capacity(), limit.refillTokens(), limit.refillPeriod().toMillis());
+    }
+}
@@ -0,0 +1,284 @@
+package com.project.notes_backend.ratelimit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets for millions of keys in flat primitive arrays.
+ *
+ * Each shard is one long[] holding (fingerprint, state) pairs in an
+ * open-addressing table with linear probing. The state packs the last refill
+ * tick, a limit profile index and the token count into a single long, so a
+ * consume is one compare-and-set with no locks and no allocation:
+ *
+ * <pre>
+ *   | refill tick (36 bits, 10 ms) | profile (8 bits) | tokens (20 bits) |
+ * </pre>
+ *
+ * A slot costs 16 bytes, so two million slots fit in 32 MB. Entries are never
+ * removed; a slot whose bucket has been idle longer than the idle timeout is
+ * indistinguishable from a fresh bucket and is reused in place by a new key,
+ * which keeps probe chains intact. When no free or idle slot exists within the
+ * probe window the request is allowed and counted as an overflow rather than
+ * evicting an active bucket.
+ *
+ * Fingerprints are 64-bit hashes of the full key, so two keys share a bucket
+ * only on a 64-bit collision. Refill is greedy (tokens trickle in at the
+ * configured rate) rather than Bucket4j's interval refill.
+ */
+public final class CompactTokenBucketStore {
+
+    private static final VarHandle ARRAY = MethodHandles.arrayElementVarHandle(long[].class);
+
+    static final long TICK_NANOS = 10_000_000L;
+    private static final int TOKEN_BITS = 20;
+    private static final int PROFILE_BITS = 8;
+    private static final int TICK_SHIFT = TOKEN_BITS + PROFILE_BITS;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long PROFILE_MASK = (1L << PROFILE_BITS) - 1;
+    public static final long MAX_TOKENS = TOKEN_MASK;
+    public static final int MAX_PROFILES = (int) PROFILE_MASK + 1;
+
+    private static final int MAX_PROBES = 32;
+
+    private final long[][] shards;
+    private final int shardMask;
+    private final int slotMask;
+    private final long idleTicks;
+    private final LongSupplier nanoClock;
+    private final long originNanos;
+
+    private final long[] profileCapacity = new long[MAX_PROFILES];
+    private final long[] profileRefillTokens = new long[MAX_PROFILES];
+    private final long[] profilePeriodTicks = new long[MAX_PROFILES];
+    private int profileCount;
+
+    private final LongAdder occupied = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    public CompactTokenBucketStore(int totalSlots, int shardCount, long idleMillis) {
+        this(totalSlots, shardCount, idleMillis, System::nanoTime);
+    }
+
+    CompactTokenBucketStore(int totalSlots, int shardCount, long idleMillis, LongSupplier nanoClock) {
+        if (Integer.bitCount(shardCount) != 1 || shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be a power of two: " + shardCount);
+        }
+        int slotsPerShard = Integer.highestOneBit(Math.max(totalSlots / shardCount, MAX_PROBES));
+        this.shards = new long[shardCount][slotsPerShard * 2];
+        this.shardMask = shardCount - 1;
+        this.slotMask = slotsPerShard - 1;
+        this.idleTicks = Math.max(1, idleMillis * 1_000_000L / TICK_NANOS);
+        this.nanoClock = nanoClock;
+        // Start at tick 1 so a packed state is never 0 (0 means "fresh bucket")
+        this.originNanos = nanoClock.getAsLong() - TICK_NANOS;
+    }
+
+    /**
+     * Register a limit profile and return its index. Profiles are few (one per
+     * distinct tier/endpoint limit) and registered once at startup.
+     */
+    public synchronized int registerProfile(long capacity, long refillTokens, long refillPeriodMillis) {
+        long clampedCapacity = Math.max(1, Math.min(capacity, MAX_TOKENS));
+        long periodTicks = Math.max(1, refillPeriodMillis * 1_000_000L / TICK_NANOS);
+        for (int i = 0; i < profileCount; i++) {
+            if (profileCapacity[i] == clampedCapacity && profileRefillTokens[i] == refillTokens
+                    && profilePeriodTicks[i] == periodTicks) {
+                return i;
+            }
+        }
+        if (profileCount == MAX_PROFILES) {
+            throw new IllegalStateException("Too many rate limit profiles");
+        }
+        int index = profileCount++;
+        profileCapacity[index] = clampedCapacity;
+        profileRefillTokens[index] = Math.max(1, refillTokens);
+        profilePeriodTicks[index] = periodTicks;
+        return index;
+    }
+
+    /**
+     * Consume tokens from the bucket for the fingerprint using the given
+     * profile. A new or idle bucket starts full.
+     */
+    public boolean tryConsume(long fingerprint, int profile, long tokens) {
+        long fp = normalize(fingerprint);
+        long[] table = shardFor(fp);
+        long now = nowTicks();
+
+        int index = findSlot(table, fp, true, now);
+        if (index < 0) {
+            overflows.increment();
+            return true;
+        }
+
+        long capacity = profileCapacity[profile];
+        int stateIndex = index + 1;
+        for (;;) {
+            long state = (long) ARRAY.getVolatile(table, stateIndex);
+            long available;
+            long tick;
+            if (state == 0 || profileOf(state) != profile) {
+                available = capacity;
+                tick = now;
+            } else {
+                available = state & TOKEN_MASK;
+                tick = state >>> TICK_SHIFT;
+                long elapsed = now - tick;
+                if (elapsed > 0) {
+                    if (available >= capacity) {
+                        tick = now;
+                    } else {
+                        long refill = profileRefillTokens[profile];
+                        long period = profilePeriodTicks[profile];
+                        long added = elapsed >= period * capacity ? capacity : elapsed * refill / period;
+                        if (added > 0) {
+                            available += added;
+                            if (available >= capacity) {
+                                available = capacity;
+                                tick = now;
+                            } else {
+                                // Keep the fractional remainder for the next refill
+                                tick += added * period / refill;
+                            }
+                        }
+                    }
+                }
+            }
+
+            if (available < tokens) {
+                return false;
+            }
+            long next = (tick << TICK_SHIFT) | ((long) profile << TOKEN_BITS) | (available - tokens);
+            if (ARRAY.compareAndSet(table, stateIndex, state, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Tokens currently available (including pending refill), or -1 if the
+     * fingerprint has no bucket.
+     */
+    public long availableTokens(long fingerprint) {
+        Snapshot snapshot = snapshot(fingerprint);
+        return snapshot != null ? snapshot.tokens() : -1;
+    }
+
+    public Snapshot snapshot(long fingerprint) {
+        long fp = normalize(fingerprint);
+        long[] table = shardFor(fp);
+        long now = nowTicks();
+        int index = findSlot(table, fp, false, now);
+        if (index < 0) {
+            return null;
+        }
+        long state = (long) ARRAY.getVolatile(table, index + 1);
+        if (state == 0) {
+            return null;
+        }
+        int profile = profileOf(state);
+        long capacity = profileCapacity[profile];
+        long period = profilePeriodTicks[profile];
+        long elapsed = Math.max(0, now - (state >>> TICK_SHIFT));
+        long refilled = elapsed >= period * capacity ? capacity
+                : (state & TOKEN_MASK) + elapsed * profileRefillTokens[profile] / period;
+        return new Snapshot(Math.min(capacity, refilled), capacity, period * TICK_NANOS);
+    }
+
+    public void reset(long fingerprint) {
+        long fp = normalize(fingerprint);
+        long[] table = shardFor(fp);
+        int index = findSlot(table, fp, false, nowTicks());
+        if (index >= 0) {
+            ARRAY.setVolatile(table, index + 1, 0L);
+        }
+    }
+
+    /**
+     * Slots ever claimed by a key (idle slots reused by new keys count once)
+     */
+    public long occupiedSlots() {
+        return occupied.sum();
+    }
+
+    public long capacitySlots() {
+        return (long) shards.length * (slotMask + 1);
+    }
+
+    /**
+     * Requests allowed without a bucket because the probe window was full
+     */
+    public long overflowCount() {
+        return overflows.sum();
+    }
+
+    private int findSlot(long[] table, long fp, boolean claim, long now) {
+        int start = (int) fp & slotMask;
+        int reusable = -1;
+
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int index = ((start + probe) & slotMask) << 1;
+            long key = (long) ARRAY.getVolatile(table, index);
+            if (key == fp) {
+                return index;
+            }
+            if (key == 0) {
+                if (!claim) {
+                    return -1;
+                }
+                if (ARRAY.compareAndSet(table, index, 0L, fp)) {
+                    occupied.increment();
+                    return index;
+                }
+                // Lost the race for this slot; it may have been claimed for the same key
+                if ((long) ARRAY.getVolatile(table, index) == fp) {
+                    return index;
+                }
+                continue;
+            }
+            if (claim && reusable < 0 && isIdle((long) ARRAY.getVolatile(table, index + 1), now)) {
+                reusable = index;
+            }
+        }
+
+        if (reusable >= 0) {
+            long previousKey = (long) ARRAY.getVolatile(table, reusable);
+            long previousState = (long) ARRAY.getVolatile(table, reusable + 1);
+            if (isIdle(previousState, now) && ARRAY.compareAndSet(table, reusable, previousKey, fp)) {
+                ARRAY.compareAndSet(table, reusable + 1, previousState, 0L);
+                return reusable;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isIdle(long state, long now) {
+        return state == 0 || now - (state >>> TICK_SHIFT) > idleTicks;
+    }
+
+    private long[] shardFor(long fp) {
+        return shards[(int) (fp >>> 32) & shardMask];
+    }
+
+    private long nowTicks() {
+        return (nanoClock.getAsLong() - originNanos) / TICK_NANOS;
+    }
+
+    private static int profileOf(long state) {
+        return (int) ((state >>> TOKEN_BITS) & PROFILE_MASK);
+    }
+
+    private static long normalize(long fingerprint) {
+        // 0 marks an empty slot
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    /**
+     * Point-in-time view of one bucket for admin and telemetry
+     */
+    public record Snapshot(long tokens, long capacity, long refillPeriodNanos) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.notes_backend.ratelimit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Space-Saving top-K sketch over rate limit keys. Each stripe keeps a fixed
+ * set of counters; a key that is not tracked takes over the smallest counter
+ * and inherits its count as the overestimate bound, so any key with more than
+ * 1/m of its stripe's traffic (m = counters per stripe) is guaranteed to be
+ * present.
+ *
+ * Stripes are chosen by key hash and locked independently, so the limiter
+ * threads rarely contend. Slots own mutable {@link RateLimitKey}s that are
+ * overwritten in place, which keeps {@link #offer} allocation-free.
+ */
+public final class HeavyHitterSketch {
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public HeavyHitterSketch(int countersPerStripe, int stripeCount) {
+        if (Integer.bitCount(stripeCount) != 1 || stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripeCount);
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(Math.max(1, countersPerStripe));
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public void offer(RateLimitKey key, boolean rejected) {
+        stripes[key.hashCode() & stripeMask].offer(key, rejected);
+    }
+
+    /**
+     * The n keys with the highest estimated request counts
+     */
+    public List<HeavyHitter> top(int n) {
+        List<HeavyHitter> all = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.collect(all);
+        }
+        all.sort(Comparator.comparingLong(HeavyHitter::requests).reversed());
+        return all.size() > n ? new ArrayList<>(all.subList(0, n)) : all;
+    }
+
+    /**
+     * Halve every counter so the ranking reflects recent traffic
+     */
+    public void decay() {
+        for (Stripe stripe : stripes) {
+            stripe.decay();
+        }
+    }
+
+    /**
+     * One tracked key; requests may overestimate the true count by at most
+     * maxOverestimate.
+     */
+    public record HeavyHitter(String key, String username, String clientIp, String endpoint,
+            long requests, long rejected, long maxOverestimate) {
+    }
+
+    private static final class Stripe {
+
+        private final RateLimitKey[] keys;
+        private final long[] counts;
+        private final long[] errors;
+        private final long[] rejections;
+
+        Stripe(int size) {
+            keys = new RateLimitKey[size];
+            counts = new long[size];
+            errors = new long[size];
+            rejections = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = new RateLimitKey();
+            }
+        }
+
+        synchronized void offer(RateLimitKey key, boolean rejected) {
+            int min = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (counts[i] > 0 && keys[i].equals(key)) {
+                    counts[i]++;
+                    if (rejected) {
+                        rejections[i]++;
+                    }
+                    return;
+                }
+                if (counts[i] < counts[min]) {
+                    min = i;
+                }
+            }
+
+            keys[min].copyFrom(key);
+            errors[min] = counts[min];
+            counts[min]++;
+            rejections[min] = rejected ? 1 : 0;
+        }
+
+        synchronized void collect(List<HeavyHitter> out) {
+            for (int i = 0; i < keys.length; i++) {
+                if (counts[i] > 0) {
+                    RateLimitKey key = keys[i];
+                    out.add(new HeavyHitter(key.toString(), key.getUsername(), key.getClientIp(),
+                            key.getEndpoint(), counts[i], rejections[i], errors[i]));
+                }
+            }
+        }
+
+        synchronized void decay() {
+            for (int i = 0; i < keys.length; i++) {
+                counts[i] >>= 1;
+                errors[i] >>= 1;
+                rejections[i] >>= 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.project.notes_backend.ratelimit;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.RateLimitingConfig.BucketLimit;
+import com.project.notes_backend.model.RateLimitBucketState;
+import com.project.notes_backend.repository.RateLimitBucketRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Database side of the JDBC backend: hands out batches of tokens from the
+ * shared bucket row under a row lock. Refill is greedy and computed from the
+ * caller's wall clock, so cross-node accuracy is bounded by clock skew.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "jdbc")
+@Slf4j
+public class JdbcBucketLeaseStore {
+
+    @Autowired
+    private RateLimitBucketRepository bucketRepository;
+
+    @Autowired
+    private RateLimitingConfig rateLimitConfig;
+
+    /**
+     * Take up to {@code requested} tokens from the shared bucket, creating a
+     * full bucket if none exists. A concurrent first insert from another node
+     * surfaces as a DataIntegrityViolationException; callers retry once.
+     *
+     * @return number of tokens granted, possibly 0
+     */
+    @Transactional
+    public long lease(long bucketKey, BucketLimit limit, long requested, long nowMillis) {
+        return lease(bucketKey, limit, requested, 0, nowMillis);
+    }
+
+    /**
+     * As above, first giving back {@code returned} unused tokens from the
+     * caller's previous lease (capped at capacity). A missing row is created
+     * full, so nothing needs to be given back to it.
+     */
+    @Transactional
+    public long lease(long bucketKey, BucketLimit limit, long requested, long returned, long nowMillis) {
+        long periodMillis = limit.refillPeriod().toMillis();
+        RateLimitBucketState state = bucketRepository.findForUpdate(bucketKey).orElse(null);
+
+        if (state == null) {
+            state = new RateLimitBucketState(bucketKey, limit.capacity(), limit.refillTokens(), periodMillis,
+                    nowMillis);
+            long granted = Math.min(requested, state.getTokens());
+            state.setTokens(state.getTokens() - granted);
+            bucketRepository.saveAndFlush(state);
+            return granted;
+        }
+
+        // Pick up configuration changes without resetting the bucket
+        if (state.getCapacity() != limit.capacity() || state.getRefillTokens() != limit.refillTokens()
+                || state.getRefillPeriodMillis() != periodMillis) {
+            state.setCapacity(limit.capacity());
+            state.setRefillTokens(limit.refillTokens());
+            state.setRefillPeriodMillis(periodMillis);
+            state.setTokens(Math.min(state.getTokens(), limit.capacity()));
+        }
+
+        refill(state, nowMillis);
+        if (returned > 0) {
+            state.setTokens(Math.min(state.getCapacity(), state.getTokens() + returned));
+        }
+        long granted = Math.min(requested, state.getTokens());
+        state.setTokens(state.getTokens() - granted);
+        state.setLastLeasedAt(Instant.ofEpochMilli(nowMillis));
+        return granted;
+    }
+
+    /**
+     * Read-only view of the shared bucket with pending refill applied, or null
+     */
+    @Transactional(readOnly = true)
+    public RateLimitBucketState peek(long bucketKey, long nowMillis) {
+        RateLimitBucketState stored = bucketRepository.findById(bucketKey).orElse(null);
+        if (stored == null) {
+            return null;
+        }
+        // Refill a detached copy so the managed row is never dirtied by a read
+        RateLimitBucketState view = new RateLimitBucketState(stored.getBucketKey(), stored.getCapacity(),
+                stored.getRefillTokens(), stored.getRefillPeriodMillis(), stored.getRefilledAtMillis());
+        view.setTokens(stored.getTokens());
+        view.setLastLeasedAt(stored.getLastLeasedAt());
+        refill(view, nowMillis);
+        return view;
+    }
+
+    @Transactional
+    public void reset(long bucketKey) {
+        bucketRepository.deleteById(bucketKey);
+    }
+
+    /**
+     * Drop buckets nobody has leased from within the cache expiry window; a
+     * missing row is recreated full, which is what an idle bucket would be.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.jdbc-cleanup-interval-millis:300000}")
+    public void purgeIdleBuckets() {
+        Instant cutoff = Instant.now().minus(rateLimitConfig.getCacheExpireMinutes(), ChronoUnit.MINUTES);
+        int deleted = bucketRepository.deleteIdleSince(cutoff);
+        if (deleted > 0) {
+            log.debug("Purged {} idle rate limit buckets", deleted);
+        }
+    }
+
+    static void refill(RateLimitBucketState state, long nowMillis) {
+        long elapsed = nowMillis - state.getRefilledAtMillis();
+        if (elapsed <= 0) {
+            return;
+        }
+        if (state.getTokens() >= state.getCapacity()) {
+            state.setRefilledAtMillis(nowMillis);
+            return;
+        }
+
+        long period = Math.max(1, state.getRefillPeriodMillis());
+        long refill = Math.max(1, state.getRefillTokens());
+        long added = elapsed >= period * state.getCapacity() ? state.getCapacity() : elapsed * refill / period;
+        if (added <= 0) {
+            return;
+        }
+        long tokens = state.getTokens() + added;
+        if (tokens >= state.getCapacity()) {
+            state.setTokens(state.getCapacity());
+            state.setRefilledAtMillis(nowMillis);
+        } else {
+            state.setTokens(tokens);
+            // Keep the fractional remainder for the next refill
+            state.setRefilledAtMillis(state.getRefilledAtMillis() + added * period / refill);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.project.notes_backend.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.RateLimitingConfig.BucketLimit;
+import com.project.notes_backend.config.RateLimitingConfig.RateLimitTier;
+import com.project.notes_backend.model.RateLimitBucketState;
+import com.project.notes_backend.service.RateLimitService.RateLimitInfo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cluster-wide limits: bucket state lives in the database and each node
+ * leases small batches of tokens per key, serving requests locally until the
+ * lease is used up or expires.
+ *
+ * Tokens are deducted in the database before they are handed out, so the
+ * cluster never admits more than the configured limit. Tokens left in an
+ * expired lease go back to the shared bucket with the node's next lease for
+ * that key, so a client slower than one lease per TTL is charged per request,
+ * not per lease. Until then up to one lease per node per key sits idle, which
+ * is why leases are small and short-lived. When the shared bucket is empty
+ * the key is denied locally until the next token is due, so a throttled
+ * client does not turn into one database round trip per request.
+ *
+ * If the database is unreachable the node falls back to a local
+ * {@link CompactTokenBucketStore}, i.e. per-node limits, until it recovers.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "jdbc")
+@Slf4j
+public class JdbcRateLimitBackend implements RateLimitBackend {
+
+    @Autowired
+    private RateLimitingConfig rateLimitConfig;
+
+    @Autowired
+    private JdbcBucketLeaseStore leaseStore;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Cache<RateLimitKey, Lease> leases;
+    private CompactTokenBucketStore fallbackStore;
+    private final AtomicBoolean degraded = new AtomicBoolean();
+
+    private Counter leaseRequests;
+    private Counter fallbackDecisions;
+
+    @PostConstruct
+    public void init() {
+        leases = Caffeine.newBuilder()
+                .maximumSize(rateLimitConfig.getCacheMaxSize())
+                .expireAfterAccess(Duration.ofMinutes(rateLimitConfig.getCacheExpireMinutes()))
+                .build();
+        fallbackStore = new CompactTokenBucketStore(65_536, 16, rateLimitConfig.getCacheExpireMinutes() * 60_000L);
+
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        leaseRequests = Counter.builder("rate.limit.jdbc.leases")
+                .description("Token leases requested from the shared bucket store")
+                .register(registry);
+        fallbackDecisions = Counter.builder("rate.limit.jdbc.fallback")
+                .description("Decisions made by the local fallback while the database was unavailable")
+                .register(registry);
+    }
+
+    @Override
+    public boolean tryConsume(RateLimitKey key, RateLimitTier tier, long tokens) {
+        return tryConsume(key, tier, tokens, System.nanoTime());
+    }
+
+    boolean tryConsume(RateLimitKey key, RateLimitTier tier, long tokens, long now) {
+        Lease lease = leases.getIfPresent(key);
+        if (lease == null) {
+            lease = leases.get(key.copy(), k -> new Lease(now));
+        }
+
+        synchronized (lease) {
+            if (lease.expiresAtNanos - now > 0 && lease.tokens >= tokens) {
+                lease.tokens -= tokens;
+                return true;
+            }
+            if (lease.deniedUntilNanos - now > 0) {
+                return false;
+            }
+
+            BucketLimit limit = rateLimitConfig.limitFor(tier, key.getEndpoint());
+            // Whatever is left (expired, or too few for this request) is given back in the same round trip
+            long leftover = lease.tokens;
+            long granted;
+            try {
+                granted = leaseFromStore(key.fingerprint(), limit, Math.max(tokens, leaseSize(limit)), leftover);
+            } catch (DataAccessException | TransactionException e) {
+                // The lease is @Transactional: a pool or database outage fails opening the transaction
+                return consumeLocally(key, lease, limit, tokens, e);
+            }
+            if (degraded.compareAndSet(true, false)) {
+                log.info("Rate limit store reachable again, leaving local fallback");
+            }
+
+            lease.expiresAtNanos = now + TimeUnit.MILLISECONDS.toNanos(rateLimitConfig.getJdbcLeaseTtlMillis());
+            if (granted < tokens) {
+                // Not enough for this request: keep what we got and back off until a token is due
+                lease.tokens = granted;
+                lease.deniedUntilNanos = now + Math.min(nanosPerToken(limit),
+                        TimeUnit.MILLISECONDS.toNanos(rateLimitConfig.getJdbcLeaseTtlMillis()));
+                return false;
+            }
+            lease.tokens = granted - tokens;
+            return true;
+        }
+    }
+
+    @Override
+    public RateLimitInfo inspect(RateLimitKey key) {
+        RateLimitBucketState state = leaseStore.peek(key.fingerprint(), System.currentTimeMillis());
+        if (state == null) {
+            return null;
+        }
+        return new RateLimitInfo(state.getTokens(), state.getCapacity(),
+                TimeUnit.MILLISECONDS.toNanos(state.getRefillPeriodMillis()));
+    }
+
+    /**
+     * Resets the shared bucket and this node's lease; other nodes keep their
+     * (short-lived) leases until they expire.
+     */
+    @Override
+    public void reset(RateLimitKey key) {
+        leases.invalidate(key);
+        fallbackStore.reset(key.fingerprint());
+        leaseStore.reset(key.fingerprint());
+    }
+
+    private long leaseFromStore(long bucketKey, BucketLimit limit, long requested, long returned) {
+        leaseRequests.increment();
+        long nowMillis = System.currentTimeMillis();
+        try {
+            return leaseStore.lease(bucketKey, limit, requested, returned, nowMillis);
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the row first; it exists now
+            return leaseStore.lease(bucketKey, limit, requested, returned, nowMillis);
+        }
+    }
+
+    private boolean consumeLocally(RateLimitKey key, Lease lease, BucketLimit limit, long tokens,
+            RuntimeException cause) {
+        if (degraded.compareAndSet(false, true)) {
+            log.warn("Rate limit store unavailable, falling back to per-node limits: {}", cause.getMessage());
+        }
+        fallbackDecisions.increment();
+        if (lease.fallbackProfile < 0) {
+            lease.fallbackProfile = fallbackStore.registerProfile(limit.capacity(), limit.refillTokens(),
+                    limit.refillPeriod().toMillis());
+        }
+        return fallbackStore.tryConsume(key.fingerprint(), lease.fallbackProfile, tokens);
+    }
+
+    /**
+     * Lease at most the configured batch and never more than half the burst,
+     * so a client spread across nodes cannot be starved by idle leases.
+     */
+    private long leaseSize(BucketLimit limit) {
+        return Math.max(1, Math.min(rateLimitConfig.getJdbcLeaseSize(), limit.capacity() / 2));
+    }
+
+    private static long nanosPerToken(BucketLimit limit) {
+        return limit.refillPeriod().toNanos() / Math.max(1, limit.refillTokens());
+    }
+
+    /**
+     * Tokens this node holds for one key; guarded by its own monitor
+     */
+    private static final class Lease {
+
+        private long tokens;
+        private long expiresAtNanos;
+        private long deniedUntilNanos;
+        private int fallbackProfile = -1;
+
+        private Lease(long now) {
+            expiresAtNanos = now;
+            deniedUntilNanos = now;
+        }
+    }
+}
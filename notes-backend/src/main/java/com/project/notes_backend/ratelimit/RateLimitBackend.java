@@ -0,0 +1,40 @@
+package com.project.notes_backend.ratelimit;
+
+import com.project.notes_backend.config.RateLimitingConfig.RateLimitTier;
+import com.project.notes_backend.service.RateLimitService.RateLimitInfo;
+
+/**
+ * Storage for token buckets behind {@link com.project.notes_backend.service.RateLimitService}.
+ * Selected with app.rate-limit.backend.
+ *
+ * Keys passed to {@link #tryConsume} may be thread-local probes; an
+ * implementation that stores keys must copy them first.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Consume tokens from the key's bucket, creating it from the tier and the
+     * key's endpoint limits if needed.
+     *
+     * @return true if the tokens were available
+     */
+    boolean tryConsume(RateLimitKey key, RateLimitTier tier, long tokens);
+
+    /**
+     * Nanoseconds until the key's bucket can supply {@code tokens}, 0 if it
+     * can now, or -1 if the backend cannot tell. Called on rejections only.
+     */
+    default long nanosUntilAvailable(RateLimitKey key, long tokens) {
+        return -1;
+    }
+
+    /**
+     * Current state of the key's bucket, or null if the key has no bucket
+     */
+    RateLimitInfo inspect(RateLimitKey key);
+
+    /**
+     * Forget the key's bucket so the next request starts with a full one
+     */
+    void reset(RateLimitKey key);
+}
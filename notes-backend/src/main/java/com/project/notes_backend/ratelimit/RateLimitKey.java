@@ -0,0 +1,143 @@
+package com.project.notes_backend.ratelimit;
+
+/**
+ * Composite (user, client IP, route) rate limit key made of primitives with a
+ * precomputed hash. Equality only looks at the three numeric components; the
+ * text fields exist so admin endpoints and logs can still render the legacy
+ * "user:NAME:ip:IP:endpoint:ROUTE" form.
+ *
+ * Keys handed to the cache are immutable. {@link RateLimitKeyFactory} also
+ * keeps one mutable probe per thread that is only ever used for lookups, which
+ * keeps the allowed-request path free of allocations.
+ */
+public final class RateLimitKey {
+
+    // Component value meaning "not present" (anonymous user)
+    public static final long NONE = 0L;
+
+    private long userId;
+    private long ipBits;
+    private long routeBits;
+    private int hash;
+
+    // Display only, not part of equality
+    private String username;
+    private String ipSource;
+    private int ipStart;
+    private int ipEnd;
+    private String endpoint;
+
+    RateLimitKey() {
+    }
+
+    RateLimitKey set(long userId, String username, long ipBits, String ipSource, int ipStart, int ipEnd,
+            long routeBits, String endpoint) {
+        this.userId = userId;
+        this.ipBits = ipBits;
+        this.routeBits = routeBits;
+        this.username = username;
+        this.ipSource = ipSource;
+        this.ipStart = ipStart;
+        this.ipEnd = ipEnd;
+        this.endpoint = endpoint;
+        this.hash = mix(userId, ipBits, routeBits);
+        return this;
+    }
+
+    /**
+     * Immutable copy suitable for storing in a map; only called on a cache miss.
+     */
+    RateLimitKey copy() {
+        String ip = ipSource == null ? null
+                : (ipStart == 0 && ipEnd == ipSource.length() ? ipSource : ipSource.substring(ipStart, ipEnd));
+        return new RateLimitKey().set(userId, username, ipBits, ip, 0, ip == null ? 0 : ip.length(),
+                routeBits, endpoint);
+    }
+
+    /**
+     * Overwrite this key with another's contents, keeping references to its
+     * strings; lets long-lived mutable slots track probe keys without copying.
+     */
+    RateLimitKey copyFrom(RateLimitKey other) {
+        return set(other.userId, other.username, other.ipBits, other.ipSource, other.ipStart, other.ipEnd,
+                other.routeBits, other.endpoint);
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getIpBits() {
+        return ipBits;
+    }
+
+    public long getRouteBits() {
+        return routeBits;
+    }
+
+    public boolean isAuthenticated() {
+        return userId != NONE;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getClientIp() {
+        if (ipSource == null) {
+            return null;
+        }
+        return ipStart == 0 && ipEnd == ipSource.length() ? ipSource : ipSource.substring(ipStart, ipEnd);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RateLimitKey other)) {
+            return false;
+        }
+        return hash == other.hash
+                && userId == other.userId
+                && ipBits == other.ipBits
+                && routeBits == other.routeBits;
+    }
+
+    @Override
+    public String toString() {
+        if (isAuthenticated()) {
+            return "user:" + username + ":ip:" + getClientIp() + ":endpoint:" + endpoint;
+        }
+        return "ip:" + getClientIp() + ":endpoint:" + endpoint;
+    }
+
+    /**
+     * 64-bit hash of the numeric components for stores that keep only a
+     * fingerprint instead of the key itself.
+     */
+    public long fingerprint() {
+        return mix64(userId, ipBits, routeBits);
+    }
+
+    static int mix(long userId, long ipBits, long routeBits) {
+        long h = mix64(userId, ipBits, routeBits);
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static long mix64(long userId, long ipBits, long routeBits) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        h = (h ^ ipBits) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ routeBits) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,182 @@
+package com.project.notes_backend.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.filter.RouteDescriptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Builds {@link RateLimitKey}s without allocating on the hot path.
+ *
+ * Usernames are interned to dense ids (bounded by the user base). Client IPs
+ * are never interned, since X-Forwarded-For is attacker controlled: IPv4
+ * addresses are packed into the low 32 bits and anything else is reduced to a
+ * tagged 64-bit hash of the characters. Known routes use the classifier's
+ * route id; unknown paths are hashed the same way as odd IPs.
+ */
+@Component
+public class RateLimitKeyFactory {
+
+    // Tag for hashed (non-IPv4 / unknown route) components so they never equal a packed value
+    private static final long HASHED = Long.MIN_VALUE;
+
+    private final ConcurrentHashMap<String, Long> userIds = new ConcurrentHashMap<>();
+    private final AtomicLong nextUserId = new AtomicLong();
+    private final ThreadLocal<RateLimitKey> probes = ThreadLocal.withInitial(RateLimitKey::new);
+
+    @Autowired
+    private RouteClassifier routeClassifier;
+
+    public RateLimitKeyFactory() {
+    }
+
+    public RateLimitKeyFactory(RouteClassifier routeClassifier) {
+        this.routeClassifier = routeClassifier;
+    }
+
+    /**
+     * Fill and return this thread's probe key for the request. The result must
+     * only be used for lookups; call {@link #immutableCopy(RateLimitKey)}
+     * before storing it.
+     */
+    public RateLimitKey probe(HttpServletRequest request, Authentication authentication, RouteDescriptor route) {
+        String username = authentication != null && authentication.isAuthenticated()
+                ? authentication.getName() : null;
+
+        String ip = request.getHeader("X-Forwarded-For");
+        if (StringUtils.hasText(ip)) {
+            // First hop only, trimmed in place without substring()
+            int end = ip.indexOf(',');
+            if (end < 0) {
+                end = ip.length();
+            }
+            int start = 0;
+            while (start < end && Character.isWhitespace(ip.charAt(start))) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(ip.charAt(end - 1))) {
+                end--;
+            }
+            return probe(username, ip, start, end, route);
+        }
+
+        ip = request.getHeader("X-Real-IP");
+        if (!StringUtils.hasText(ip)) {
+            ip = request.getHeader("X-Cluster-Client-IP");
+        }
+        if (!StringUtils.hasText(ip)) {
+            ip = request.getRemoteAddr();
+        }
+        return probe(username, ip, 0, ip == null ? 0 : ip.length(), route);
+    }
+
+    public RateLimitKey probe(String username, String ip, int ipStart, int ipEnd, RouteDescriptor route) {
+        long userId = username == null ? RateLimitKey.NONE : internUser(username);
+        long ipBits = ip == null ? RateLimitKey.NONE : ipBits(ip, ipStart, ipEnd);
+        String endpoint = route.getEndpoint();
+        long routeBits = route.isKnownRoute() ? route.getRouteId() : hashed(endpoint, 0, endpoint.length());
+
+        return probes.get().set(userId, username, ipBits, ip, ipStart, ipEnd, routeBits, endpoint);
+    }
+
+    public RateLimitKey immutableCopy(RateLimitKey probe) {
+        return probe.copy();
+    }
+
+    /**
+     * Parse the legacy "user:NAME:ip:IP:endpoint:ROUTE" / "ip:IP:endpoint:ROUTE"
+     * form used by the admin API. Returns null if the text is not a key.
+     */
+    public RateLimitKey parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        int ipMarker = text.indexOf("ip:");
+        int endpointMarker = text.indexOf(":endpoint:");
+        if (ipMarker < 0 || endpointMarker < ipMarker) {
+            return null;
+        }
+
+        long userId = RateLimitKey.NONE;
+        String username = null;
+        if (text.startsWith("user:")) {
+            int userEnd = text.indexOf(":ip:");
+            if (userEnd < 0) {
+                return null;
+            }
+            username = text.substring("user:".length(), userEnd);
+            Long existing = userIds.get(username);
+            // A user never seen by the limiter cannot own a bucket
+            userId = existing != null ? existing : -1L;
+            ipMarker = userEnd + 1;
+        }
+
+        String ip = text.substring(ipMarker + "ip:".length(), endpointMarker);
+        String endpoint = text.substring(endpointMarker + ":endpoint:".length());
+        int routeId = routeClassifier.routeIdOf(endpoint);
+        long routeBits = routeId != RouteDescriptor.UNKNOWN_ROUTE_ID ? routeId : hashed(endpoint, 0, endpoint.length());
+
+        return new RateLimitKey().set(userId, username, ipBits(ip, 0, ip.length()), ip, 0, ip.length(),
+                routeBits, endpoint);
+    }
+
+    private long internUser(String username) {
+        Long id = userIds.get(username);
+        if (id != null) {
+            return id;
+        }
+        return userIds.computeIfAbsent(username, name -> nextUserId.incrementAndGet());
+    }
+
+    /**
+     * Packed IPv4 address, or a tagged hash for anything else (IPv6, garbage).
+     */
+    static long ipBits(String s, int start, int end) {
+        long packed = 0;
+        int octets = 0;
+        int value = -1;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) {
+                    return hashed(s, start, end);
+                }
+            } else if (c == '.' && value >= 0 && octets < 3) {
+                packed = (packed << 8) | value;
+                octets++;
+                value = -1;
+            } else {
+                return hashed(s, start, end);
+            }
+        }
+        if (octets != 3 || value < 0) {
+            return hashed(s, start, end);
+        }
+        return (packed << 8) | value;
+    }
+
+    /**
+     * FNV-1a over the character range with a final avalanche, tagged with the
+     * sign bit so it cannot collide with packed IPv4 values or route ids.
+     */
+    static long hashed(String s, int start, int end) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = start; i < end; i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= (h >>> 33);
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= (h >>> 33);
+        return h | HASHED;
+    }
+}
@@ -0,0 +1,154 @@
+package com.project.notes_backend.ratelimit;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.RateLimitingConfig.BucketLimit;
+import com.project.notes_backend.config.RateLimitingConfig.RateLimitTier;
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.filter.RouteDescriptor;
+import com.project.notes_backend.ratelimit.HeavyHitterSketch.HeavyHitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * What the limiter is doing: allowed/rejected counts per tier, the heaviest
+ * (user, IP, route) keys from a {@link HeavyHitterSketch}, and the limits in
+ * effect. Counters are Micrometer meters; the top keys are published as a
+ * multi-gauge by rank and route only, since user and IP tags would explode
+ * metric cardinality. Full detail is on the admin API.
+ */
+@Component
+public class RateLimitTelemetry {
+
+    @Autowired
+    private RateLimitingConfig rateLimitConfig;
+
+    @Autowired
+    private RouteClassifier routeClassifier;
+
+    @Autowired
+    private RouteCostModel routeCostModel;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private HeavyHitterSketch sketch;
+    // [tier][0 = allowed, 1 = rejected]
+    private Counter[][] decisions;
+    private MultiGauge heavyHitterGauge;
+
+    @PostConstruct
+    public void init() {
+        sketch = new HeavyHitterSketch(rateLimitConfig.getHeavyHitterCountersPerStripe(),
+                rateLimitConfig.getHeavyHitterStripes());
+
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        RateLimitTier[] tiers = RateLimitTier.values();
+        decisions = new Counter[tiers.length][2];
+        for (RateLimitTier tier : tiers) {
+            String tierTag = tier.name().toLowerCase();
+            decisions[tier.ordinal()][0] = Counter.builder("rate.limit.requests")
+                    .tag("tier", tierTag).tag("outcome", "allowed").register(registry);
+            decisions[tier.ordinal()][1] = Counter.builder("rate.limit.requests")
+                    .tag("tier", tierTag).tag("outcome", "rejected").register(registry);
+        }
+        heavyHitterGauge = MultiGauge.builder("rate.limit.heavy.hitter.requests")
+                .description("Estimated recent requests of the top rate limit keys")
+                .register(registry);
+    }
+
+    /**
+     * Called by the limiter for every decision; allocation-free
+     */
+    public void record(RateLimitKey key, RateLimitTier tier, boolean allowed) {
+        decisions[tier.ordinal()][allowed ? 0 : 1].increment();
+        sketch.offer(key, !allowed);
+    }
+
+    public List<HeavyHitter> heavyHitters(int limit) {
+        return sketch.top(limit);
+    }
+
+    public Map<RateLimitTier, Map<String, Long>> decisionsByTier() {
+        Map<RateLimitTier, Map<String, Long>> result = new EnumMap<>(RateLimitTier.class);
+        for (RateLimitTier tier : RateLimitTier.values()) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            counts.put("allowed", (long) decisions[tier.ordinal()][0].count());
+            counts.put("rejected", (long) decisions[tier.ordinal()][1].count());
+            result.put(tier, counts);
+        }
+        return result;
+    }
+
+    /**
+     * Limits in effect per tier and endpoint, including the default used for
+     * endpoints without a specific limit ("*")
+     */
+    public Map<RateLimitTier, Map<String, ConfiguredLimit>> configuredLimits() {
+        Map<RateLimitTier, Map<String, ConfiguredLimit>> result = new EnumMap<>(RateLimitTier.class);
+        for (RateLimitTier tier : RateLimitTier.values()) {
+            Map<String, ConfiguredLimit> limits = new LinkedHashMap<>();
+            limits.put("*", toView(rateLimitConfig.limitFor(tier, null), 1));
+            for (RouteDescriptor route : routeClassifier.getDescriptors()) {
+                if (!route.isSkipRateLimit() && !limits.containsKey(route.getEndpoint())) {
+                    limits.put(route.getEndpoint(), toView(rateLimitConfig.limitFor(tier, route.getEndpoint()),
+                            routeCostModel.costOf(route)));
+                }
+            }
+            result.put(tier, limits);
+        }
+        return result;
+    }
+
+    /**
+     * Publish the current top keys, then age the sketch so the next interval
+     * ranks recent traffic
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.heavy-hitter-decay-millis:60000}")
+    public void publishAndDecay() {
+        List<HeavyHitter> top = sketch.top(rateLimitConfig.getHeavyHitterTopK());
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            HeavyHitter hitter = top.get(i);
+            rows.add(MultiGauge.Row.of(Tags.of("rank", String.valueOf(i + 1), "endpoint", endpointTag(hitter)),
+                    hitter.requests()));
+        }
+        heavyHitterGauge.register(rows, true);
+        sketch.decay();
+    }
+
+    /**
+     * The classified route; unmatched paths carry the raw URI, which would
+     * make every probed path its own tag value
+     */
+    private String endpointTag(HeavyHitter hitter) {
+        return routeClassifier.routeIdOf(hitter.endpoint()) != RouteDescriptor.UNKNOWN_ROUTE_ID
+                ? hitter.endpoint()
+                : "unknown";
+    }
+
+    private static ConfiguredLimit toView(BucketLimit limit, long cost) {
+        return new ConfiguredLimit(limit.capacity(), limit.refillTokens(), limit.refillPeriod().toSeconds(), cost);
+    }
+
+    /**
+     * Burst capacity, refillTokens per refillPeriodSeconds, and tokens charged
+     * per request
+     */
+    public record ConfiguredLimit(long capacity, long refillTokens, long refillPeriodSeconds, long cost) {
+    }
+}
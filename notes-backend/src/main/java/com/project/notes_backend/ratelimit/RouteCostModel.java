@@ -0,0 +1,112 @@
+package com.project.notes_backend.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.RateLimitingConfig.RateLimitTier;
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.filter.RouteDescriptor;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Tokens charged per request, by route. Static costs come from
+ * app.rate-limit.endpoint-costs; with dynamic costs enabled a route costs the
+ * larger of its static cost and one token per cost unit of its recent average
+ * handler latency (up to max-dynamic-cost), so a search that turns into a
+ * slow scan starts costing what it actually costs. The two are not summed.
+ *
+ * Costs are capped at the smallest burst capacity any tier has on the route,
+ * otherwise a request could never be admitted.
+ */
+@Component
+public class RouteCostModel {
+
+    // EWMA weight of a new latency sample, as a right shift (1/16)
+    private static final int EWMA_SHIFT = 4;
+
+    @Autowired
+    private RateLimitingConfig rateLimitConfig;
+
+    @Autowired
+    private RouteClassifier routeClassifier;
+
+    // Indexed by route id; the last slot is shared by unknown routes
+    private long[] staticCosts;
+    private long[] maxCosts;
+    private AtomicLongArray latencyNanos;
+    private long costUnitNanos;
+
+    public RouteCostModel() {
+    }
+
+    public RouteCostModel(RateLimitingConfig rateLimitConfig, RouteClassifier routeClassifier) {
+        this.rateLimitConfig = rateLimitConfig;
+        this.routeClassifier = routeClassifier;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        int routes = routeClassifier.routeCount();
+        staticCosts = new long[routes + 1];
+        maxCosts = new long[routes + 1];
+        latencyNanos = new AtomicLongArray(routes + 1);
+        costUnitNanos = Math.max(1, rateLimitConfig.getCostUnitMillis()) * 1_000_000L;
+
+        fill(routes, null);
+        for (RouteDescriptor route : routeClassifier.getDescriptors()) {
+            fill(route.getRouteId(), route.getEndpoint());
+        }
+    }
+
+    /**
+     * Tokens to consume for one request on the route
+     */
+    public long costOf(RouteDescriptor route) {
+        int index = indexOf(route);
+        long cost = staticCosts[index];
+        if (rateLimitConfig.isDynamicCosts()) {
+            long measured = latencyNanos.get(index) / costUnitNanos;
+            cost = Math.max(cost, Math.min(measured, rateLimitConfig.getMaxDynamicCost()));
+        }
+        return Math.min(cost, maxCosts[index]);
+    }
+
+    /**
+     * Feed back the handler latency of a completed request
+     */
+    public void recordLatency(RouteDescriptor route, long nanos) {
+        int index = indexOf(route);
+        // Racy read-modify-write: a lost sample only slows the average down
+        long current = latencyNanos.get(index);
+        latencyNanos.lazySet(index, current == 0 ? nanos : current + ((nanos - current) >> EWMA_SHIFT));
+    }
+
+    /**
+     * Smoothed handler latency for the endpoint, in nanoseconds
+     */
+    public long averageLatencyNanos(RouteDescriptor route) {
+        return latencyNanos.get(indexOf(route));
+    }
+
+    private int indexOf(RouteDescriptor route) {
+        return route.isKnownRoute() ? route.getRouteId() : staticCosts.length - 1;
+    }
+
+    private void fill(int index, String endpoint) {
+        Map<String, Long> configured = rateLimitConfig.getEndpointCosts();
+        Long cost = endpoint != null ? configured.get(endpoint) : null;
+        staticCosts[index] = cost != null ? Math.max(1, cost) : 1;
+
+        long cap = Long.MAX_VALUE;
+        for (RateLimitTier tier : RateLimitTier.values()) {
+            cap = Math.min(cap, rateLimitConfig.limitFor(tier, endpoint).capacity());
+        }
+        maxCosts[index] = Math.max(1, cap);
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.notes_backend.repository;
+
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.project.notes_backend.config.IdSequenceConfig;
+import com.project.notes_backend.model.PooledSequences;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves existing databases from IDENTITY columns to the pooled sequences.
+ * Runs before the EntityManagerFactory (see IdSequenceConfig) on Postgres and
+ * H2 alike, and is idempotent:
+ *
+ * - the sequence is created with INCREMENT BY the allocation size if missing
+ * - if the next block could overlap ids already in the table, the sequence
+ *   restarts above MAX(id), so the pooled optimizer's first block starts past it
+ *
+ * The old IDENTITY defaults stay on the columns; nothing relies on them once
+ * every insert supplies an id. Each startup spends one block per sequence.
+ */
+@Component("idSequenceMigrator")
+@Slf4j
+public class IdSequenceMigrator {
+
+    private static final String[][] SEQUENCES = {
+        {PooledSequences.NOTES, "notes", "id"},
+        {PooledSequences.USERS, "users", "user_id"},
+        {PooledSequences.USER_ACTIVITIES, "user_activities", "id"},
+        {PooledSequences.AUDIT_LOG, "audit_log", "id"},
+    };
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private IdSequenceConfig idSequenceConfig;
+
+    @PostConstruct
+    public void migrate() {
+        if (!idSequenceConfig.isMigrateOnStartup()) {
+            return;
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        String nextValueSql = nextValueSql(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        for (String[] sequence : SEQUENCES) {
+            migrate(jdbcTemplate, nextValueSql, sequence[0], sequence[1], sequence[2]);
+        }
+    }
+
+    private void migrate(JdbcTemplate jdbcTemplate, String nextValueSql, String sequence, String table,
+            String idColumn) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                + " START WITH 1 INCREMENT BY " + PooledSequences.ALLOCATION_SIZE);
+
+        long maxId = maxId(jdbcTemplate, table, idColumn);
+        if (maxId == 0) {
+            return;
+        }
+        long hi = jdbcTemplate.queryForObject(String.format(nextValueSql, sequence), Long.class);
+        // The pooled optimizer hands out hi - ALLOCATION_SIZE + 1 .. hi for each value it reads
+        if (hi - PooledSequences.ALLOCATION_SIZE + 1 <= maxId) {
+            long restart = maxId + PooledSequences.ALLOCATION_SIZE + 1;
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restart);
+            log.info("Restarted sequence {} at {} above existing {}.{} values", sequence, restart, table, idColumn);
+        }
+    }
+
+    private static long maxId(JdbcTemplate jdbcTemplate, String table, String idColumn) {
+        try {
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table,
+                    Long.class);
+            return max != null ? max : 0;
+        } catch (DataAccessException e) {
+            // Fresh database: Hibernate creates the table after this runs
+            return 0;
+        }
+    }
+
+    static String nextValueSql(String databaseProductName) {
+        String product = databaseProductName != null ? databaseProductName.toLowerCase(Locale.ROOT) : "";
+        if (product.contains("postgres")) {
+            return "SELECT nextval('%s')";
+        }
+        if (product.contains("h2")) {
+            return "SELECT NEXT VALUE FOR %s";
+        }
+        throw new IllegalStateException("Unsupported database for id sequences: " + databaseProductName);
+    }
+}
@@ -1,37 +1,55 @@
 package com.project.notes_backend.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.project.notes_backend.model.Note;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface NoteRepository extends JpaRepository<Note, Long> {
 
+    // Owner filter on the foreign key, which leads every notes index (see Note).
+    // The username lookup is a scalar subquery evaluated once per statement, so
+    // callers keep passing usernames; owner_username is only kept in sync.
+    String OWNED_BY = "n.owner.userId = (SELECT u.userId FROM User u WHERE u.userName = :username)";
+    String OWNED_BY_SQL = "owner_id = (SELECT user_id FROM users WHERE username = :username)";
+
     // Basic queries with pagination
-    Page<Note> findByOwnerUsernameOrderByCreatedAtDesc(String ownerUsername, Pageable pageable);
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY + " ORDER BY n.createdAt DESC")
+    Page<Note> findByOwnerUsernameOrderByCreatedAtDesc(@Param("username") String username, Pageable pageable);
 
-    Page<Note> findByOwnerUsername(String ownerUsername, Pageable pageable);
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY)
+    Page<Note> findByOwnerUsername(@Param("username") String username, Pageable pageable);
 
-    List<Note> findByOwnerUsername(String ownerUsername);
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY)
+    List<Note> findByOwnerUsername(@Param("username") String username);
 
     // Category filtering
-    Page<Note> findByOwnerUsernameAndCategory(String ownerUsername, String category, Pageable pageable);
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY + " AND n.category = :category")
+    Page<Note> findByOwnerUsernameAndCategory(@Param("username") String username,
+            @Param("category") String category, Pageable pageable);
 
     // Shared notes
-    Page<Note> findByOwnerUsernameAndIsSharedTrue(String ownerUsername, Pageable pageable);
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY + " AND n.isShared = true")
+    Page<Note> findByOwnerUsernameAndIsSharedTrue(@Param("username") String username, Pageable pageable);
 
     // Search queries
-    @Query("SELECT n FROM Note n WHERE n.ownerUsername = :username AND "
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY + " AND "
             + "(LOWER(n.content) LIKE LOWER(CONCAT('%', :search, '%')) OR "
             + "LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%')) OR "
             + "LOWER(n.description) LIKE LOWER(CONCAT('%', :search, '%')))")
@@ -40,7 +58,7 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
             Pageable pageable);
 
     // Category + Search combination
-    @Query("SELECT n FROM Note n WHERE n.ownerUsername = :username AND "
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY + " AND "
             + "(:category IS NULL OR n.category = :category) AND "
             + "(LOWER(n.content) LIKE LOWER(CONCAT('%', :search, '%')) OR "
             + "LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%')) OR "
@@ -51,7 +69,7 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
             Pageable pageable);
 
     // Full-text search (more comprehensive)
-    @Query("SELECT n FROM Note n WHERE n.ownerUsername = :username AND "
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY + " AND "
             + "(LOWER(n.content) LIKE LOWER(CONCAT('%', :query, '%')) OR "
             + "LOWER(n.title) LIKE LOWER(CONCAT('%', :query, '%')) OR "
             + "LOWER(n.description) LIKE LOWER(CONCAT('%', :query, '%'))) "
@@ -60,37 +78,47 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
             @Param("query") String query,
             Pageable pageable);
 
+    // Export: forward-only cursor read in fetch-size chunks; read-only entities
+    // keep no dirty-checking snapshot. Must be consumed inside a transaction.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY + " ORDER BY n.id")
+    Stream<Note> streamByOwnerUsername(@Param("username") String username);
+
     // Statistics queries
-    long countByOwnerUsername(String ownerUsername);
+    @Query("SELECT COUNT(n) FROM Note n WHERE " + OWNED_BY)
+    long countByOwnerUsername(@Param("username") String username);
 
-    @Query("SELECT COUNT(n) FROM Note n WHERE n.ownerUsername = :username AND n.createdAt > :afterDate")
+    @Query("SELECT COUNT(n) FROM Note n WHERE " + OWNED_BY + " AND n.createdAt > :afterDate")
     long countByOwnerUsernameAndCreatedAtAfter(@Param("username") String username,
             @Param("afterDate") LocalDateTime afterDate);
 
-    @Query("SELECT AVG(LENGTH(n.content)) FROM Note n WHERE n.ownerUsername = :username")
+    @Query("SELECT AVG(LENGTH(n.content)) FROM Note n WHERE " + OWNED_BY)
     Double getAverageContentLengthByOwnerUsername(@Param("username") String username);
 
-    @Query("SELECT SUM(LENGTH(n.content)) FROM Note n WHERE n.ownerUsername = :username")
+    @Query("SELECT SUM(LENGTH(n.content)) FROM Note n WHERE " + OWNED_BY)
     Long getTotalCharactersByOwnerUsername(@Param("username") String username);
 
-    @Query("SELECT MAX(n.updatedAt) FROM Note n WHERE n.ownerUsername = :username")
+    @Query("SELECT MAX(n.updatedAt) FROM Note n WHERE " + OWNED_BY)
     LocalDateTime getLastActivityByOwnerUsername(@Param("username") String username);
 
     // Performance queries for analytics
     @Query("SELECT DATE(n.createdAt) as date, COUNT(n) as count FROM Note n "
-            + "WHERE n.ownerUsername = :username AND n.createdAt >= :fromDate "
+            + "WHERE " + OWNED_BY + " AND n.createdAt >= :fromDate "
             + "GROUP BY DATE(n.createdAt) ORDER BY date DESC")
     List<Object[]> getNoteCreationTrendByOwnerUsername(@Param("username") String username,
             @Param("fromDate") LocalDateTime fromDate);
 
     // Find recently updated notes
-    @Query("SELECT n FROM Note n WHERE n.ownerUsername = :username "
-            + "ORDER BY n.updatedAt DESC")
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY + " ORDER BY n.updatedAt DESC")
     List<Note> findRecentlyUpdatedByOwnerUsername(@Param("username") String username,
             Pageable pageable);
 
     // Find notes by date range
-    @Query("SELECT n FROM Note n WHERE n.ownerUsername = :username AND "
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY + " AND "
             + "n.createdAt BETWEEN :startDate AND :endDate "
             + "ORDER BY n.createdAt DESC")
     Page<Note> findByOwnerUsernameAndDateRange(@Param("username") String username,
@@ -99,14 +127,107 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
             Pageable pageable);
 
     // Check if user has any notes
-    boolean existsByOwnerUsername(String ownerUsername);
+    @Query("SELECT CASE WHEN COUNT(n) > 0 THEN true ELSE false END FROM Note n WHERE " + OWNED_BY)
+    boolean existsByOwnerUsername(@Param("username") String username);
 
     // Favorites queries
-    Page<Note> findByOwnerUsernameAndIsFavoriteTrue(String ownerUsername, Pageable pageable);
+    @Query("SELECT n FROM Note n WHERE " + OWNED_BY + " AND n.isFavorite = true")
+    Page<Note> findByOwnerUsernameAndIsFavoriteTrue(@Param("username") String username, Pageable pageable);
 
     // Public notes queries
     Page<Note> findByIsPublicTrue(Pageable pageable);
 
+    // Batch operations: one ownership check, then set-based statements scoped
+    // to the owner. Bulk JPQL bypasses @UpdateTimestamp, hence the explicit now.
+    @Query("SELECT n.id, n.isPublic FROM Note n WHERE n.id IN :ids AND " + OWNED_BY)
+    List<Object[]> findOwnedIdsAndPublicFlags(@Param("ids") Collection<Long> ids, @Param("username") String username);
+
+    // Category is an editable field, so the move bumps the version like a PATCH
+    @Modifying
+    @Query("UPDATE Note n SET n.category = :category, n.updatedAt = :now, n.version = n.version + 1 "
+            + "WHERE n.id IN :ids AND " + OWNED_BY)
+    int updateCategoryForOwner(@Param("ids") Collection<Long> ids, @Param("username") String username,
+            @Param("category") String category, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Note n SET n.isFavorite = :favorite, n.updatedAt = :now "
+            + "WHERE n.id IN :ids AND " + OWNED_BY)
+    int updateFavoriteForOwner(@Param("ids") Collection<Long> ids, @Param("username") String username,
+            @Param("favorite") boolean favorite, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Note n SET n.isPublic = :isPublic, n.updatedAt = :now "
+            + "WHERE n.id IN :ids AND " + OWNED_BY)
+    int updatePublicForOwner(@Param("ids") Collection<Long> ids, @Param("username") String username,
+            @Param("isPublic") boolean isPublic, @Param("now") LocalDateTime now);
+
+    // Deleting moves notes to the trash; the version bump makes pending edits stale
+    @Modifying
+    @Query("UPDATE Note n SET n.deletedAt = :now, n.updatedAt = :now, n.version = n.version + 1 "
+            + "WHERE n.id IN :ids AND " + OWNED_BY + " AND n.deletedAt IS NULL")
+    int trashForOwner(@Param("ids") Collection<Long> ids, @Param("username") String username,
+            @Param("now") LocalDateTime now);
+
+    // Flag writes: one conditional UPDATE scoped to the owner, so concurrent
+    // toggles serialize on the row lock instead of overwriting each other.
+    // The *IfChanged variants match no row when the flag already has the value.
+    @Modifying
+    @Query("UPDATE Note n SET n.isFavorite = CASE WHEN n.isFavorite = true THEN false ELSE true END, "
+            + "n.updatedAt = :now WHERE n.id = :id AND " + OWNED_BY)
+    int toggleFavoriteForOwner(@Param("id") Long id, @Param("username") String username,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Note n SET n.isFavorite = :value, n.updatedAt = :now "
+            + "WHERE n.id = :id AND " + OWNED_BY + " AND n.isFavorite <> :value")
+    int setFavoriteIfChanged(@Param("id") Long id, @Param("username") String username,
+            @Param("value") boolean value, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Note n SET n.isPublic = :value, n.updatedAt = :now "
+            + "WHERE n.id = :id AND " + OWNED_BY + " AND (n.isPublic IS NULL OR n.isPublic <> :value)")
+    int setPublicIfChanged(@Param("id") Long id, @Param("username") String username,
+            @Param("value") boolean value, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Note n SET n.isShared = :value, n.updatedAt = :now "
+            + "WHERE n.id = :id AND " + OWNED_BY + " AND n.isShared <> :value")
+    int setSharedIfChanged(@Param("id") Long id, @Param("username") String username,
+            @Param("value") boolean value, @Param("now") LocalDateTime now);
+
+    // Flag state after a flag write; inside the writing transaction it reads the locked row
+    @Query("SELECT n.isFavorite, n.isPublic, n.isShared, n.title, n.updatedAt FROM Note n "
+            + "WHERE n.id = :id AND " + OWNED_BY)
+    List<Object[]> findFlagStateForOwner(@Param("id") Long id, @Param("username") String username);
+
+    // Starting point of an autosave draft: the editable fields and their version
+    @Query("SELECT n.version, n.title, n.description, n.category, n.content FROM Note n "
+            + "WHERE n.id = :id AND " + OWNED_BY)
+    List<Object[]> findEditableStateForOwner(@Param("id") Long id, @Param("username") String username);
+
+    // Trash (see trashForOwner above). The entity's @SQLRestriction hides trashed
+    // rows from JPQL, hence native SQL; partial indexes in PartialIndexInitializer.
+    @Query(value = "SELECT * FROM notes WHERE " + OWNED_BY_SQL + " AND deleted_at IS NOT NULL "
+            + "ORDER BY deleted_at DESC, id DESC",
+            countQuery = "SELECT COUNT(*) FROM notes WHERE " + OWNED_BY_SQL + " AND deleted_at IS NOT NULL",
+            nativeQuery = true)
+    Page<Note> findTrashByOwnerUsername(@Param("username") String username, Pageable pageable);
+
+    @Modifying
+    @Query(value = "UPDATE notes SET deleted_at = NULL, updated_at = :now, version = version + 1 "
+            + "WHERE id = :id AND " + OWNED_BY_SQL + " AND deleted_at IS NOT NULL", nativeQuery = true)
+    int restoreForOwner(@Param("id") Long id, @Param("username") String username,
+            @Param("now") LocalDateTime now);
+
+    // Purge in chunks, oldest tombstones first; the row locks make a concurrent restore wait
+    @Query(value = "SELECT id FROM notes WHERE deleted_at < :cutoff ORDER BY deleted_at LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<Long> findExpiredTrashIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM notes WHERE id IN (:ids) AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeTrashed(@Param("ids") Collection<Long> ids);
+
     // CRITICAL FIX: Update owner username for all notes when user changes username
     @Modifying
     @Transactional
@@ -0,0 +1,106 @@
+package com.project.notes_backend.repository;
+
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.project.notes_backend.config.NoteIndexConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the partial indexes on notes that JPA cannot declare. Each covers
+ * only the rows its queries read: favorites and public lists skip everything
+ * else, live-note queries never step over tombstones, and the trash and
+ * purger never scan live notes. The composite owner_id indexes are declared
+ * on Note.
+ *
+ * Postgres only (H2 has no partial indexes). Runs once the schema update is
+ * done; CONCURRENTLY keeps writes flowing while a large table is indexed,
+ * IF NOT EXISTS makes later startups a catalog lookup. A concurrent build
+ * that failed part way leaves an INVALID index under the name, which IF NOT
+ * EXISTS would skip forever, so such an index is dropped and rebuilt.
+ */
+@Component
+@Slf4j
+public class PartialIndexInitializer {
+
+    static final String[][] INDEXES = {
+        // GET /api/notes/favorites, newest first
+        {"idx_notes_favorites", "notes (owner_id, updated_at DESC) WHERE is_favorite = true AND deleted_at IS NULL"},
+        // Public feed, newest first
+        {"idx_notes_public_live", "notes (updated_at DESC, id) WHERE is_public = true AND deleted_at IS NULL"},
+        // Trash listing per owner
+        {"idx_notes_trash_owner", "notes (owner_id, deleted_at DESC) WHERE deleted_at IS NOT NULL"},
+        // Purger: oldest tombstones first
+        {"idx_notes_trash_deleted", "notes (deleted_at) WHERE deleted_at IS NOT NULL"},
+    };
+
+    // Superseded by the owner_id composites on Note; schema update never drops indexes
+    static final String[] OBSOLETE = {"idx_notes_owner", "idx_notes_created", "idx_notes_title", "idx_notes_owner_live"};
+
+    // Validity of an index by name, nothing if it does not exist
+    private static final String INDEX_VALIDITY = "SELECT i.indisvalid FROM pg_index i "
+            + "JOIN pg_class c ON c.oid = i.indexrelid "
+            + "WHERE c.relname = ? AND pg_catalog.pg_table_is_visible(c.oid)";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private NoteIndexConfig noteIndexConfig;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (!noteIndexConfig.isCreatePartialOnStartup() && !noteIndexConfig.isDropObsoleteOnStartup()) {
+            return;
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (product == null || !product.toLowerCase(Locale.ROOT).contains("postgres")) {
+            log.debug("Skipping partial indexes on {}", product);
+            return;
+        }
+        if (noteIndexConfig.isCreatePartialOnStartup()) {
+            for (String[] index : INDEXES) {
+                createIndex(jdbcTemplate, index[0], index[1]);
+            }
+        }
+        if (noteIndexConfig.isDropObsoleteOnStartup()) {
+            for (String index : OBSOLETE) {
+                execute(jdbcTemplate, "DROP INDEX CONCURRENTLY IF EXISTS " + index);
+            }
+        }
+    }
+
+    static void createIndex(JdbcTemplate jdbcTemplate, String name, String definition) {
+        try {
+            if (jdbcTemplate.queryForList(INDEX_VALIDITY, Boolean.class, name).contains(Boolean.FALSE)) {
+                log.warn("Index {} is INVALID (interrupted concurrent build), rebuilding it", name);
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to check or drop index {}: {}", name, e.getMessage());
+            return;
+        }
+        execute(jdbcTemplate, "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON " + definition);
+    }
+
+    private static void execute(JdbcTemplate jdbcTemplate, String ddl) {
+        try {
+            jdbcTemplate.execute(ddl);
+        } catch (DataAccessException e) {
+            // Queries still work without it, only slower
+            log.warn("Failed index maintenance '{}': {}", ddl, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.notes_backend.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.notes_backend.model.RateLimitBucketState;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucketState, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM RateLimitBucketState b WHERE b.bucketKey = :bucketKey")
+    Optional<RateLimitBucketState> findForUpdate(@Param("bucketKey") Long bucketKey);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RateLimitBucketState b WHERE b.lastLeasedAt < :cutoff")
+    int deleteIdleSince(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,66 @@
+package com.project.notes_backend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.project.notes_backend.model.PooledSequences;
+
+/**
+ * Reserves ids for rows written with plain JDBC, using the same blocks as
+ * Hibernate's pooled optimizer so both can draw from one sequence without
+ * overlapping: one nextval reserves hi - ALLOCATION_SIZE + 1 .. hi.
+ */
+@Component
+public class SequenceIdAllocator {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile String nextValueSql;
+
+    public IdBlock reserve(String sequence) {
+        Long hi = jdbcTemplate.queryForObject(String.format(nextValueSql(), sequence), Long.class);
+        if (hi == null) {
+            throw new IllegalStateException("Sequence " + sequence + " returned no value");
+        }
+        return new IdBlock(Math.max(1, hi - PooledSequences.ALLOCATION_SIZE + 1), hi);
+    }
+
+    private String nextValueSql() {
+        String sql = nextValueSql;
+        if (sql == null) {
+            sql = IdSequenceMigrator.nextValueSql(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection ->
+                            connection.getMetaData().getDatabaseProductName()));
+            nextValueSql = sql;
+        }
+        return sql;
+    }
+
+    /**
+     * Ids first..last, handed out in order
+     */
+    public static final class IdBlock {
+
+        private long next;
+        private final long last;
+
+        public IdBlock(long first, long last) {
+            this.next = first;
+            this.last = last;
+        }
+
+        public boolean hasNext() {
+            return next <= last;
+        }
+
+        public long next() {
+            if (next > last) {
+                throw new IllegalStateException("Id block exhausted");
+            }
+            return next++;
+        }
+    }
+}
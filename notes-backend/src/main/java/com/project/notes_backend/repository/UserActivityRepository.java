@@ -1,6 +1,7 @@
 package com.project.notes_backend.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +30,11 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, Long
     @Query("DELETE FROM UserActivity ua WHERE ua.timestamp < :before")
     int deleteActivitiesOlderThan(@Param("before") LocalDateTime before);
 
+    // Activity rows pointing at purged notes
+    @Modifying
+    @Query("DELETE FROM UserActivity ua WHERE ua.resourceType = 'note' AND ua.resourceId IN :noteIds")
+    int deleteNoteActivities(@Param("noteIds") Collection<Long> noteIds);
+
     // Count activities by user
     long countByUsername(String username);
 }
@@ -11,8 +11,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.project.notes_backend.model.User;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 @NoArgsConstructor
 @Data
@@ -31,6 +34,12 @@ public class UserDetailsImpl implements UserDetails {
 
     private Collection<? extends GrantedAuthority> authorities;
 
+    // Memoized by isAdmin(); the rate limiter asks on every request
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Boolean admin;
+
     public UserDetailsImpl(Long id, String username, String email, String password,
             boolean is2faEnabled, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
@@ -101,6 +110,29 @@ public class UserDetailsImpl implements UserDetails {
         return is2faEnabled;
     }
 
+    /**
+     * Whether the user holds the ADMIN authority, computed once per principal.
+     */
+    @JsonIgnore
+    public boolean isAdmin() {
+        Boolean cached = admin;
+        if (cached == null) {
+            boolean found = false;
+            if (authorities != null) {
+                for (GrantedAuthority authority : authorities) {
+                    String name = authority.getAuthority();
+                    if ("ADMIN".equals(name) || "ROLE_ADMIN".equals(name)) {
+                        found = true;
+                        break;
+                    }
+                }
+            }
+            cached = found;
+            admin = cached;
+        }
+        return cached;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -12,6 +12,8 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.filter.RouteDescriptor;
 import com.project.notes_backend.security.UserDetailsServiceImpl;
 
 import jakarta.servlet.FilterChain;
@@ -28,6 +30,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private RouteClassifier routeClassifier;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -36,9 +41,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         logger.debug("AuthTokenFilter called for URI: {}", request.getRequestURI());
 
         // Skip JWT processing for public endpoints
-        String requestPath = request.getRequestURI();
-        if (isPublicEndpoint(requestPath)) {
-            logger.debug("Skipping JWT processing for public endpoint: {}", requestPath);
+        RouteDescriptor route = routeClassifier.resolve(request);
+        if (route.isPublicEndpoint()) {
+            logger.debug("Skipping JWT processing for public endpoint: {}", request.getRequestURI());
             filterChain.doFilter(request, response);
             return;
         }
@@ -72,24 +77,4 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         logger.debug("AuthTokenFilter.java: {}", jwt);
         return jwt;
     }
-
-    /**
-     * Check if the requested path is a public endpoint that should skip JWT
-     * processing
-     */
-    private boolean isPublicEndpoint(String requestPath) {
-        return requestPath.startsWith("/auth/public/")
-                || requestPath.startsWith("/api/auth/public/")
-                || requestPath.startsWith("/oauth2/")
-                || requestPath.startsWith("/login")
-                || requestPath.equals("/error")
-                || requestPath.equals("/favicon.ico")
-                || requestPath.startsWith("/actuator/")
-                || requestPath.startsWith("/swagger-ui/")
-                || requestPath.equals("/swagger-ui.html")
-                || requestPath.startsWith("/api-docs")
-                || requestPath.startsWith("/v3/api-docs/")
-                || requestPath.startsWith("/swagger-resources/")
-                || requestPath.startsWith("/webjars/");
-    }
 }
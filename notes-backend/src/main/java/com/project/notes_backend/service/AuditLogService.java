@@ -1,9 +1,11 @@
 package com.project.notes_backend.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.project.notes_backend.model.AuditLog;
 import com.project.notes_backend.model.Note;
+import com.project.notes_backend.model.NoteFlag;
 
 public interface AuditLogService {
 
@@ -13,6 +15,14 @@ public interface AuditLogService {
 
     void logNoteDeletion(String username, Long noteId);
 
+    void logNoteImport(String username, int count);
+
+    void logNoteCreations(String username, List<Note> notes);
+
+    void logNoteChanges(String username, String action, Collection<Long> noteIds, String detail);
+
+    void logNoteFlagChange(String username, Long noteId, NoteFlag flag, boolean value);
+
     List<AuditLog> getAllAuditLogs();
 
     List<AuditLog> getAuditLogsForNoteId(Long id);
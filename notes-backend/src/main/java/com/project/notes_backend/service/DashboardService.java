@@ -0,0 +1,8 @@
+package com.project.notes_backend.service;
+
+import com.project.notes_backend.dto.DashboardResponseDTO;
+
+public interface DashboardService {
+
+    DashboardResponseDTO getDashboard(String username);
+}
@@ -0,0 +1,13 @@
+package com.project.notes_backend.service;
+
+import com.project.notes_backend.dto.NoteBatchRequestDTO;
+import com.project.notes_backend.dto.NoteBatchResultDTO;
+
+public interface NoteBatchService {
+
+    /**
+     * Apply all operations atomically; fails without changes if any targeted
+     * note does not belong to the user
+     */
+    NoteBatchResultDTO applyBatch(String username, NoteBatchRequestDTO request);
+}
@@ -0,0 +1,20 @@
+package com.project.notes_backend.service;
+
+import com.project.notes_backend.dto.DraftSaveResultDTO;
+import com.project.notes_backend.dto.NoteDraftDTO;
+import com.project.notes_backend.dto.NotePatchRequestDTO;
+import com.project.notes_backend.dto.NoteResponseDTO;
+
+public interface NoteDraftService {
+
+    DraftSaveResultDTO saveDraft(Long noteId, NotePatchRequestDTO draft, String username);
+
+    /**
+     * @return the buffered draft, or null when none is held for the note
+     */
+    NoteDraftDTO getDraft(Long noteId, String username);
+
+    NoteResponseDTO commitDraft(Long noteId, String username);
+
+    void discardDraft(Long noteId, String username);
+}
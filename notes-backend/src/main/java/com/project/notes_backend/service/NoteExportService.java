@@ -0,0 +1,22 @@
+package com.project.notes_backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface NoteExportService {
+
+    /**
+     * Write every note of the user as one JSON object per line
+     *
+     * @return number of notes written
+     */
+    long exportNdjson(String username, OutputStream out) throws IOException;
+
+    /**
+     * Write every note of the user as a ZIP with one markdown file per note.
+     * The stream is finished but not closed.
+     *
+     * @return number of notes written
+     */
+    long exportZip(String username, OutputStream out) throws IOException;
+}
@@ -0,0 +1,21 @@
+package com.project.notes_backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.project.notes_backend.dto.NoteImportResultDTO;
+
+public interface NoteImportService {
+
+    /**
+     * Import one JSON note per line, in the format written by the NDJSON export
+     */
+    NoteImportResultDTO importNdjson(String username, InputStream in) throws IOException;
+
+    /**
+     * Import a ZIP of markdown files, in the format written by the ZIP export;
+     * files without front matter take their title from a leading heading or
+     * the file name
+     */
+    NoteImportResultDTO importZip(String username, InputStream in) throws IOException;
+}
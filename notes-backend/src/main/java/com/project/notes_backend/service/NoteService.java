@@ -5,8 +5,11 @@ import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.project.notes_backend.dto.NoteFlagResponseDTO;
+import com.project.notes_backend.dto.NotePatchRequestDTO;
 import com.project.notes_backend.dto.NoteRequestDTO;
 import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.model.NoteFlag;
 
 public interface NoteService {
 
@@ -14,8 +17,17 @@ public interface NoteService {
 
     NoteResponseDTO updateNoteForUser(Long noteId, NoteRequestDTO noteRequest, String username);
 
+    NoteResponseDTO patchNoteForUser(Long noteId, NotePatchRequestDTO patch, String username);
+
+    /**
+     * Moves the note to the trash; it can be restored until NoteTrashPurger deletes it
+     */
     void deleteNoteForUser(Long noteId, String username);
 
+    Page<NoteResponseDTO> getTrashedNotes(String username, Pageable pageable);
+
+    NoteResponseDTO restoreNoteForUser(Long noteId, String username);
+
     Page<NoteResponseDTO> getNotesForUser(String username, String search, String category, boolean shared, String sortBy, String sortOrder, Pageable pageable);
 
     NoteResponseDTO getNoteByIdForUser(Long noteId, String username);
@@ -24,7 +36,9 @@ public interface NoteService {
 
     Map<String, Object> getUserNotesStats(String username);
 
-    NoteResponseDTO toggleFavorite(Long noteId, String username);
+    NoteFlagResponseDTO toggleFavorite(Long noteId, String username);
+
+    NoteFlagResponseDTO setFlag(Long noteId, String username, NoteFlag flag, boolean value);
 
     Page<NoteResponseDTO> getFavoriteNotes(String username, Pageable pageable);
 
@@ -0,0 +1,98 @@
+package com.project.notes_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.notes_backend.config.TrashConfig;
+import com.project.notes_backend.repository.NoteRepository;
+import com.project.notes_backend.repository.UserActivityRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes trashed notes once they are past the retention period, off the
+ * request path. Each chunk (oldest tombstones first) is its own short
+ * transaction that removes the notes' activity rows and then the notes.
+ * Audit log rows are kept; they are the record that the note existed.
+ */
+@Service
+@Slf4j
+public class NoteTrashPurger {
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private UserActivityRepository userActivityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TrashConfig trashConfig;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Counter purged;
+
+    @PostConstruct
+    public void init() {
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        purged = Counter.builder("notes.trash.purged")
+                .description("Trashed notes deleted after the retention period")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.trash.purge-interval-millis:3600000}")
+    public void purgeExpired() {
+        if (!trashConfig.isPurgeEnabled()) {
+            return;
+        }
+        try {
+            int total = purgeDeletedBefore(LocalDateTime.now().minusDays(trashConfig.getRetentionDays()));
+            if (total > 0) {
+                log.info("Purged {} notes trashed more than {} days ago", total, trashConfig.getRetentionDays());
+            }
+        } catch (Exception e) {
+            log.error("Error while purging trashed notes", e);
+        }
+    }
+
+    /**
+     * @return number of notes deleted
+     */
+    public int purgeDeletedBefore(LocalDateTime cutoff) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int chunkSize = trashConfig.getPurgeChunkSize();
+        int total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> purgeChunk(cutoff, chunkSize));
+            int count = deleted != null ? deleted : 0;
+            total += count;
+            purged.increment(count);
+            if (count < chunkSize) {
+                return total;
+            }
+        }
+    }
+
+    private int purgeChunk(LocalDateTime cutoff, int chunkSize) {
+        List<Long> ids = noteRepository.findExpiredTrashIds(cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        userActivityRepository.deleteNoteActivities(ids);
+        return noteRepository.purgeTrashed(ids);
+    }
+}
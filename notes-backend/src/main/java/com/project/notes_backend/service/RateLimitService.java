@@ -17,6 +17,15 @@ public interface RateLimitService {
      */
     boolean allowRequest(HttpServletRequest request, Authentication authentication);
 
+    /**
+     * Time until a rejected request would be admitted again
+     *
+     * @param request HTTP request
+     * @param authentication User authentication info
+     * @return Nanoseconds to wait, or -1 if the backend cannot tell
+     */
+    long getNanosUntilAllowed(HttpServletRequest request, Authentication authentication);
+
     /**
      * Get remaining requests for a given key
      *
@@ -1,6 +1,8 @@
 package com.project.notes_backend.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import com.project.notes_backend.model.AuditLog;
 import com.project.notes_backend.model.Note;
+import com.project.notes_backend.model.NoteFlag;
 import com.project.notes_backend.repository.AuditLogRepository;
 import com.project.notes_backend.service.AuditLogService;
 
@@ -49,6 +52,70 @@ public class AuditLogServiceImpl implements AuditLogService {
         auditLogRepository.save(log);
     }
 
+    /**
+     * One row per import batch rather than per note
+     */
+    @Override
+    public void logNoteImport(String username, int count) {
+        AuditLog log = new AuditLog();
+        log.setAction("IMPORT");
+        log.setUsername(username);
+        log.setNoteContent("Imported " + count + " notes");
+        log.setTimestamp(LocalDateTime.now());
+        auditLogRepository.save(log);
+    }
+
+    /**
+     * Batch counterpart of logNoteCreation, saved in one saveAll
+     */
+    @Override
+    public void logNoteCreations(String username, List<Note> notes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditLog> logs = new ArrayList<>(notes.size());
+        for (Note note : notes) {
+            AuditLog log = new AuditLog();
+            log.setAction("CREATE");
+            log.setUsername(username);
+            log.setNoteId(note.getId());
+            log.setNoteContent(note.getContent());
+            log.setTimestamp(now);
+            logs.add(log);
+        }
+        auditLogRepository.saveAll(logs);
+    }
+
+    /**
+     * One row per note for a set-based change; detail describes the change
+     * instead of repeating each note's content
+     */
+    @Override
+    public void logNoteChanges(String username, String action, Collection<Long> noteIds, String detail) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditLog> logs = new ArrayList<>(noteIds.size());
+        for (Long noteId : noteIds) {
+            AuditLog log = new AuditLog();
+            log.setAction(action);
+            log.setUsername(username);
+            log.setNoteId(noteId);
+            log.setNoteContent(detail);
+            log.setTimestamp(now);
+            logs.add(log);
+        }
+        auditLogRepository.saveAll(logs);
+    }
+
+    @Override
+    public void logNoteFlagChange(String username, Long noteId, NoteFlag flag, boolean value) {
+        // The delta only; the content did not change
+        AuditLog log = new AuditLog();
+        log.setAction("UPDATE");
+        log.setUsername(username);
+        log.setNoteId(noteId);
+        log.setNoteContent(flag.label() + ": " + !value + " -> " + value);
+        log.setTimestamp(LocalDateTime.now());
+        auditLogRepository.save(log);
+    }
+
     @Override
     public List<AuditLog> getAllAuditLogs() {
         return auditLogRepository.findAll();
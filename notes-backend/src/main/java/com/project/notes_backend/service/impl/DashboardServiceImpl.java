@@ -0,0 +1,93 @@
+package com.project.notes_backend.service.impl;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.project.notes_backend.concurrent.DeadlineScope;
+import com.project.notes_backend.concurrent.DeadlineScope.Subtask;
+import com.project.notes_backend.config.DashboardConfig;
+import com.project.notes_backend.dto.DashboardResponseDTO;
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.model.UserActivity;
+import com.project.notes_backend.service.DashboardService;
+import com.project.notes_backend.service.NoteService;
+import com.project.notes_backend.service.UserActivityService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the four dashboard sections concurrently, one virtual thread each.
+ * Every section goes through the regular service method (and its cache), gets
+ * its own transaction and has its own deadline; a slow or failing section is
+ * reported as unavailable and never holds back the others.
+ */
+@Service
+@Slf4j
+public class DashboardServiceImpl implements DashboardService {
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private UserActivityService userActivityService;
+
+    @Autowired
+    private DashboardConfig dashboardConfig;
+
+    @Override
+    public DashboardResponseDTO getDashboard(String username) {
+        try (DeadlineScope scope = new DeadlineScope("dashboard-", dashboardConfig.getCancelGraceMillis())) {
+            Subtask<Map<String, Object>> stats = scope.fork("stats",
+                    () -> noteService.getUserNotesStats(username),
+                    dashboardConfig.getStatsDeadlineMillis());
+            Subtask<Page<UserActivity>> recentActivities = scope.fork("recentActivities",
+                    () -> userActivityService.getRecentActivities(username, dashboardConfig.getRecentActivityDays(),
+                            PageRequest.of(0, dashboardConfig.getRecentActivityLimit(),
+                                    Sort.by(Sort.Direction.DESC, "timestamp"))),
+                    dashboardConfig.getRecentActivitiesDeadlineMillis());
+            Subtask<Page<NoteResponseDTO>> favorites = scope.fork("favorites",
+                    () -> noteService.getFavoriteNotes(username,
+                            PageRequest.of(0, dashboardConfig.getFavoritesLimit(),
+                                    Sort.by(Sort.Direction.DESC, "updatedAt"))),
+                    dashboardConfig.getFavoritesDeadlineMillis());
+            Subtask<Page<NoteResponseDTO>> notes = scope.fork("notes",
+                    () -> noteService.getNotesForUser(username, null, null, false, "updatedAt", "desc",
+                            PageRequest.of(0, dashboardConfig.getNotesLimit())),
+                    dashboardConfig.getNotesDeadlineMillis());
+
+            scope.join();
+
+            DashboardResponseDTO dashboard = new DashboardResponseDTO();
+            dashboard.setStats(section(stats, dashboard, username));
+            dashboard.setRecentActivities(section(recentActivities, dashboard, username));
+            dashboard.setFavorites(section(favorites, dashboard, username));
+            dashboard.setNotes(section(notes, dashboard, username));
+            dashboard.setPartial(!dashboard.getUnavailableSections().isEmpty());
+            return dashboard;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Dashboard request interrupted", e);
+        }
+    }
+
+    private static <T> T section(Subtask<T> subtask, DashboardResponseDTO dashboard, String username) {
+        switch (subtask.getState()) {
+            case SUCCESS:
+                return subtask.get();
+            case TIMED_OUT:
+                log.warn("Dashboard section '{}' missed its deadline for user: {}", subtask.getName(), username);
+                break;
+            default:
+                log.warn("Dashboard section '{}' failed for user: {}", subtask.getName(), username,
+                        subtask.getException());
+                break;
+        }
+        dashboard.getUnavailableSections().add(subtask.getName());
+        return null;
+    }
+}
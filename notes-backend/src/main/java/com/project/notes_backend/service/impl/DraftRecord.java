@@ -0,0 +1,34 @@
+package com.project.notes_backend.service.impl;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One line of the draft write-ahead file.
+ *
+ * SAVE carries the whole draft (current field values and which of them are
+ * not yet in the database), so recovery only needs the last SAVE per note.
+ * FLUSHED says everything up to seq is stored at version; DISCARD drops the
+ * draft.
+ */
+record DraftRecord(Type type, Long noteId, String username, long seq, long clientBaseVersion, long version,
+        Map<String, String> fields, List<String> dirty) {
+
+    enum Type {
+        SAVE,
+        FLUSHED,
+        DISCARD
+    }
+
+    static DraftRecord flushed(Long noteId, long seq, long version) {
+        return new DraftRecord(Type.FLUSHED, noteId, null, seq, 0, version, null, null);
+    }
+
+    static DraftRecord discard(Long noteId) {
+        return new DraftRecord(Type.DISCARD, noteId, null, 0, 0, 0, null, null);
+    }
+
+    DraftRecord withVersion(long newVersion) {
+        return new DraftRecord(type, noteId, username, seq, clientBaseVersion, newVersion, fields, dirty);
+    }
+}
@@ -0,0 +1,170 @@
+package com.project.notes_backend.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only JSON-lines file behind the draft buffer. It tracks which
+ * drafts are still unwritten itself, so compaction can rewrite the file
+ * without coordinating with the buffer: the rewrite and every append run
+ * under this object's lock.
+ */
+@Slf4j
+class DraftWriteAheadLog implements AutoCloseable {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+
+    // Last SAVE per note that is not yet covered by a FLUSHED or DISCARD
+    private final Map<Long, DraftRecord> live = new LinkedHashMap<>();
+    private FileChannel channel;
+    private long size;
+
+    DraftWriteAheadLog(Path path, ObjectMapper objectMapper, boolean fsync) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Replays the file and opens it for appending.
+     *
+     * @return the drafts that were never written to the database
+     */
+    synchronized List<DraftRecord> open() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        track(objectMapper.readValue(line, DraftRecord.class));
+                    } catch (JsonProcessingException e) {
+                        // A crash mid-append leaves a torn last line; that save was never acknowledged
+                        log.warn("Skipping unreadable line {} of draft log {}", lineNumber, path);
+                    }
+                }
+            }
+        }
+        rewrite();
+        return new ArrayList<>(live.values());
+    }
+
+    synchronized void append(DraftRecord record) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            size += line.length;
+            track(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write draft log " + path, e);
+        }
+    }
+
+    /**
+     * Rewrites the file with only the unwritten drafts once it is larger than maxBytes
+     */
+    synchronized void compactIfLarger(long maxBytes) {
+        if (size <= maxBytes) {
+            return;
+        }
+        try {
+            rewrite();
+        } catch (IOException e) {
+            log.warn("Failed to compact draft log {}: {}", path, e.getMessage());
+        }
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void track(DraftRecord record) {
+        switch (record.type()) {
+            case SAVE -> live.put(record.noteId(), record);
+            case FLUSHED -> {
+                DraftRecord save = live.get(record.noteId());
+                if (save != null) {
+                    if (save.seq() <= record.seq()) {
+                        live.remove(record.noteId());
+                    } else {
+                        // Saves made while the write ran; they now apply on top of the new version
+                        live.put(record.noteId(), save.withVersion(record.version()));
+                    }
+                }
+            }
+            case DISCARD -> live.remove(record.noteId());
+        }
+    }
+
+    /**
+     * Writes the live records to a temporary file and moves it over the log,
+     * so a crash leaves either the old or the new file
+     */
+    private void rewrite() throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        long written = 0;
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (DraftRecord record : live.values()) {
+                ByteBuffer buffer = ByteBuffer.wrap(
+                        (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8));
+                written += buffer.remaining();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            out.force(true);
+        }
+        if (channel != null) {
+            channel.close();
+        }
+        try {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            // Keep appending to whichever file is in place
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        size = written;
+    }
+}
@@ -0,0 +1,279 @@
+package com.project.notes_backend.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.notes_backend.cache.NotesTrashedEvent;
+import com.project.notes_backend.cache.UserNoteCacheInvalidator;
+import com.project.notes_backend.dto.NoteBatchRequestDTO;
+import com.project.notes_backend.dto.NoteBatchRequestDTO.Operation;
+import com.project.notes_backend.dto.NoteBatchResultDTO;
+import com.project.notes_backend.dto.NoteRequestDTO;
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.exception.UnauthorizedAccessException;
+import com.project.notes_backend.model.Note;
+import com.project.notes_backend.model.User;
+import com.project.notes_backend.model.UserActivity;
+import com.project.notes_backend.repository.NoteRepository;
+import com.project.notes_backend.repository.UserRepository;
+import com.project.notes_backend.service.AuditLogService;
+import com.project.notes_backend.service.NoteBatchService;
+import com.project.notes_backend.service.UserActivityService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies bulk UI actions (delete a selection, move notes to a category,
+ * star several notes) with a fixed number of statements per operation instead
+ * of a load, ownership check, save, audit row and activity row per note:
+ *
+ * - one ownership query for every id in the batch
+ * - one set-based UPDATE per changed field or delete operation (deletes go to the trash)
+ * - audit rows saved together, one activity row per operation
+ * - caches evicted once, after commit
+ */
+@Service
+@Slf4j
+public class NoteBatchServiceImpl implements NoteBatchService {
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private UserActivityService userActivityService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private UserNoteCacheInvalidator cacheInvalidator;
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public NoteBatchResultDTO applyBatch(String username, NoteBatchRequestDTO request) {
+        for (Operation operation : request.getOperations()) {
+            validate(operation);
+        }
+
+        BatchState state = new BatchState();
+        NoteBatchResultDTO result = new TransactionTemplate(transactionManager)
+                .execute(status -> apply(username, request.getOperations(), state));
+
+        // Evicting inside the transaction would let a concurrent read re-cache old rows
+        if (cacheInvalidator != null) {
+            cacheInvalidator.invalidate(username, state.publicTouched);
+        }
+        log.info("Applied {} batch operations for user: {} ({} created, {} updated, {} deleted)",
+                request.getOperations().size(), username, result.getCreated().size(), result.getUpdated(),
+                result.getDeleted());
+        return result;
+    }
+
+    private NoteBatchResultDTO apply(String username, List<Operation> operations, BatchState state) {
+        Map<Long, Boolean> owned = verifyOwnership(username, operations);
+        LocalDateTime now = LocalDateTime.now();
+        NoteBatchResultDTO result = new NoteBatchResultDTO();
+        User user = null;
+
+        for (Operation operation : operations) {
+            switch (operation.getType()) {
+                case CREATE:
+                    if (user == null) {
+                        user = userRepository.findByUserName(username)
+                                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+                    }
+                    result.getCreated().addAll(create(user, operation.getNotes(), state));
+                    break;
+                case UPDATE:
+                    result.setUpdated(result.getUpdated() + update(username, operation, owned, now, state));
+                    break;
+                case DELETE:
+                    result.setDeleted(result.getDeleted() + delete(username, operation, owned, now, state));
+                    break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * One query for all targeted ids; returns id to public flag so later
+     * steps know whether the public feed is affected
+     */
+    private Map<Long, Boolean> verifyOwnership(String username, List<Operation> operations) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Operation operation : operations) {
+            if (operation.getIds() != null) {
+                ids.addAll(operation.getIds());
+            }
+        }
+        Map<Long, Boolean> owned = new HashMap<>();
+        if (ids.isEmpty()) {
+            return owned;
+        }
+        for (Object[] row : noteRepository.findOwnedIdsAndPublicFlags(ids, username)) {
+            owned.put((Long) row[0], Boolean.TRUE.equals(row[1]));
+        }
+        if (owned.size() != ids.size()) {
+            // Missing and foreign notes look the same, like the single-note endpoints
+            throw new UnauthorizedAccessException("Access denied: You can only access your own notes");
+        }
+        return owned;
+    }
+
+    private List<NoteResponseDTO> create(User user, List<NoteRequestDTO> requests, BatchState state) {
+        List<Note> notes = new ArrayList<>(requests.size());
+        for (NoteRequestDTO request : requests) {
+            Note note = new Note();
+            note.setContent(request.getContent());
+            note.setTitle(request.getTitle());
+            note.setDescription(request.getDescription());
+            note.setCategory(request.getCategory());
+            note.setFavorite(Boolean.TRUE.equals(request.getIsFavorite()));
+            note.setIsPublic(Boolean.TRUE.equals(request.getIsPublic()));
+            note.setOwner(user);
+            note.setOwnerUsername(user.getUserName());
+            notes.add(note);
+            state.publicTouched |= note.getIsPublic();
+        }
+
+        List<Note> saved = noteRepository.saveAll(notes);
+        auditLogService.logNoteCreations(user.getUserName(), saved);
+        userActivityService.logActivity(user.getUserName(), UserActivity.ActivityType.CREATED, "note", null,
+                saved.size() + " notes", "Batch create");
+
+        List<NoteResponseDTO> created = new ArrayList<>(saved.size());
+        for (Note note : saved) {
+            created.add(toResponseDTO(note, user));
+        }
+        return created;
+    }
+
+    private int update(String username, Operation operation, Map<Long, Boolean> owned, LocalDateTime now,
+            BatchState state) {
+        List<Long> ids = operation.getIds();
+        int updated = 0;
+        List<String> changes = new ArrayList<>(3);
+        if (operation.getCategory() != null) {
+            updated = Math.max(updated, noteRepository.updateCategoryForOwner(ids, username, operation.getCategory(), now));
+            changes.add("category=" + operation.getCategory());
+        }
+        if (operation.getIsFavorite() != null) {
+            updated = Math.max(updated, noteRepository.updateFavoriteForOwner(ids, username, operation.getIsFavorite(), now));
+            changes.add("favorite=" + operation.getIsFavorite());
+        }
+        if (operation.getIsPublic() != null) {
+            updated = Math.max(updated, noteRepository.updatePublicForOwner(ids, username, operation.getIsPublic(), now));
+            changes.add("public=" + operation.getIsPublic());
+        }
+        if (touchesPublic(ids, owned) || Boolean.TRUE.equals(operation.getIsPublic())) {
+            state.publicTouched = true;
+        }
+
+        String detail = String.join(", ", changes);
+        auditLogService.logNoteChanges(username, "UPDATE", ids, detail);
+        UserActivity.ActivityType activityType = changes.size() == 1 && operation.getIsFavorite() != null
+                ? (operation.getIsFavorite() ? UserActivity.ActivityType.FAVORITED : UserActivity.ActivityType.UNFAVORITED)
+                : UserActivity.ActivityType.UPDATED;
+        userActivityService.logActivity(username, activityType, "note", null, ids.size() + " notes",
+                "Batch update: " + detail);
+        return updated;
+    }
+
+    private int delete(String username, Operation operation, Map<Long, Boolean> owned, LocalDateTime now,
+            BatchState state) {
+        List<Long> ids = operation.getIds();
+        if (touchesPublic(ids, owned)) {
+            state.publicTouched = true;
+        }
+        // Same as the single delete: to the trash, restorable until purged
+        int deleted = noteRepository.trashForOwner(ids, username, now);
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new NotesTrashedEvent(List.copyOf(ids)));
+        }
+        auditLogService.logNoteChanges(username, "DELETE", ids, null);
+        userActivityService.logActivity(username, UserActivity.ActivityType.DELETED, "note", null,
+                ids.size() + " notes", "Batch delete");
+        return deleted;
+    }
+
+    private static boolean touchesPublic(List<Long> ids, Map<Long, Boolean> owned) {
+        for (Long id : ids) {
+            if (Boolean.TRUE.equals(owned.get(id))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void validate(Operation operation) {
+        switch (operation.getType()) {
+            case CREATE:
+                if (operation.getNotes() == null || operation.getNotes().isEmpty()) {
+                    throw new IllegalArgumentException("CREATE operation requires notes");
+                }
+                break;
+            case UPDATE:
+                requireIds(operation);
+                if (operation.getCategory() == null && operation.getIsFavorite() == null
+                        && operation.getIsPublic() == null) {
+                    throw new IllegalArgumentException("UPDATE operation requires category, isFavorite or isPublic");
+                }
+                break;
+            case DELETE:
+                requireIds(operation);
+                break;
+        }
+    }
+
+    private static void requireIds(Operation operation) {
+        if (operation.getIds() == null || operation.getIds().isEmpty() || operation.getIds().stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException(operation.getType() + " operation requires note ids");
+        }
+    }
+
+    private static NoteResponseDTO toResponseDTO(Note note, User owner) {
+        return NoteResponseDTO.builder()
+                .id(note.getId())
+                .title(note.getTitle())
+                .description(note.getDescription())
+                .content(note.getContent())
+                .category(note.getCategory())
+                .ownerUsername(owner.getUserName())
+                .authorName(owner.getUserName())
+                .authorDisplayName(owner.getUserName())
+                .authorProfilePicture(owner.getProfilePicture())
+                .createdAt(note.getCreatedAt())
+                .updatedAt(note.getUpdatedAt())
+                .isShared(note.isShared())
+                .shareCount(note.getShareCount())
+                .isFavorite(note.isFavorite())
+                .isPublic(Boolean.TRUE.equals(note.getIsPublic()))
+                .version(note.getVersion())
+                .build();
+    }
+
+    private static final class BatchState {
+
+        private boolean publicTouched;
+    }
+}
@@ -0,0 +1,517 @@
+package com.project.notes_backend.service.impl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notes_backend.cache.NotesTrashedEvent;
+import com.project.notes_backend.config.DraftConfig;
+import com.project.notes_backend.dto.DraftSaveResultDTO;
+import com.project.notes_backend.dto.NoteDraftDTO;
+import com.project.notes_backend.dto.NotePatchRequestDTO;
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.exception.StaleVersionException;
+import com.project.notes_backend.exception.UnauthorizedAccessException;
+import com.project.notes_backend.repository.NoteRepository;
+import com.project.notes_backend.service.NoteDraftService;
+import com.project.notes_backend.service.NoteService;
+import com.project.notes_backend.util.TextPatch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces editor autosaves. Saves land in a per-note buffer and in the
+ * write-ahead file, and the note is written through the normal PATCH path
+ * (version check, audit, activity, cache eviction) only when:
+ *
+ * - no save arrived for quietPeriodMillis, or the oldest unwritten save is
+ *   maxDelayMillis old
+ * - maxPendingSaves saves are buffered
+ * - the client commits the draft
+ *
+ * An autosave every second for a ten minute session is one to a few dozen
+ * writes instead of six hundred. Drafts live on the node that received
+ * them; after a crash the file is replayed and its drafts written on the
+ * first tick. A write rejected as stale marks the draft conflicted and keeps
+ * it, so nothing typed is dropped without the client seeing a 409. A note
+ * that was deleted (trashed here or on another node) drops its draft.
+ */
+@Service
+@Slf4j
+public class NoteDraftServiceImpl implements NoteDraftService {
+
+    private static final String[] FIELDS = {"content", "title", "description", "category"};
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private DraftConfig draftConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, Draft> drafts = new ConcurrentHashMap<>();
+    private DraftWriteAheadLog wal;
+
+    private Counter saves;
+    private Counter writes;
+
+    @PostConstruct
+    public void init() throws IOException {
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        saves = Counter.builder("notes.drafts.saves")
+                .description("Autosaves accepted into the draft buffer")
+                .register(registry);
+        writes = Counter.builder("notes.drafts.writes")
+                .description("Draft buffer writes to the notes table")
+                .register(registry);
+
+        wal = new DraftWriteAheadLog(Path.of(draftConfig.getWalFile()), objectMapper, draftConfig.isWalFsync());
+        for (DraftRecord record : wal.open()) {
+            drafts.put(record.noteId(), Draft.recover(record));
+        }
+        if (!drafts.isEmpty()) {
+            log.info("Recovered {} unwritten drafts from {}", drafts.size(), draftConfig.getWalFile());
+        }
+    }
+
+    /**
+     * Writes everything still buffered so the file is not needed after a clean shutdown
+     */
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flushDue(Long.MAX_VALUE);
+        wal.close();
+    }
+
+    @Override
+    public DraftSaveResultDTO saveDraft(Long noteId, NotePatchRequestDTO save, String username) {
+        while (true) {
+            Draft draft = drafts.get(noteId);
+            if (draft == null) {
+                if (drafts.size() >= draftConfig.getMaxDrafts()) {
+                    // Buffer full: behave like PATCH rather than grow without bound
+                    NoteResponseDTO written = noteService.patchNoteForUser(noteId, save, username);
+                    return new DraftSaveResultDTO(noteId, written.getVersion(), 0, false);
+                }
+                Draft loaded = load(noteId, username);
+                Draft existing = drafts.putIfAbsent(noteId, loaded);
+                draft = existing != null ? existing : loaded;
+            }
+
+            boolean full;
+            DraftSaveResultDTO result;
+            synchronized (draft) {
+                if (draft.removed) {
+                    // Expired between lookup and lock; start a fresh one
+                    continue;
+                }
+                checkOwner(draft, username);
+                if (draft.conflicted || !draft.accepts(save.getBaseVersion())) {
+                    throw new StaleVersionException(noteId, save.getBaseVersion(), draft.version);
+                }
+
+                Map<String, String> fields = new HashMap<>(draft.fields);
+                Set<String> dirty = new LinkedHashSet<>(draft.dirty);
+                apply(save, fields, dirty);
+
+                // Durable before it is acknowledged or visible
+                wal.append(new DraftRecord(DraftRecord.Type.SAVE, noteId, username, draft.seq + 1,
+                        draft.clientBaseVersion, draft.version, fields, new ArrayList<>(dirty)));
+
+                long now = System.currentTimeMillis();
+                draft.fields = fields;
+                draft.dirty = dirty;
+                draft.seq++;
+                draft.pendingSaves++;
+                draft.lastSaveAt = now;
+                if (draft.firstPendingAt == 0) {
+                    draft.firstPendingAt = now;
+                }
+                full = draft.pendingSaves >= draftConfig.getMaxPendingSaves();
+                result = new DraftSaveResultDTO(noteId, draft.version, draft.pendingSaves, true);
+            }
+            saves.increment();
+
+            if (full) {
+                NoteResponseDTO written = write(draft);
+                if (written != null) {
+                    result.setVersion(written.getVersion());
+                    result.setPendingSaves(0);
+                }
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public NoteDraftDTO getDraft(Long noteId, String username) {
+        Draft draft = drafts.get(noteId);
+        if (draft == null) {
+            return null;
+        }
+        synchronized (draft) {
+            checkOwner(draft, username);
+            return NoteDraftDTO.builder()
+                    .noteId(noteId)
+                    .version(draft.version)
+                    .title(draft.fields.get("title"))
+                    .description(draft.fields.get("description"))
+                    .category(draft.fields.get("category"))
+                    .content(draft.fields.get("content"))
+                    .unsaved(!draft.dirty.isEmpty())
+                    .conflicted(draft.conflicted)
+                    .build();
+        }
+    }
+
+    @Override
+    public NoteResponseDTO commitDraft(Long noteId, String username) {
+        Draft draft = drafts.get(noteId);
+        if (draft == null) {
+            return noteService.getNoteByIdForUser(noteId, username);
+        }
+        synchronized (draft) {
+            checkOwner(draft, username);
+            if (draft.conflicted) {
+                throw new StaleVersionException(noteId, draft.clientBaseVersion, draft.version);
+            }
+        }
+
+        NoteResponseDTO written = write(draft);
+        synchronized (draft) {
+            if (draft.dirty.isEmpty() && !draft.flushing) {
+                // The editor is done with it; the response carries the version
+                draft.removed = true;
+                drafts.remove(noteId, draft);
+            }
+        }
+        return written != null ? written : noteService.getNoteByIdForUser(noteId, username);
+    }
+
+    @Override
+    public void discardDraft(Long noteId, String username) {
+        Draft draft = drafts.get(noteId);
+        if (draft == null) {
+            return;
+        }
+        synchronized (draft) {
+            checkOwner(draft, username);
+            drop(draft);
+        }
+        log.info("Discarded draft for note: {} by user: {}", noteId, username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotesTrashed(NotesTrashedEvent event) {
+        for (Long noteId : event.noteIds()) {
+            Draft draft = drafts.get(noteId);
+            if (draft != null) {
+                drop(draft);
+                log.info("Discarded draft for trashed note: {}", noteId);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.drafts.flush-tick-millis:500}")
+    public void flushDueDrafts() {
+        flushDue(System.currentTimeMillis());
+    }
+
+    void flushDue(long now) {
+        for (Draft draft : drafts.values()) {
+            boolean due;
+            synchronized (draft) {
+                if (draft.removed) {
+                    continue;
+                }
+                if (draft.dirty.isEmpty() && !draft.conflicted && !draft.flushing
+                        && now - draft.lastSaveAt >= draftConfig.getSessionIdleMillis()) {
+                    draft.removed = true;
+                    drafts.remove(draft.noteId, draft);
+                    continue;
+                }
+                due = !draft.dirty.isEmpty() && !draft.conflicted && now >= draft.retryAt
+                        && (now - draft.lastSaveAt >= draftConfig.getQuietPeriodMillis()
+                            || now - draft.firstPendingAt >= draftConfig.getMaxDelayMillis());
+            }
+            if (due) {
+                try {
+                    write(draft);
+                } catch (StaleVersionException | OptimisticLockingFailureException e) {
+                    // Marked conflicted in write(); kept until the client commits or discards
+                } catch (RuntimeException e) {
+                    if (isNotFound(e)) {
+                        // Dropped in write(); retrying cannot succeed
+                        continue;
+                    }
+                    log.warn("Failed to write draft for note {}, will retry: {}", draft.noteId, e.getMessage());
+                    synchronized (draft) {
+                        draft.retryAt = now + draftConfig.getQuietPeriodMillis();
+                    }
+                }
+            }
+        }
+        wal.compactIfLarger(draftConfig.getWalCompactBytes());
+    }
+
+    /**
+     * Writes the draft's unwritten fields to the note with one PATCH.
+     *
+     * @return the written note, or null when there was nothing to write
+     */
+    private NoteResponseDTO write(Draft draft) {
+        NotePatchRequestDTO patch = new NotePatchRequestDTO();
+        Map<String, String> written = new HashMap<>();
+        long seq;
+        synchronized (draft) {
+            if (draft.dirty.isEmpty() || draft.conflicted || draft.flushing) {
+                return null;
+            }
+            draft.flushing = true;
+            patch.setBaseVersion(draft.version);
+            for (String field : draft.dirty) {
+                String value = draft.fields.get(field);
+                written.put(field, value);
+                setField(patch, field, value);
+            }
+            seq = draft.seq;
+        }
+
+        try {
+            NoteResponseDTO note;
+            try {
+                note = noteService.patchNoteForUser(draft.noteId, patch, draft.username);
+            } catch (StaleVersionException | OptimisticLockingFailureException e) {
+                note = null;
+                if (!alreadyStored(draft, written)) {
+                    synchronized (draft) {
+                        draft.conflicted = true;
+                    }
+                    log.warn("Draft for note {} conflicts with a newer version; kept for the client", draft.noteId);
+                    throw e;
+                }
+            } catch (RuntimeException e) {
+                if (isNotFound(e)) {
+                    // Deleted or trashed since the draft was opened
+                    log.info("Discarded draft for note {}: {}", draft.noteId, e.getMessage());
+                    drop(draft);
+                }
+                throw e;
+            }
+            synchronized (draft) {
+                if (note != null) {
+                    draft.version = note.getVersion();
+                }
+                for (Map.Entry<String, String> entry : written.entrySet()) {
+                    if (Objects.equals(draft.fields.get(entry.getKey()), entry.getValue())) {
+                        draft.dirty.remove(entry.getKey());
+                    }
+                }
+                if (draft.dirty.isEmpty()) {
+                    draft.pendingSaves = 0;
+                    draft.firstPendingAt = 0;
+                }
+                wal.append(DraftRecord.flushed(draft.noteId, seq, draft.version));
+            }
+            writes.increment();
+            return note;
+        } finally {
+            synchronized (draft) {
+                draft.flushing = false;
+            }
+        }
+    }
+
+    private void drop(Draft draft) {
+        synchronized (draft) {
+            if (draft.removed) {
+                return;
+            }
+            wal.append(DraftRecord.discard(draft.noteId));
+            draft.removed = true;
+            drafts.remove(draft.noteId, draft);
+        }
+    }
+
+    // Same test GlobalExceptionHandler uses for a 404
+    private static boolean isNotFound(RuntimeException e) {
+        return e.getMessage() != null && e.getMessage().contains("not found");
+    }
+
+    /**
+     * After a crash between the database commit and the FLUSHED record, the
+     * replayed draft is stale but already stored; adopt the stored version
+     */
+    private boolean alreadyStored(Draft draft, Map<String, String> written) {
+        List<Object[]> rows = noteRepository.findEditableStateForOwner(draft.noteId, draft.username);
+        if (rows.isEmpty()) {
+            return false;
+        }
+        Object[] row = rows.get(0);
+        for (String field : FIELDS) {
+            if (written.containsKey(field) && !Objects.equals(written.get(field), valueAt(row, field))) {
+                return false;
+            }
+        }
+        synchronized (draft) {
+            draft.version = ((Number) row[0]).longValue();
+        }
+        return true;
+    }
+
+    private Draft load(Long noteId, String username) {
+        List<Object[]> rows = noteRepository.findEditableStateForOwner(noteId, username);
+        if (rows.isEmpty()) {
+            if (noteRepository.existsById(noteId)) {
+                throw new UnauthorizedAccessException("Access denied: You can only access your own notes");
+            }
+            throw new RuntimeException("Note not found with id: " + noteId);
+        }
+        Object[] row = rows.get(0);
+        long version = ((Number) row[0]).longValue();
+        Draft draft = new Draft(noteId, username, version);
+        for (String field : FIELDS) {
+            draft.fields.put(field, valueAt(row, field));
+        }
+        return draft;
+    }
+
+    private static String valueAt(Object[] row, String field) {
+        return switch (field) {
+            case "title" -> (String) row[1];
+            case "description" -> (String) row[2];
+            case "category" -> (String) row[3];
+            default -> (String) row[4];
+        };
+    }
+
+    /**
+     * Same rules as PATCH, applied to the buffered values
+     */
+    private static void apply(NotePatchRequestDTO save, Map<String, String> fields, Set<String> dirty) {
+        String content = null;
+        if (save.getEdits() != null && !save.getEdits().isEmpty()) {
+            if (save.isPresent("content")) {
+                throw new IllegalArgumentException("Send either content or edits, not both");
+            }
+            content = TextPatch.apply(fields.get("content"), save.getEdits());
+        } else if (save.isPresent("content")) {
+            content = save.getContent();
+        }
+        if (content != null || save.isPresent("content")) {
+            if (!StringUtils.hasText(content)) {
+                throw new IllegalArgumentException("Content cannot be blank");
+            }
+            if (content.length() > 10000) {
+                throw new IllegalArgumentException("Content cannot exceed 10000 characters");
+            }
+            change(fields, dirty, "content", content);
+        }
+        if (save.isPresent("title")) {
+            change(fields, dirty, "title", save.getTitle());
+        }
+        if (save.isPresent("description")) {
+            change(fields, dirty, "description", save.getDescription());
+        }
+        if (save.isPresent("category")) {
+            change(fields, dirty, "category", save.getCategory());
+        }
+    }
+
+    private static void change(Map<String, String> fields, Set<String> dirty, String field, String value) {
+        if (!Objects.equals(fields.get(field), value)) {
+            fields.put(field, value);
+            dirty.add(field);
+        }
+    }
+
+    private static void setField(NotePatchRequestDTO patch, String field, String value) {
+        switch (field) {
+            case "title" -> patch.setTitle(value);
+            case "description" -> patch.setDescription(value);
+            case "category" -> patch.setCategory(value);
+            default -> patch.setContent(value);
+        }
+    }
+
+    private static void checkOwner(Draft draft, String username) {
+        if (!draft.username.equals(username)) {
+            throw new UnauthorizedAccessException("Access denied: You can only access your own notes");
+        }
+    }
+
+    /**
+     * Buffered state of one note; guarded by its own monitor
+     */
+    private static final class Draft {
+
+        private final Long noteId;
+        private final String username;
+        // Version the editor loaded; it keeps sending it until it sees a newer one
+        private final long clientBaseVersion;
+        // Stored version the next write is based on
+        private long version;
+        private Map<String, String> fields = new HashMap<>();
+        private Set<String> dirty = new LinkedHashSet<>();
+        private long seq;
+        private int pendingSaves;
+        private long firstPendingAt;
+        private long lastSaveAt;
+        private long retryAt;
+        private boolean flushing;
+        private boolean conflicted;
+        private boolean removed;
+
+        Draft(Long noteId, String username, long version) {
+            this.noteId = noteId;
+            this.username = username;
+            this.clientBaseVersion = version;
+            this.version = version;
+        }
+
+        static Draft recover(DraftRecord record) {
+            Draft draft = new Draft(record.noteId(), record.username(), record.clientBaseVersion());
+            draft.version = record.version();
+            draft.fields = new HashMap<>(record.fields());
+            draft.dirty = new LinkedHashSet<>(record.dirty());
+            draft.seq = record.seq();
+            draft.pendingSaves = draft.dirty.isEmpty() ? 0 : 1;
+            // Due on the first tick
+            draft.firstPendingAt = 1;
+            draft.lastSaveAt = 1;
+            return draft;
+        }
+
+        boolean accepts(Long baseVersion) {
+            return baseVersion != null && (baseVersion == clientBaseVersion || baseVersion == version);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.project.notes_backend.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.model.Note;
+import com.project.notes_backend.repository.NoteRepository;
+import com.project.notes_backend.service.NoteExportService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams a user's notes straight from a database cursor to the response.
+ * Each row is mapped, written and detached before the next one is read, so
+ * memory use does not depend on how many notes the user has. Runs in one
+ * read-only transaction, which PostgreSQL needs to honour the fetch size.
+ */
+@Service
+@Slf4j
+public class NoteExportServiceImpl implements NoteExportService {
+
+    // Longest title slug used in ZIP entry names
+    private static final int MAX_SLUG_LENGTH = 50;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNdjson(String username, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(NoteResponseDTO.class);
+        long count = 0;
+        try (Stream<Note> notes = noteRepository.streamByOwnerUsername(username)) {
+            Iterator<Note> iterator = notes.iterator();
+            while (iterator.hasNext()) {
+                NoteResponseDTO note = toExportDTO(iterator.next(), username);
+                out.write(writer.writeValueAsBytes(note));
+                out.write('\n');
+                count++;
+            }
+        }
+        out.flush();
+        log.info("Exported {} notes as NDJSON for user: {}", count, username);
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportZip(String username, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        long count = 0;
+        try (Stream<Note> notes = noteRepository.streamByOwnerUsername(username)) {
+            Iterator<Note> iterator = notes.iterator();
+            while (iterator.hasNext()) {
+                NoteResponseDTO note = toExportDTO(iterator.next(), username);
+                ZipEntry entry = new ZipEntry(fileName(note));
+                if (note.getUpdatedAt() != null) {
+                    entry.setTime(note.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                }
+                zip.putNextEntry(entry);
+                zip.write(toMarkdown(note).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+                count++;
+            }
+        }
+        // The servlet container owns the underlying stream
+        zip.finish();
+        out.flush();
+        log.info("Exported {} notes as ZIP for user: {}", count, username);
+        return count;
+    }
+
+    /**
+     * Map and detach in one step. The owner is taken from the caller instead
+     * of note.getOwnerUsername(), which would initialize the lazy owner and
+     * cost one query per row.
+     */
+    private NoteResponseDTO toExportDTO(Note note, String username) {
+        NoteResponseDTO dto = NoteResponseDTO.builder()
+                .id(note.getId())
+                .title(note.getTitle())
+                .description(note.getDescription())
+                .content(note.getContent())
+                .category(note.getCategory())
+                .ownerUsername(username)
+                .authorName(username)
+                .createdAt(note.getCreatedAt())
+                .updatedAt(note.getUpdatedAt())
+                .isShared(note.isShared())
+                .shareCount(note.getShareCount())
+                .isFavorite(note.isFavorite())
+                .isPublic(Boolean.TRUE.equals(note.getIsPublic()))
+                .version(note.getVersion())
+                .build();
+        entityManager.detach(note);
+        return dto;
+    }
+
+    private String toMarkdown(NoteResponseDTO note) throws IOException {
+        StringBuilder markdown = new StringBuilder();
+        // JSON strings are valid YAML scalars, which keeps quoting and escaping correct
+        markdown.append("---\n")
+                .append("id: ").append(note.getId()).append('\n')
+                .append("title: ").append(objectMapper.writeValueAsString(note.getTitle())).append('\n')
+                .append("category: ").append(objectMapper.writeValueAsString(note.getCategory())).append('\n')
+                .append("created: ").append(note.getCreatedAt()).append('\n')
+                .append("updated: ").append(note.getUpdatedAt()).append('\n')
+                .append("favorite: ").append(note.isFavorite()).append('\n')
+                .append("public: ").append(note.isPublic()).append('\n')
+                .append("shared: ").append(note.isShared()).append('\n')
+                .append("---\n\n");
+        if (note.getTitle() != null && !note.getTitle().isBlank()) {
+            markdown.append("# ").append(note.getTitle()).append("\n\n");
+        }
+        if (note.getDescription() != null && !note.getDescription().isBlank()) {
+            markdown.append("> ").append(note.getDescription().replace("\n", "\n> ")).append("\n\n");
+        }
+        if (note.getContent() != null) {
+            markdown.append(note.getContent()).append('\n');
+        }
+        return markdown.toString();
+    }
+
+    /**
+     * "42-my-title.md"; the id keeps names unique without remembering the
+     * names already used
+     */
+    static String fileName(NoteResponseDTO note) {
+        String title = note.getTitle() == null ? "" : note.getTitle().toLowerCase(Locale.ROOT);
+        String slug = title.replaceAll("[^a-z0-9]+", "-").replaceAll("^-+|-+$", "");
+        if (slug.length() > MAX_SLUG_LENGTH) {
+            slug = slug.substring(0, MAX_SLUG_LENGTH).replaceAll("-+$", "");
+        }
+        return slug.isEmpty() ? note.getId() + ".md" : note.getId() + "-" + slug + ".md";
+    }
+}
@@ -0,0 +1,436 @@
+package com.project.notes_backend.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.project.notes_backend.cache.UserNoteCacheInvalidator;
+import com.project.notes_backend.config.NoteImportConfig;
+import com.project.notes_backend.dto.NoteImportResultDTO;
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.model.PooledSequences;
+import com.project.notes_backend.model.User;
+import com.project.notes_backend.model.UserActivity;
+import com.project.notes_backend.repository.SequenceIdAllocator;
+import com.project.notes_backend.repository.UserRepository;
+import com.project.notes_backend.service.AuditLogService;
+import com.project.notes_backend.service.NoteImportService;
+import com.project.notes_backend.service.UserActivityService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk import that never holds more than one batch in memory. Input is parsed
+ * one line or ZIP entry at a time, and valid notes are written with plain
+ * JDBC batch INSERTs, batchSize rows per statement batch. Ids come from the
+ * notes sequence in blocks of PooledSequences.ALLOCATION_SIZE, the same
+ * blocks the Note entity uses, so imported rows never collide with notes
+ * Hibernate inserts at the same time.
+ *
+ * Each batch commits separately, together with one audit row and one activity
+ * row; caches are evicted once when the import ends.
+ */
+@Service
+@Slf4j
+public class NoteImportServiceImpl implements NoteImportService {
+
+    private static final String INSERT_NOTE = "INSERT INTO notes (id, content, title, description, category, owner_id, "
+            + "owner_username, is_shared, is_public, share_count, is_favorite, created_at, updated_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, FALSE, ?, 0, ?, ?, ?, 0)";
+
+    // Same limits as the Note entity's validation
+    private static final int MAX_CONTENT = 10000;
+    private static final int MAX_TITLE = 100;
+    private static final int MAX_DESCRIPTION = 500;
+    private static final int MAX_CATEGORY = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private UserActivityService userActivityService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NoteImportConfig noteImportConfig;
+
+    @Autowired
+    private SequenceIdAllocator sequenceIdAllocator;
+
+    @Autowired(required = false)
+    private UserNoteCacheInvalidator cacheInvalidator;
+
+    @Override
+    public NoteImportResultDTO importNdjson(String username, InputStream in) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(NoteResponseDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        int maxLineBytes = noteImportConfig.getMaxEntryBytes();
+        BatchWriter writer = new BatchWriter(username);
+        try (in) {
+            BoundedLineReader lines = new BoundedLineReader(in, maxLineBytes);
+            long lineNumber = 0;
+            while (lines.next()) {
+                lineNumber++;
+                if (lines.tooLong()) {
+                    writer.reject("line " + lineNumber + ": line exceeds " + maxLineBytes + " bytes");
+                    continue;
+                }
+                String line = lines.text();
+                if (line.isBlank()) {
+                    continue;
+                }
+                NoteResponseDTO note;
+                try {
+                    note = reader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    writer.reject("line " + lineNumber + ": malformed JSON");
+                    continue;
+                }
+                writer.add("line " + lineNumber, new ImportedNote(note.getTitle(), note.getDescription(),
+                        note.getContent(), note.getCategory(), note.isFavorite(), note.isPublic(),
+                        note.getCreatedAt(), note.getUpdatedAt()));
+            }
+            writer.flush();
+        } finally {
+            writer.finish();
+        }
+        return writer.result;
+    }
+
+    @Override
+    public NoteImportResultDTO importZip(String username, InputStream in) throws IOException {
+        int maxEntryBytes = noteImportConfig.getMaxEntryBytes();
+        BatchWriter writer = new BatchWriter(username);
+        try (ZipInputStream zip = new ZipInputStream(in, StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (entry.isDirectory() || !isNoteFile(name)) {
+                    continue;
+                }
+                byte[] bytes = zip.readNBytes(maxEntryBytes + 1);
+                if (bytes.length > maxEntryBytes) {
+                    writer.reject(name + ": file exceeds " + maxEntryBytes + " bytes");
+                    continue;
+                }
+                writer.add(name, parseMarkdown(name, new String(bytes, StandardCharsets.UTF_8)));
+            }
+            writer.flush();
+        } finally {
+            writer.finish();
+        }
+        return writer.result;
+    }
+
+    /**
+     * Read a note in the ZIP export format: optional front matter, a "# title"
+     * heading and, after front matter, a quoted description
+     */
+    ImportedNote parseMarkdown(String fileName, String text) {
+        String body = text.replace("\r\n", "\n");
+        Map<String, String> meta = new HashMap<>();
+        boolean frontMatter = false;
+        if (body.startsWith("---\n")) {
+            int end = body.indexOf("\n---\n", 3);
+            if (end >= 0) {
+                frontMatter = true;
+                for (String line : body.substring(Math.min(4, end), end).split("\n")) {
+                    int colon = line.indexOf(':');
+                    if (colon > 0) {
+                        meta.put(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+                    }
+                }
+                body = body.substring(end + 5);
+            }
+        }
+
+        String title = scalar(meta.get("title"));
+        body = stripLeadingNewlines(body);
+        if (body.startsWith("# ")) {
+            int eol = body.indexOf('\n');
+            String heading = (eol < 0 ? body.substring(2) : body.substring(2, eol)).trim();
+            if (title == null) {
+                title = heading;
+            }
+            if (heading.equals(title)) {
+                body = stripLeadingNewlines(eol < 0 ? "" : body.substring(eol + 1));
+            }
+        }
+
+        String description = null;
+        if (frontMatter && body.startsWith(">")) {
+            StringBuilder quote = new StringBuilder();
+            int position = 0;
+            while (position < body.length() && body.startsWith(">", position)) {
+                int eol = body.indexOf('\n', position);
+                int lineEnd = eol < 0 ? body.length() : eol;
+                String line = body.substring(position, lineEnd);
+                if (quote.length() > 0) {
+                    quote.append('\n');
+                }
+                quote.append(line.startsWith("> ") ? line.substring(2) : line.substring(1));
+                position = eol < 0 ? body.length() : eol + 1;
+            }
+            description = quote.toString();
+            body = stripLeadingNewlines(body.substring(position));
+        }
+
+        if (title == null || title.isBlank()) {
+            title = baseName(fileName);
+        }
+        LocalDateTime createdAt = timestamp(meta.get("created"));
+        return new ImportedNote(title, description, body.stripTrailing(), scalar(meta.get("category")),
+                "true".equalsIgnoreCase(meta.get("favorite")), "true".equalsIgnoreCase(meta.get("public")),
+                createdAt, timestamp(meta.get("updated")));
+    }
+
+    private String scalar(String value) {
+        if (value == null || value.isEmpty() || "null".equals(value)) {
+            return null;
+        }
+        if (value.startsWith("\"")) {
+            try {
+                return objectMapper.readValue(value, String.class);
+            } catch (JsonProcessingException e) {
+                return value.substring(1, value.endsWith("\"") && value.length() > 1 ? value.length() - 1 : value.length());
+            }
+        }
+        return value;
+    }
+
+    private static LocalDateTime timestamp(String value) {
+        if (value == null || value.isEmpty() || "null".equals(value)) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String stripLeadingNewlines(String text) {
+        int start = 0;
+        while (start < text.length() && text.charAt(start) == '\n') {
+            start++;
+        }
+        return text.substring(start);
+    }
+
+    private static boolean isNoteFile(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return !lower.startsWith("__macosx/")
+                && (lower.endsWith(".md") || lower.endsWith(".markdown") || lower.endsWith(".txt"));
+    }
+
+    private static String baseName(String fileName) {
+        String name = fileName.substring(fileName.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        name = dot > 0 ? name.substring(0, dot) : name;
+        return name.length() > MAX_TITLE ? name.substring(0, MAX_TITLE) : name;
+    }
+
+    private static String validate(ImportedNote note) {
+        if (note.content() == null || note.content().isBlank()) {
+            return "content is blank";
+        }
+        if (note.content().length() > MAX_CONTENT) {
+            return "content exceeds " + MAX_CONTENT + " characters";
+        }
+        if (note.title() != null && note.title().length() > MAX_TITLE) {
+            return "title exceeds " + MAX_TITLE + " characters";
+        }
+        if (note.description() != null && note.description().length() > MAX_DESCRIPTION) {
+            return "description exceeds " + MAX_DESCRIPTION + " characters";
+        }
+        if (note.category() != null && note.category().length() > MAX_CATEGORY) {
+            return "category exceeds " + MAX_CATEGORY + " characters";
+        }
+        return null;
+    }
+
+    record ImportedNote(String title, String description, String content, String category,
+            boolean favorite, boolean isPublic, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    /**
+     * Reads "\n"-terminated UTF-8 lines into one buffer of maxBytes. A longer
+     * line is read through to its end without being kept and reported as too
+     * long, so a single huge line cannot exhaust memory the way readLine can.
+     */
+    static final class BoundedLineReader {
+
+        private final InputStream in;
+        private final byte[] chunk = new byte[8192];
+        private final byte[] line;
+        private final int maxBytes;
+        private int position;
+        private int limit;
+        private int length;
+        private boolean tooLong;
+
+        BoundedLineReader(InputStream in, int maxBytes) {
+            this.in = in;
+            this.maxBytes = Math.max(0, maxBytes);
+            // One spare byte so a full line's "\r" is not mistaken for overflow
+            this.line = new byte[this.maxBytes + 1];
+        }
+
+        /**
+         * Advance to the next line; false at the end of the input
+         */
+        boolean next() throws IOException {
+            length = 0;
+            tooLong = false;
+            int b = read();
+            if (b < 0) {
+                return false;
+            }
+            while (b >= 0 && b != '\n') {
+                if (length < line.length) {
+                    line[length++] = (byte) b;
+                } else {
+                    tooLong = true;
+                }
+                b = read();
+            }
+            if (!tooLong && length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            tooLong |= length > maxBytes;
+            return true;
+        }
+
+        boolean tooLong() {
+            return tooLong;
+        }
+
+        String text() {
+            return new String(line, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = in.read(chunk, 0, chunk.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return chunk[position++] & 0xFF;
+        }
+    }
+
+    /**
+     * Collects rows for one import and writes them batchSize at a time
+     */
+    private final class BatchWriter {
+
+        private final String username;
+        private final Long userId;
+        private final int batchSize = Math.max(1, noteImportConfig.getBatchSize());
+        private final List<Object[]> rows = new ArrayList<>(batchSize);
+        private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        private final Timestamp importedAt = Timestamp.valueOf(LocalDateTime.now());
+        private final NoteImportResultDTO result = new NoteImportResultDTO();
+        private boolean anyPublic;
+        private SequenceIdAllocator.IdBlock ids;
+
+        BatchWriter(String username) {
+            User user = userRepository.findByUserName(username)
+                    .orElseThrow(() -> new RuntimeException("User not found: " + username));
+            this.username = username;
+            this.userId = user.getUserId();
+        }
+
+        void add(String location, ImportedNote note) {
+            String error = validate(note);
+            if (error != null) {
+                reject(location + ": " + error);
+                return;
+            }
+            // Keep exported timestamps so a migrated account keeps its history
+            Timestamp createdAt = note.createdAt() != null ? Timestamp.valueOf(note.createdAt()) : importedAt;
+            Timestamp updatedAt = note.updatedAt() != null ? Timestamp.valueOf(note.updatedAt()) : createdAt;
+            if (ids == null || !ids.hasNext()) {
+                ids = sequenceIdAllocator.reserve(PooledSequences.NOTES);
+            }
+            rows.add(new Object[] {ids.next(), note.content(), note.title(), note.description(), note.category(),
+                userId, username, note.isPublic(), note.favorite(), createdAt, updatedAt});
+            anyPublic |= note.isPublic();
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(String error) {
+            result.setSkipped(result.getSkipped() + 1);
+            if (result.getErrors().size() < noteImportConfig.getMaxReportedErrors()) {
+                result.getErrors().add(error);
+            }
+        }
+
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            int count = rows.size();
+            int batch = result.getBatches() + 1;
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_NOTE, rows);
+                auditLogService.logNoteImport(username, count);
+                userActivityService.logActivity(username, UserActivity.ActivityType.CREATED, "note", null,
+                        count + " imported notes", "Import batch " + batch);
+            });
+            result.setImported(result.getImported() + count);
+            result.setBatches(batch);
+            rows.clear();
+        }
+
+        /**
+         * Evict once per import, also after a failure that left earlier batches committed
+         */
+        void finish() {
+            log.info("Imported {} notes in {} batches for user: {} ({} skipped)",
+                    result.getImported(), result.getBatches(), username, result.getSkipped());
+            if (result.getImported() == 0) {
+                return;
+            }
+            if (cacheInvalidator != null) {
+                cacheInvalidator.invalidate(username, anyPublic);
+            }
+        }
+    }
+}
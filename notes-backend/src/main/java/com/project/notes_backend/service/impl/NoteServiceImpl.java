@@ -1,23 +1,43 @@
 package com.project.notes_backend.service.impl;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import com.project.notes_backend.cache.CacheInvalidationBus;
+import com.project.notes_backend.cache.NoteChangedEvent;
+import com.project.notes_backend.cache.NotesTrashedEvent;
+import com.project.notes_backend.cache.PublicNoteFeed;
+import com.project.notes_backend.cache.SingleFlight;
+import com.project.notes_backend.cache.UserNotesKey;
+import com.project.notes_backend.dto.NoteFlagResponseDTO;
+import com.project.notes_backend.dto.NotePatchRequestDTO;
 import com.project.notes_backend.dto.NoteRequestDTO;
 import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.exception.StaleVersionException;
 import com.project.notes_backend.exception.UnauthorizedAccessException;
 import com.project.notes_backend.model.Note;
+import com.project.notes_backend.model.NoteFlag;
 import com.project.notes_backend.model.User;
 import com.project.notes_backend.model.UserActivity;
 import com.project.notes_backend.repository.NoteRepository;
@@ -25,6 +45,7 @@ import com.project.notes_backend.repository.UserRepository;
 import com.project.notes_backend.service.AuditLogService;
 import com.project.notes_backend.service.NoteService;
 import com.project.notes_backend.service.UserActivityService;
+import com.project.notes_backend.util.TextPatch;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -45,6 +66,24 @@ public class NoteServiceImpl implements NoteService {
     @Autowired
     private UserActivityService userActivityService;
 
+    @Autowired
+    private UserNotesStatsCalculator userNotesStatsCalculator;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    @Autowired(required = false)
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Identical list queries in flight at the same time run once
+    private final SingleFlight<Object, Page<NoteResponseDTO>> noteListFlights = new SingleFlight<>();
+
     @Override
     @CacheEvict(value = {"userNotes", "userStats"}, allEntries = true)
     public NoteResponseDTO createNoteForUser(String username, NoteRequestDTO noteRequest) {
@@ -64,19 +103,29 @@ public class NoteServiceImpl implements NoteService {
 
         Note savedNote = noteRepository.save(note);
         auditLogService.logNoteCreation(username, savedNote);
+        invalidateRemoteCaches(username, "userNotes", "userStats");
 
         // Log user activity
         userActivityService.logActivity(username, UserActivity.ActivityType.CREATED, "note",
                 savedNote.getId(), savedNote.getTitle() != null ? savedNote.getTitle() : "Untitled Note");
 
         log.info("Note created successfully with ID: {} for user: {}", savedNote.getId(), username);
-        return convertToResponseDTO(savedNote);
+        NoteResponseDTO response = convertToResponseDTO(savedNote);
+        publishNoteChange(savedNote.getId(), false, savedNote, response);
+        return response;
     }
 
     @Override
-    @Cacheable(value = "userNotes", key = "#username + '_' + #search + '_' + #category + '_' + #shared + '_' + #sortBy + '_' + #sortOrder + '_' + #pageable.pageNumber")
-    @Transactional(readOnly = true)
+    @Cacheable(value = "userNotes", key = "T(com.project.notes_backend.cache.UserNotesKey).of(#username, #search, #category, #shared, #sortBy, #sortOrder, #pageable)")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<NoteResponseDTO> getNotesForUser(String username, String search, String category, boolean shared, String sortBy, String sortOrder, Pageable pageable) {
+        // Same key as the cache, so tabs firing the same request during a miss share one query
+        UserNotesKey key = UserNotesKey.of(username, search, category, shared, sortBy, sortOrder, pageable);
+        return noteListFlights.execute(key, () -> readOnly(
+                () -> loadNotesForUser(username, search, category, shared, sortBy, sortOrder, pageable)));
+    }
+
+    private Page<NoteResponseDTO> loadNotesForUser(String username, String search, String category, boolean shared, String sortBy, String sortOrder, Pageable pageable) {
         log.debug("Fetching notes for user: {} with search: {} category: {} shared: {} sortBy: {} sortOrder: {}",
                 username, search, category, shared, sortBy, sortOrder);
 
@@ -117,15 +166,33 @@ public class NoteServiceImpl implements NoteService {
     public NoteResponseDTO getNoteByIdForUser(Long noteId, String username) {
         log.debug("Fetching note ID: {} for user: {}", noteId, username);
 
+        // Cached by id alone so every reader shares one entry; ownership is
+        // checked on the way out, hit or miss
+        Cache cache = cacheManager != null ? cacheManager.getCache("noteDetails") : null;
+        NoteResponseDTO cached = cache != null ? cache.get(noteId, NoteResponseDTO.class) : null;
+        if (cached != null) {
+            if (!cached.getOwnerUsername().equals(username)) {
+                throw new UnauthorizedAccessException("Access denied: You can only access your own notes");
+            }
+            return cached;
+        }
+
         Note note = noteRepository.findById(noteId)
                 .orElseThrow(() -> new RuntimeException("Note not found"));
 
         validateNoteOwnership(note, username);
-        return convertToResponseDTO(note);
+        NoteResponseDTO dto = convertToResponseDTO(note);
+        if (cache != null) {
+            cache.put(noteId, dto);
+        }
+        return dto;
     }
 
     @Override
-    @CacheEvict(value = {"userNotes", "userStats"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = {"userNotes", "userStats"}, allEntries = true),
+            @CacheEvict(value = "noteDetails", key = "#noteId")
+    })
     public NoteResponseDTO updateNoteForUser(Long noteId, NoteRequestDTO noteRequest, String username) {
         log.info("Updating note ID: {} for user: {}", noteId, username);
 
@@ -133,6 +200,10 @@ public class NoteServiceImpl implements NoteService {
                 .orElseThrow(() -> new RuntimeException("Note not found"));
 
         validateNoteOwnership(note, username);
+        if (noteRequest.getVersion() != null) {
+            checkVersion(note, noteRequest.getVersion());
+        }
+        boolean wasPublic = Boolean.TRUE.equals(note.getIsPublic());
 
         // Update fields
         note.setContent(noteRequest.getContent());
@@ -144,43 +215,154 @@ public class NoteServiceImpl implements NoteService {
 
         Note updatedNote = noteRepository.save(note);
         auditLogService.logNoteUpdate(username, updatedNote);
+        invalidateRemoteCaches(username, "userNotes", "userStats", "noteDetails");
 
         // Log user activity
         userActivityService.logActivity(username, UserActivity.ActivityType.UPDATED, "note",
                 updatedNote.getId(), updatedNote.getTitle() != null ? updatedNote.getTitle() : "Untitled Note");
 
         log.info("Note updated successfully: ID {} for user: {}", noteId, username);
-        return convertToResponseDTO(updatedNote);
+        NoteResponseDTO response = convertToResponseDTO(updatedNote);
+        publishNoteChange(noteId, wasPublic, updatedNote, response);
+        return response;
     }
 
     @Override
-    @CacheEvict(value = {"userNotes", "userStats"}, allEntries = true)
-    public void deleteNoteForUser(Long noteId, String username) {
-        log.info("Deleting note ID: {} for user: {}", noteId, username);
+    @Caching(evict = {
+            @CacheEvict(value = {"userNotes", "userStats"}, allEntries = true),
+            @CacheEvict(value = "noteDetails", key = "#noteId")
+    })
+    public NoteResponseDTO patchNoteForUser(Long noteId, NotePatchRequestDTO patch, String username) {
+        log.info("Patching note ID: {} for user: {}", noteId, username);
 
         Note note = noteRepository.findById(noteId)
                 .orElseThrow(() -> new RuntimeException("Note not found"));
 
         validateNoteOwnership(note, username);
+        checkVersion(note, patch.getBaseVersion());
+
+        List<String> changed = new ArrayList<>(4);
+        if (patch.getEdits() != null && !patch.getEdits().isEmpty()) {
+            if (patch.isPresent("content")) {
+                throw new IllegalArgumentException("Send either content or edits, not both");
+            }
+            patchContent(note, TextPatch.apply(note.getContent(), patch.getEdits()), changed);
+        } else if (patch.isPresent("content")) {
+            patchContent(note, patch.getContent(), changed);
+        }
+        if (patch.isPresent("title") && !Objects.equals(note.getTitle(), patch.getTitle())) {
+            note.setTitle(patch.getTitle());
+            changed.add("title");
+        }
+        if (patch.isPresent("description") && !Objects.equals(note.getDescription(), patch.getDescription())) {
+            note.setDescription(patch.getDescription());
+            changed.add("description");
+        }
+        if (patch.isPresent("category") && !Objects.equals(note.getCategory(), patch.getCategory())) {
+            note.setCategory(patch.getCategory());
+            changed.add("category");
+        }
+        if (changed.isEmpty()) {
+            // Nothing to write; the version stays, so the client's next patch still applies
+            return convertToResponseDTO(note);
+        }
+
+        // Flushed here so a concurrent edit (UPDATE ... AND version = ?) fails as a 409 now
+        Note updatedNote = noteRepository.saveAndFlush(note);
+        // The changed fields, not a copy of the content
+        auditLogService.logNoteChanges(username, "UPDATE", List.of(noteId), "patch v" + patch.getBaseVersion()
+                + " -> v" + updatedNote.getVersion() + ": " + String.join(", ", changed));
+        invalidateRemoteCaches(username, "userNotes", "userStats", "noteDetails");
+
+        userActivityService.logActivity(username, UserActivity.ActivityType.UPDATED, "note",
+                updatedNote.getId(), updatedNote.getTitle() != null ? updatedNote.getTitle() : "Untitled Note");
+
+        NoteResponseDTO response = convertToResponseDTO(updatedNote);
+        publishNoteChange(noteId, Boolean.TRUE.equals(updatedNote.getIsPublic()), updatedNote, response);
+        return response;
+    }
+
+    private static void patchContent(Note note, String content, List<String> changed) {
+        if (!StringUtils.hasText(content)) {
+            throw new IllegalArgumentException("Content cannot be blank");
+        }
+        if (content.length() > 10000) {
+            throw new IllegalArgumentException("Content cannot exceed 10000 characters");
+        }
+        if (!content.equals(note.getContent())) {
+            note.setContent(content);
+            changed.add("content");
+        }
+    }
+
+    private static void checkVersion(Note note, long baseVersion) {
+        if (note.getVersion() != baseVersion) {
+            throw new StaleVersionException(note.getId(), baseVersion, note.getVersion());
+        }
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(value = {"userNotes", "userStats"}, allEntries = true),
+            @CacheEvict(value = "noteDetails", key = "#noteId")
+    })
+    public void deleteNoteForUser(Long noteId, String username) {
+        log.info("Moving note ID: {} to the trash for user: {}", noteId, username);
 
-        // Store note info before deletion for activity logging
-        String noteTitle = note.getTitle();
-        Long noteIdForActivity = note.getId();
+        // Title and public flag for the activity row and the feed, without loading the note
+        List<Object[]> state = noteRepository.findFlagStateForOwner(noteId, username);
+        if (state.isEmpty()
+                || noteRepository.trashForOwner(List.of(noteId), username, LocalDateTime.now()) == 0) {
+            throw missingOrForeign(noteId);
+        }
+        boolean wasPublic = Boolean.TRUE.equals(state.get(0)[1]);
+        String noteTitle = (String) state.get(0)[3];
 
-        // Log user activity for deletion BEFORE deleting the note
         try {
-            log.info("Logging delete activity for note: {} by user: {}", noteIdForActivity, username);
-            userActivityService.logActivity(username, UserActivity.ActivityType.DELETED, "note",
-                    noteIdForActivity, noteTitle);
-            log.info("Successfully logged delete activity for note: {} by user: {}", noteIdForActivity, username);
+            userActivityService.logActivity(username, UserActivity.ActivityType.DELETED, "note", noteId, noteTitle);
         } catch (Exception e) {
-            log.error("Failed to log delete activity for note: {} by user: {}, error: {}", noteIdForActivity, username, e.getMessage());
+            log.error("Failed to log delete activity for note: {} by user: {}, error: {}", noteId, username, e.getMessage());
         }
 
         auditLogService.logNoteDeletion(username, noteId);
-        noteRepository.delete(note);
+        publishNoteChange(noteId, wasPublic, null, null);
+        if (eventPublisher != null) {
+            // Buffered autosaves for the note are dropped after commit
+            eventPublisher.publishEvent(new NotesTrashedEvent(List.of(noteId)));
+        }
+        invalidateRemoteCaches(username, "userNotes", "userStats", "noteDetails");
+
+        log.info("Note moved to the trash: ID {} for user: {}", noteId, username);
+    }
 
-        log.info("Note deleted successfully: ID {} for user: {}", noteId, username);
+    @Override
+    @Transactional(readOnly = true)
+    public Page<NoteResponseDTO> getTrashedNotes(String username, Pageable pageable) {
+        return noteRepository.findTrashByOwnerUsername(username, pageable).map(this::convertToResponseDTO);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(value = {"userNotes", "userStats"}, allEntries = true),
+            @CacheEvict(value = "noteDetails", key = "#noteId")
+    })
+    public NoteResponseDTO restoreNoteForUser(Long noteId, String username) {
+        if (noteRepository.restoreForOwner(noteId, username, LocalDateTime.now()) == 0) {
+            // Foreign notes look missing too; the trash is private
+            throw new RuntimeException("Note not found in trash with id: " + noteId);
+        }
+        Note note = noteRepository.findById(noteId)
+                .orElseThrow(() -> new RuntimeException("Note not found with id: " + noteId));
+
+        auditLogService.logNoteChanges(username, "RESTORE", List.of(noteId), null);
+        invalidateRemoteCaches(username, "userNotes", "userStats", "noteDetails");
+        userActivityService.logActivity(username, UserActivity.ActivityType.UPDATED, "note", noteId,
+                note.getTitle(), "Restored from trash");
+
+        log.info("Note restored from the trash: ID {} for user: {}", noteId, username);
+        NoteResponseDTO response = convertToResponseDTO(note);
+        publishNoteChange(noteId, false, note, response);
+        return response;
     }
 
     @Override
@@ -193,37 +375,11 @@ public class NoteServiceImpl implements NoteService {
     }
 
     @Override
-    @Cacheable(value = "userStats", key = "#username")
+    @Cacheable(value = "userStats", key = "#username", sync = true)
     @Transactional(readOnly = true)
     public Map<String, Object> getUserNotesStats(String username) {
-        log.debug("Calculating stats for user: {}", username);
-
-        Map<String, Object> stats = new HashMap<>();
-
-        // Basic counts
-        long totalNotes = noteRepository.countByOwnerUsername(username);
-        long notesThisWeek = noteRepository.countByOwnerUsernameAndCreatedAtAfter(
-                username, LocalDateTime.now().minusWeeks(1));
-        long notesThisMonth = noteRepository.countByOwnerUsernameAndCreatedAtAfter(
-                username, LocalDateTime.now().minusMonths(1));
-
-        // Content statistics
-        Double avgContentLength = noteRepository.getAverageContentLengthByOwnerUsername(username);
-        Long totalCharacters = noteRepository.getTotalCharactersByOwnerUsername(username);
-
-        // Recent activity
-        LocalDateTime lastActivity = noteRepository.getLastActivityByOwnerUsername(username);
-
-        stats.put("totalNotes", totalNotes);
-        stats.put("notesThisWeek", notesThisWeek);
-        stats.put("notesThisMonth", notesThisMonth);
-        stats.put("averageContentLength", avgContentLength != null ? Math.round(avgContentLength) : 0);
-        stats.put("totalCharacters", totalCharacters != null ? totalCharacters : 0L);
-        stats.put("lastActivity", lastActivity);
-        stats.put("hasNotes", totalNotes > 0);
-
-        log.debug("Returning stats: {}", stats);
-        return stats;
+        // sync: concurrent misses for one user wait for a single calculation
+        return userNotesStatsCalculator.calculate(username);
     }
 
     /**
@@ -266,6 +422,8 @@ public class NoteServiceImpl implements NoteService {
         dto.setShareCount(note.getShareCount());
         dto.setFavorite(note.isFavorite());
         dto.setPublic(note.getIsPublic() != null && note.getIsPublic());
+        dto.setVersion(note.getVersion());
+        dto.setDeletedAt(note.getDeletedAt());
         return dto;
     }
 
@@ -286,32 +444,120 @@ public class NoteServiceImpl implements NoteService {
         }
     }
 
-    @Override
-    @CacheEvict(value = {"userNotes", "userStats"}, allEntries = true)
-    public NoteResponseDTO toggleFavorite(Long noteId, String username) {
-        log.info("Toggling favorite status for note: {} by user: {}", noteId, username);
+    /**
+     * Tell the other nodes to drop this user's entries; local entries are
+     * evicted by the @CacheEvict annotations
+     */
+    private void invalidateRemoteCaches(String username, String... cacheNames) {
+        if (cacheInvalidationBus != null) {
+            for (String cacheName : cacheNames) {
+                cacheInvalidationBus.publish(cacheName, username);
+            }
+        }
+    }
 
-        Note note = noteRepository.findById(noteId)
-                .orElseThrow(() -> new RuntimeException("Note not found with id: " + noteId));
+    /**
+     * Let after-commit listeners (the public feed) patch their state; a note
+     * entering or leaving the public set also invalidates the other nodes' feeds
+     */
+    private void publishNoteChange(Long noteId, boolean wasPublic, Note note, NoteResponseDTO summary) {
+        NoteChangedEvent event = new NoteChangedEvent(noteId, wasPublic, note, summary);
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(event);
+        }
+        if (cacheInvalidationBus != null && (wasPublic || event.isPublic())) {
+            cacheInvalidationBus.publish(PublicNoteFeed.CACHE_NAME, CacheInvalidationBus.ALL);
+        }
+    }
 
-        validateNoteOwnership(note, username);
+    @Override
+    @Caching(evict = {
+            @CacheEvict(value = {"userNotes", "userStats"}, allEntries = true),
+            @CacheEvict(value = "noteDetails", key = "#noteId")
+    })
+    public NoteFlagResponseDTO toggleFavorite(Long noteId, String username) {
+        log.info("Toggling favorite status for note: {} by user: {}", noteId, username);
 
-        // Toggle the favorite status
-        note.setFavorite(!note.isFavorite());
-        note.setUpdatedAt(LocalDateTime.now());
+        // Flipped in the database, so concurrent toggles cannot lose one another
+        if (noteRepository.toggleFavoriteForOwner(noteId, username, LocalDateTime.now()) == 0) {
+            throw missingOrForeign(noteId);
+        }
+        return afterFlagWrite(noteId, username, NoteFlag.FAVORITE, true);
+    }
 
-        Note savedNote = noteRepository.save(note);
+    @Override
+    @Caching(evict = {
+            @CacheEvict(value = {"userNotes", "userStats"}, allEntries = true),
+            @CacheEvict(value = "noteDetails", key = "#noteId")
+    })
+    public NoteFlagResponseDTO setFlag(Long noteId, String username, NoteFlag flag, boolean value) {
+        log.info("Setting {}={} for note: {} by user: {}", flag.label(), value, noteId, username);
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = switch (flag) {
+            case FAVORITE -> noteRepository.setFavoriteIfChanged(noteId, username, value, now);
+            case PUBLIC -> noteRepository.setPublicIfChanged(noteId, username, value, now);
+            case SHARED -> noteRepository.setSharedIfChanged(noteId, username, value, now);
+        };
+        // No row means missing, foreign or already set; the state read tells them apart
+        return afterFlagWrite(noteId, username, flag, updated > 0);
+    }
 
-        // Log the action - using the existing pattern from other methods
-        auditLogService.logNoteUpdate(username, savedNote);
+    /**
+     * Reads the flag state left by the UPDATE and records the change. Only
+     * notes that are or were public are loaded in full, for the public feed.
+     */
+    private NoteFlagResponseDTO afterFlagWrite(Long noteId, String username, NoteFlag flag, boolean changed) {
+        List<Object[]> rows = noteRepository.findFlagStateForOwner(noteId, username);
+        if (rows.isEmpty()) {
+            throw missingOrForeign(noteId);
+        }
+        Object[] state = rows.get(0);
+        boolean isPublic = Boolean.TRUE.equals(state[1]);
+        boolean value = switch (flag) {
+            case FAVORITE -> Boolean.TRUE.equals(state[0]);
+            case PUBLIC -> isPublic;
+            case SHARED -> Boolean.TRUE.equals(state[2]);
+        };
+        String title = (String) state[3];
+        LocalDateTime updatedAt = (LocalDateTime) state[4];
+
+        if (changed) {
+            auditLogService.logNoteFlagChange(username, noteId, flag, value);
+            invalidateRemoteCaches(username, "userNotes", "userStats", "noteDetails");
+            userActivityService.logActivity(username, flagActivity(flag, value), "note", noteId,
+                    title != null ? title : "Untitled Note");
+
+            boolean wasPublic = flag == NoteFlag.PUBLIC ? !value : isPublic;
+            if (isPublic) {
+                Note note = noteRepository.findById(noteId)
+                        .orElseThrow(() -> new RuntimeException("Note not found with id: " + noteId));
+                publishNoteChange(noteId, wasPublic, note, convertToResponseDTO(note));
+            } else if (wasPublic) {
+                // Leaving the feed; nothing to render
+                publishNoteChange(noteId, true, null, null);
+            }
+        }
+        return new NoteFlagResponseDTO(noteId, flag.label(), value, changed, updatedAt);
+    }
 
-        // Log user activity
-        UserActivity.ActivityType activityType = savedNote.isFavorite()
-                ? UserActivity.ActivityType.FAVORITED : UserActivity.ActivityType.UNFAVORITED;
-        userActivityService.logActivity(username, activityType, "note",
-                savedNote.getId(), savedNote.getTitle() != null ? savedNote.getTitle() : "Untitled Note");
+    private static UserActivity.ActivityType flagActivity(NoteFlag flag, boolean value) {
+        return switch (flag) {
+            case FAVORITE -> value ? UserActivity.ActivityType.FAVORITED : UserActivity.ActivityType.UNFAVORITED;
+            case SHARED -> value ? UserActivity.ActivityType.SHARED : UserActivity.ActivityType.UNSHARED;
+            case PUBLIC -> UserActivity.ActivityType.UPDATED;
+        };
+    }
 
-        return convertToResponseDTO(savedNote);
+    /**
+     * Same errors as loading the note and checking ownership; only costs a
+     * query on the failure path
+     */
+    private RuntimeException missingOrForeign(Long noteId) {
+        if (noteRepository.existsById(noteId)) {
+            return new UnauthorizedAccessException("Access denied: You can only access your own notes");
+        }
+        return new RuntimeException("Note not found with id: " + noteId);
     }
 
     @Override
@@ -324,11 +570,23 @@ public class NoteServiceImpl implements NoteService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<NoteResponseDTO> getPublicNotes(Pageable pageable) {
         log.info("Fetching public notes");
 
-        Page<Note> publicNotes = noteRepository.findByIsPublicTrue(pageable);
+        String key = "public_" + pageable.getPageNumber() + '_' + pageable.getPageSize() + '_' + pageable.getSort();
+        return noteListFlights.execute(key, () -> readOnly(
+                () -> noteRepository.findByIsPublicTrue(pageable).map(this::convertToResponseDTO)));
+    }
 
-        return publicNotes.map(this::convertToResponseDTO);
+    /**
+     * Run a coalesced load in its own read-only transaction. The callers are
+     * NOT_SUPPORTED so that followers parked on the leader's result do not
+     * each hold a pooled connection; only the leader opens one.
+     */
+    private <T> T readOnly(Supplier<T> loader) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> loader.get());
     }
 }
@@ -9,12 +9,17 @@ import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.project.notes_backend.cache.CacheInvalidationBus;
+import com.project.notes_backend.cache.NoteAuthorChangedEvent;
+import com.project.notes_backend.cache.PublicNoteFeed;
 import com.project.notes_backend.dto.PasswordChangeRequestDTO;
 import com.project.notes_backend.dto.ProfileResponseDTO;
 import com.project.notes_backend.dto.ProfileUpdateRequestDTO;
@@ -51,6 +56,12 @@ public class ProfileServiceImpl implements ProfileService {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired(required = false)
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
 
@@ -71,6 +82,7 @@ public class ProfileServiceImpl implements ProfileService {
     }
 
     @Override
+    @CacheEvict(value = {"userNotes", "noteDetails"}, allEntries = true)
     public ProfileUpdateResponseDTO updateProfile(String username, ProfileUpdateRequestDTO request) {
         log.info("Updating profile for user: {}", username);
 
@@ -117,6 +129,8 @@ public class ProfileServiceImpl implements ProfileService {
         }
 
         User savedUser = userRepository.save(user);
+        // Cached note DTOs embed the author's name and picture
+        invalidateRemoteNoteCaches(username);
 
         // Generate new JWT token if username was changed
         if (usernameChanged) {
@@ -258,6 +272,7 @@ public class ProfileServiceImpl implements ProfileService {
     }
 
     @Override
+    @CacheEvict(value = {"userNotes", "noteDetails"}, allEntries = true)
     public String uploadProfilePicture(String username, MultipartFile file) {
         log.info("Uploading profile picture for user: {} - File size: {} bytes, Content type: {}",
                 username, file.getSize(), file.getContentType());
@@ -334,6 +349,7 @@ public class ProfileServiceImpl implements ProfileService {
             String profilePictureUrl = baseUrl + "/api/profile/picture/" + newFilename;
             user.setProfilePicture(profilePictureUrl);
             userRepository.save(user);
+            invalidateRemoteNoteCaches(username);
 
             log.info("Profile picture uploaded successfully for user: {}", username);
             return profilePictureUrl;
@@ -345,6 +361,7 @@ public class ProfileServiceImpl implements ProfileService {
     }
 
     @Override
+    @CacheEvict(value = {"userNotes", "noteDetails"}, allEntries = true)
     public void deleteProfilePicture(String username) {
         log.info("Deleting profile picture for user: {}", username);
 
@@ -355,10 +372,22 @@ public class ProfileServiceImpl implements ProfileService {
             deleteOldProfilePicture(user.getProfilePicture());
             user.setProfilePicture(null);
             userRepository.save(user);
+            invalidateRemoteNoteCaches(username);
             log.info("Profile picture deleted successfully for user: {}", username);
         }
     }
 
+    private void invalidateRemoteNoteCaches(String username) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new NoteAuthorChangedEvent(username));
+        }
+        if (cacheInvalidationBus != null) {
+            cacheInvalidationBus.publish("userNotes", username);
+            cacheInvalidationBus.publish("noteDetails", username);
+            cacheInvalidationBus.publish(PublicNoteFeed.CACHE_NAME, username);
+        }
+    }
+
     private void deleteOldProfilePicture(String profilePictureUrl) {
         try {
             if (profilePictureUrl != null && profilePictureUrl.contains("/api/profile/picture/")) {
@@ -0,0 +1,59 @@
+package com.project.notes_backend.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.notes_backend.repository.NoteRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Uncached stats queries behind the userStats cache. Kept out of
+ * NoteServiceImpl so the cache's background refresh can recompute an entry
+ * without going back through the @Cacheable proxy, which would just return
+ * the stale value being replaced.
+ */
+@Component
+@Transactional(readOnly = true)
+@Slf4j
+public class UserNotesStatsCalculator {
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    public Map<String, Object> calculate(String username) {
+        log.debug("Calculating stats for user: {}", username);
+
+        Map<String, Object> stats = new HashMap<>();
+
+        // Basic counts
+        long totalNotes = noteRepository.countByOwnerUsername(username);
+        long notesThisWeek = noteRepository.countByOwnerUsernameAndCreatedAtAfter(
+                username, LocalDateTime.now().minusWeeks(1));
+        long notesThisMonth = noteRepository.countByOwnerUsernameAndCreatedAtAfter(
+                username, LocalDateTime.now().minusMonths(1));
+
+        // Content statistics
+        Double avgContentLength = noteRepository.getAverageContentLengthByOwnerUsername(username);
+        Long totalCharacters = noteRepository.getTotalCharactersByOwnerUsername(username);
+
+        // Recent activity
+        LocalDateTime lastActivity = noteRepository.getLastActivityByOwnerUsername(username);
+
+        stats.put("totalNotes", totalNotes);
+        stats.put("notesThisWeek", notesThisWeek);
+        stats.put("notesThisMonth", notesThisMonth);
+        stats.put("averageContentLength", avgContentLength != null ? Math.round(avgContentLength) : 0);
+        stats.put("totalCharacters", totalCharacters != null ? totalCharacters : 0L);
+        stats.put("lastActivity", lastActivity);
+        stats.put("hasNotes", totalNotes > 0);
+
+        log.debug("Returning stats: {}", stats);
+        return stats;
+    }
+}
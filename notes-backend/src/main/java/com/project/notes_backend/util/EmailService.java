@@ -1,22 +1,43 @@
 package com.project.notes_backend.util;
 
+import java.util.concurrent.ExecutorService;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import lombok.extern.slf4j.Slf4j;
+
 @Service
+@Slf4j
 public class EmailService {
 
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired
+    @Qualifier("outboundExecutor")
+    private ExecutorService outboundExecutor;
+
+    /**
+     * Sent in the background: the SMTP round trip no longer holds the request
+     * thread, and the response time no longer depends on whether mail went out
+     */
     public void sendPasswordResetEmail(String to, String resetUrl) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(to);
         message.setSubject("Password Reset Request");
         message.setText("Click the link to reset your password: " + resetUrl);
-        mailSender.send(message);
+        outboundExecutor.execute(() -> {
+            try {
+                mailSender.send(message);
+            } catch (MailException e) {
+                log.error("Failed to send password reset email: {}", e.getMessage());
+            }
+        });
     }
 
 }
@@ -0,0 +1,40 @@
+package com.project.notes_backend.util;
+
+import java.util.List;
+
+import com.project.notes_backend.dto.NotePatchRequestDTO.TextEdit;
+
+/**
+ * Applies PATCH text edits to the content they were computed against.
+ */
+public final class TextPatch {
+
+    private TextPatch() {
+    }
+
+    /**
+     * @throws IllegalArgumentException when an edit is out of range or
+     *                                  overlaps the previous one
+     */
+    public static String apply(String base, List<TextEdit> edits) {
+        String text = base != null ? base : "";
+        StringBuilder result = new StringBuilder(text.length() + 64);
+        int copied = 0;
+        for (TextEdit edit : edits) {
+            int start = edit.getOffset();
+            int end = start + edit.getDelete();
+            if (start < copied) {
+                throw new IllegalArgumentException("Edits must be sorted and must not overlap");
+            }
+            if (end > text.length() || end < start) {
+                throw new IllegalArgumentException("Edit at offset " + start + " is outside the base content");
+            }
+            result.append(text, copied, start);
+            if (edit.getInsert() != null) {
+                result.append(edit.getInsert());
+            }
+            copied = end;
+        }
+        return result.append(text, copied, text.length()).toString();
+    }
+}
@@ -0,0 +1,136 @@
+package com.project.notes_backend.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.project.notes_backend.model.PooledSequences;
+
+/**
+ * Inserting a burst of notes the way Hibernate does with an IDENTITY column
+ * (one statement and one generated-key read per row) against a pooled
+ * sequence (one nextval per ALLOCATION_SIZE rows, ids bound up front, rows
+ * sent with executeBatch). Uses an in-memory H2 database, so it shows the
+ * per-statement overhead only; against Postgres every saved round trip also
+ * saves network latency. Run the main method from the IDE, or after
+ * "mvn test-compile" with the test classpath on the JVM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:bulk_insert;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE identity_notes (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "content VARCHAR(10000), owner_username VARCHAR(255))");
+            statement.execute("CREATE TABLE sequence_notes (id BIGINT PRIMARY KEY, "
+                    + "content VARCHAR(10000), owner_username VARCHAR(255))");
+            statement.execute("CREATE SEQUENCE " + PooledSequences.NOTES
+                    + " START WITH 1 INCREMENT BY " + PooledSequences.ALLOCATION_SIZE);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE identity_notes");
+            statement.execute("TRUNCATE TABLE sequence_notes");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long identityColumn() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO identity_notes (content, owner_username) VALUES (?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < rows; i++) {
+                insert.setString(1, "note " + i);
+                insert.setString(2, "alice");
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    public long pooledSequence() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement nextValue = connection.prepareStatement("SELECT NEXT VALUE FOR " + PooledSequences.NOTES);
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO sequence_notes (id, content, owner_username) VALUES (?, ?, ?)")) {
+            long next = 1;
+            long hi = 0;
+            for (int i = 0; i < rows; i++) {
+                if (next > hi) {
+                    try (ResultSet value = nextValue.executeQuery()) {
+                        value.next();
+                        hi = value.getLong(1);
+                    }
+                    next = Math.max(1, hi - PooledSequences.ALLOCATION_SIZE + 1);
+                }
+                lastId = next++;
+                insert.setLong(1, lastId);
+                insert.setString(2, "note " + i);
+                insert.setString(3, "alice");
+                insert.addBatch();
+                if ((i + 1) % PooledSequences.ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+package com.project.notes_backend.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.RateLimitingConfig.RateLimitTier;
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.filter.RouteDescriptor;
+import com.project.notes_backend.ratelimit.CompactTokenBucketStore;
+import com.project.notes_backend.ratelimit.RateLimitKey;
+import com.project.notes_backend.ratelimit.RateLimitKeyFactory;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+
+/**
+ * Allowed-request cost of the limiter: composite key + thread-local probe
+ * against the old String.format key with tryConsumeAndReturnRemaining, and
+ * the same key against the compact primitive store. Add
+ * "-prof gc" to the JMH options to see the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final String USER = "alice";
+    private static final String IP = "203.0.113.9";
+
+    private RateLimitingConfig config;
+    private RateLimitKeyFactory keyFactory;
+    private RouteDescriptor route;
+    private Cache<RateLimitKey, Bucket> keyedCache;
+    private Cache<String, Bucket> stringCache;
+    private CompactTokenBucketStore compactStore;
+    private int compactProfile;
+
+    @Setup
+    public void setUp() {
+        RouteClassifier classifier = new RouteClassifier();
+        config = new RateLimitingConfig();
+        config.setAuthenticatedBurstLimit(1_000_000_000L);
+        config.setAuthenticatedRequestsPerMinute(1_000_000_000L);
+        keyFactory = new RateLimitKeyFactory(classifier);
+        route = classifier.classify("GET", "/api/profile");
+        keyedCache = Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(60)).build();
+        stringCache = Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(60)).build();
+        compactStore = new CompactTokenBucketStore(1 << 16, 16, Duration.ofMinutes(60).toMillis());
+        compactProfile = compactStore.registerProfile(CompactTokenBucketStore.MAX_TOKENS, 1_000_000_000L, 60_000L);
+    }
+
+    @Benchmark
+    public boolean compositeKey() {
+        RateLimitKey probe = keyFactory.probe(USER, IP, 0, IP.length(), route);
+        Bucket bucket = keyedCache.getIfPresent(probe);
+        if (bucket == null) {
+            bucket = keyedCache.get(keyFactory.immutableCopy(probe),
+                    k -> config.createBucket(RateLimitTier.AUTHENTICATED, k.getEndpoint()));
+        }
+        return bucket.tryConsume(1);
+    }
+
+    @Benchmark
+    public boolean compactPrimitiveStore() {
+        RateLimitKey probe = keyFactory.probe(USER, IP, 0, IP.length(), route);
+        return compactStore.tryConsume(probe.fingerprint(), compactProfile, 1);
+    }
+
+    @Benchmark
+    public boolean legacyStringKey() {
+        String key = String.format("user:%s:ip:%s:endpoint:%s", USER, IP, route.getEndpoint());
+        Bucket bucket = stringCache.get(key, k -> Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(1_000_000_000L)
+                        .refillIntervally(1_000_000_000L, Duration.ofMinutes(1))
+                        .build())
+                .build());
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        return probe.isConsumed() && probe.getRemainingTokens() >= bucket.getAvailableTokens() * 0.1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimiterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.notes_backend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.project.notes_backend.filter.RouteClassifier;
+
+/**
+ * Per-request classification cost: the precompiled trie against the three
+ * string/regex passes the filters used to make. Run the main method from the
+ * IDE, or after "mvn test-compile" with the test classpath on the JVM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteClassifierBenchmark {
+
+    @Param({"/api/notes/12345/favorite", "/api/notes/search", "/auth/public/signin", "/api/profile/picture/a.png"})
+    public String uri;
+
+    private RouteClassifier classifier;
+
+    @Setup
+    public void setUp() {
+        classifier = new RouteClassifier();
+    }
+
+    @Benchmark
+    public void trie(Blackhole blackhole) {
+        blackhole.consume(classifier.classify("GET", uri));
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        blackhole.consume(legacyIsPublicEndpoint(uri));
+        blackhole.consume(legacyShouldSkipRateLimit(uri, "GET"));
+        blackhole.consume(legacyEndpointPattern(uri));
+    }
+
+    // Copies of the pre-classifier logic kept here as the baseline
+    private static boolean legacyIsPublicEndpoint(String requestPath) {
+        return requestPath.startsWith("/auth/public/")
+                || requestPath.startsWith("/api/auth/public/")
+                || requestPath.startsWith("/oauth2/")
+                || requestPath.startsWith("/login")
+                || requestPath.equals("/error")
+                || requestPath.equals("/favicon.ico")
+                || requestPath.startsWith("/actuator/")
+                || requestPath.startsWith("/swagger-ui/")
+                || requestPath.equals("/swagger-ui.html")
+                || requestPath.startsWith("/api-docs")
+                || requestPath.startsWith("/v3/api-docs/")
+                || requestPath.startsWith("/swagger-resources/")
+                || requestPath.startsWith("/webjars/");
+    }
+
+    private static boolean legacyShouldSkipRateLimit(String uri, String method) {
+        if (uri.contains("/static/") || uri.contains("/css/") || uri.contains("/js/")
+                || uri.contains("/images/") || uri.endsWith(".ico")) {
+            return true;
+        }
+        if (uri.startsWith("/actuator/") || uri.equals("/health") || uri.equals("/info")) {
+            return true;
+        }
+        return "OPTIONS".equalsIgnoreCase(method);
+    }
+
+    private static String legacyEndpointPattern(String requestURI) {
+        if (requestURI.startsWith("/api/notes/")) {
+            if (requestURI.matches("/api/notes/\\d+.*")) {
+                return "/api/notes/{id}";
+            } else if (requestURI.contains("/favorites")) {
+                return "/api/notes/favorites";
+            } else if (requestURI.contains("/stats")) {
+                return "/api/notes/stats";
+            } else if (requestURI.contains("/search")) {
+                return "/api/notes/search";
+            }
+            return "/api/notes";
+        } else if (requestURI.startsWith("/api/activities/")) {
+            if (requestURI.contains("/recent")) {
+                return "/api/activities/recent";
+            }
+            return "/api/activities";
+        } else if (requestURI.startsWith("/api/auth/")) {
+            if (requestURI.contains("/login")) {
+                return "/api/auth/login";
+            } else if (requestURI.contains("/register")) {
+                return "/api/auth/register";
+            } else if (requestURI.contains("/refresh")) {
+                return "/api/auth/refresh";
+            }
+            return "/api/auth";
+        } else if (requestURI.startsWith("/api/admin/")) {
+            return "/api/admin/**";
+        }
+        return requestURI;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteClassifierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
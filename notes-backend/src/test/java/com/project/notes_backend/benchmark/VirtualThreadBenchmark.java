@@ -0,0 +1,113 @@
+package com.project.notes_backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Burst of blocking requests on Tomcat's default platform pool (200 threads)
+ * against one virtual thread per request, both with a JDBC gate sized like
+ * the default Hikari pool. Each request waits on "the network" outside the
+ * gate and on "the database" inside it, so the comparison shows how much of
+ * the burst each model keeps in flight. Run the main method from the IDE, or
+ * after "mvn test-compile" with the test classpath on the JVM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"2000"})
+    public int requests;
+
+    @Param({"10"})
+    public int jdbcPermits;
+
+    @Param({"2"})
+    public long externalMillis;
+
+    @Param({"1"})
+    public long databaseMillis;
+
+    private ExecutorService platform;
+    private ExecutorService virtual;
+    private Semaphore gate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        platform = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        virtual = Executors.newVirtualThreadPerTaskExecutor();
+        gate = new Semaphore(jdbcPermits, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        platform.shutdownNow();
+        virtual.shutdownNow();
+    }
+
+    @Benchmark
+    public int platformThreadPool() throws Exception {
+        return burst(platform);
+    }
+
+    @Benchmark
+    public int virtualThreads() throws Exception {
+        return burst(virtual);
+    }
+
+    private int burst(ExecutorService executor) throws Exception {
+        List<Future<Integer>> calls = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            calls.add(executor.submit(this::handle));
+        }
+        int done = 0;
+        for (Future<Integer> call : calls) {
+            done += call.get();
+        }
+        return done;
+    }
+
+    private int handle() throws InterruptedException {
+        Thread.sleep(externalMillis);
+        gate.acquire();
+        try {
+            Thread.sleep(databaseMillis);
+        } finally {
+            gate.release();
+        }
+        return 1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VirtualThreadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,128 @@
+package com.project.notes_backend.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.project.notes_backend.dto.NoteResponseDTO;
+
+class LoopbackCacheInvalidationBusTest {
+
+    private final CacheManager nodeA = new ConcurrentMapCacheManager("userNotes", "userStats", "noteDetails");
+    private final CacheManager nodeB = new ConcurrentMapCacheManager("userNotes", "userStats", "noteDetails");
+    private final LoopbackCacheInvalidationBus busA = new LoopbackCacheInvalidationBus(new LocalCacheEvictor(nodeA), 7500);
+    private final LoopbackCacheInvalidationBus busB = new LoopbackCacheInvalidationBus(new LocalCacheEvictor(nodeB), 7500);
+
+    @BeforeEach
+    void setUp() {
+        busA.join();
+        busB.join();
+        for (CacheManager node : List.of(nodeA, nodeB)) {
+            node.getCache("userStats").put("alice", "stats");
+            node.getCache("userStats").put("bob", "stats");
+            node.getCache("userNotes").put(page("alice"), "page");
+            node.getCache("userNotes").put(page("bob"), "page");
+            node.getCache("noteDetails").put(1L, note("alice"));
+            node.getCache("noteDetails").put(2L, note("bob"));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        busA.leave();
+        busB.leave();
+    }
+
+    @Test
+    void testRemoteNodeEvictsOnlyThatUsersEntries() {
+        busA.publish("userStats", "alice");
+        busA.publish("userNotes", "alice");
+        busA.publish("noteDetails", "alice");
+        busA.flush();
+
+        assertNull(nodeB.getCache("userStats").get("alice"));
+        assertNull(nodeB.getCache("userNotes").get(page("alice")));
+        assertNull(nodeB.getCache("noteDetails").get(1L));
+        assertNotNull(nodeB.getCache("userStats").get("bob"));
+        assertNotNull(nodeB.getCache("userNotes").get(page("bob")));
+        assertNotNull(nodeB.getCache("noteDetails").get(2L));
+
+        // The sender already evicted through @CacheEvict and ignores its own payload
+        assertNotNull(nodeA.getCache("userStats").get("alice"));
+    }
+
+    @Test
+    void testOwnerIsMatchedExactly() {
+        nodeB.getCache("userStats").put("bob_smith", "stats");
+        nodeB.getCache("userNotes").put(page("bob_smith"), "page");
+        nodeB.getCache("noteDetails").put(3L, note("bob_smith"));
+
+        busA.publish("userStats", "bob");
+        busA.publish("userNotes", "bob");
+        busA.publish("noteDetails", "bob");
+        busA.flush();
+
+        assertNull(nodeB.getCache("userNotes").get(page("bob")));
+        assertNotNull(nodeB.getCache("userStats").get("bob_smith"));
+        assertNotNull(nodeB.getCache("userNotes").get(page("bob_smith")));
+        assertNotNull(nodeB.getCache("noteDetails").get(3L));
+    }
+
+    @Test
+    void testBurstIsCoalescedIntoOnePayload() {
+        for (int i = 0; i < 100; i++) {
+            busA.publish("userNotes", "alice");
+            busA.publish("userStats", "alice");
+        }
+        busA.flush();
+
+        assertEquals(1, busA.getSentPayloads());
+        assertEquals(2, busB.getReceivedEntries());
+    }
+
+    @Test
+    void testWholeCacheEntrySupersedesUserEntries() {
+        List<String> payloads = busA.encode(List.of("userNotes:alice", "userNotes:*", "userStats:bob"));
+
+        assertEquals(1, payloads.size());
+        assertEquals(busA.getNodeId() + "\nuserNotes:*\nuserStats:bob", payloads.get(0));
+    }
+
+    @Test
+    void testLargeBatchesAreSplitBySize() {
+        LoopbackCacheInvalidationBus small = new LoopbackCacheInvalidationBus(new LocalCacheEvictor(nodeA), 100);
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            entries.add("userStats:user" + i);
+        }
+
+        List<String> payloads = small.encode(entries);
+
+        int received = 0;
+        for (String payload : payloads) {
+            assertTrue(payload.length() <= 100);
+            received += payload.split("\n").length - 1;
+        }
+        assertEquals(50, received);
+    }
+
+    private static UserNotesKey page(String owner) {
+        return UserNotesKey.of(owner, null, null, false, "createdAt", "desc", PageRequest.of(0, 20));
+    }
+
+    private static NoteResponseDTO note(String owner) {
+        NoteResponseDTO dto = new NoteResponseDTO();
+        dto.setOwnerUsername(owner);
+        return dto;
+    }
+}
@@ -0,0 +1,145 @@
+package com.project.notes_backend.cache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notes_backend.config.PublicFeedConfig;
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.model.Note;
+import com.project.notes_backend.service.NoteService;
+
+@ExtendWith(MockitoExtension.class)
+class PublicNoteFeedTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private ObjectProvider<NoteService> noteServiceProvider;
+
+    @Mock
+    private NoteService noteService;
+
+    @Spy
+    private PublicFeedConfig config = new PublicFeedConfig();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private PublicNoteFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        config.setWindowSize(10);
+        lenient().when(noteServiceProvider.getObject()).thenReturn(noteService);
+    }
+
+    @Test
+    void testPagesAreServedFromMemoryAfterFirstLoad() throws Exception {
+        givenPublicNotes(3, 3);
+
+        byte[] first = feed.pageJson(page(0, 2));
+        byte[] again = feed.pageJson(page(0, 2));
+
+        assertSame(first, again);
+        JsonNode json = objectMapper.readTree(first);
+        assertEquals(2, json.get("content").size());
+        assertEquals(3L, json.get("content").get(0).get("id").asLong());
+        assertEquals(3, json.get("totalElements").asInt());
+        verify(noteService, times(1)).getPublicNotes(any(Pageable.class));
+    }
+
+    @Test
+    void testNoteMadePublicIsInsertedAtTheTop() throws Exception {
+        givenPublicNotes(3, 3);
+        feed.pageJson(page(0, 5));
+
+        feed.onNoteChanged(new NoteChangedEvent(42L, false, note(42L, true, NOW.plusHours(1)), dto(42L, NOW)));
+
+        JsonNode json = objectMapper.readTree(feed.pageJson(page(0, 5)));
+        assertEquals(4, json.get("totalElements").asInt());
+        assertEquals(42L, json.get("content").get(0).get("id").asLong());
+    }
+
+    @Test
+    void testNoteMadePrivateIsRemoved() throws Exception {
+        givenPublicNotes(3, 3);
+        feed.pageJson(page(0, 5));
+
+        feed.onNoteChanged(new NoteChangedEvent(2L, true, note(2L, false, NOW), dto(2L, NOW)));
+
+        JsonNode json = objectMapper.readTree(feed.pageJson(page(0, 5)));
+        assertEquals(2, json.get("totalElements").asInt());
+        assertEquals(3L, json.get("content").get(0).get("id").asLong());
+        assertEquals(1L, json.get("content").get(1).get("id").asLong());
+    }
+
+    @Test
+    void testPagesBeyondPartialWindowFallBack() {
+        givenPublicNotes(10, 50);
+
+        assertNotNull(feed.pageJson(page(0, 10)));
+        assertNull(feed.pageJson(page(1, 10)));
+    }
+
+    @Test
+    void testOtherSortOrdersFallBack() {
+        assertNull(feed.pageJson(PageRequest.of(0, 20, Sort.by("title"))));
+    }
+
+    private void givenPublicNotes(int loaded, long total) {
+        List<NoteResponseDTO> notes = new ArrayList<>();
+        for (long id = loaded; id >= 1; id--) {
+            notes.add(dto(id, NOW.minusMinutes(loaded - id)));
+        }
+        when(noteService.getPublicNotes(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(notes, PageRequest.of(0, 10, PublicNoteFeed.FEED_SORT), total));
+    }
+
+    private static Pageable page(int number, int size) {
+        return PageRequest.of(number, size, PublicNoteFeed.FEED_SORT);
+    }
+
+    private static NoteResponseDTO dto(long id, LocalDateTime updatedAt) {
+        NoteResponseDTO dto = new NoteResponseDTO();
+        dto.setId(id);
+        dto.setTitle("Note " + id);
+        dto.setOwnerUsername("alice");
+        dto.setUpdatedAt(updatedAt);
+        dto.setPublic(true);
+        return dto;
+    }
+
+    private static Note note(long id, boolean isPublic, LocalDateTime updatedAt) {
+        Note note = new Note();
+        note.setId(id);
+        note.setIsPublic(isPublic);
+        note.setUpdatedAt(updatedAt);
+        return note;
+    }
+}
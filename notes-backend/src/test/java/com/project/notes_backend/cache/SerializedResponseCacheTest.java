@@ -0,0 +1,119 @@
+package com.project.notes_backend.cache;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.project.notes_backend.config.ResponseCacheConfig;
+
+class SerializedResponseCacheTest {
+
+    private final ResponseCacheConfig config = new ResponseCacheConfig();
+    private final SerializedResponseCache cache = new SerializedResponseCache();
+
+    @BeforeEach
+    void setUp() {
+        config.setGzipMinBytes(100);
+        ReflectionTestUtils.setField(cache, "config", config);
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        cache.init();
+    }
+
+    @Test
+    void testSameValueReusesSerializedBytes() {
+        Map<String, Object> stats = Map.of("totalNotes", 3);
+
+        byte[] first = cache.ok(stats, null).getBody();
+        byte[] second = cache.ok(stats, null).getBody();
+
+        assertSame(first, second);
+        assertEquals("{\"totalNotes\":3}", new String(first));
+    }
+
+    @Test
+    void testNewValueInstanceIsSerializedAgain() {
+        Map<String, Object> stats = new HashMap<>(Map.of("totalNotes", 3));
+        byte[] first = cache.ok(stats, null).getBody();
+
+        // What a service cache returns after an eviction: equal content, new instance
+        byte[] second = cache.ok(new HashMap<>(stats), null).getBody();
+
+        assertNotSame(first, second);
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void testLargeBodiesAreGzippedForClientsThatAcceptIt() throws Exception {
+        Map<String, Object> body = Map.of("content", "x".repeat(1000));
+
+        ResponseEntity<byte[]> plain = cache.ok(body, null);
+        ResponseEntity<byte[]> gzipped = cache.ok(body, "gzip, deflate, br");
+
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(plain.getBody(), in.readAllBytes());
+        }
+        assertSame(gzipped.getBody(), cache.ok(body, "gzip").getBody());
+    }
+
+    @Test
+    void testSmallBodiesAreSentUncompressed() {
+        ResponseEntity<byte[]> response = cache.ok(Map.of("a", 1), "gzip");
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testGzipCopyIsChargedToTheEntryWeight() {
+        Map<String, Object> body = Map.of("content", "x".repeat(1000));
+
+        int json = cache.ok(body, null).getBody().length;
+        assertEquals(json, weightedSize());
+
+        int gzip = cache.ok(body, "gzip").getBody().length;
+        assertEquals(json + gzip, weightedSize());
+    }
+
+    @Test
+    void testAcceptEncodingQValues() {
+        assertTrue(SerializedResponseCache.acceptsGzip("gzip"));
+        assertTrue(SerializedResponseCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(SerializedResponseCache.acceptsGzip("*"));
+        assertFalse(SerializedResponseCache.acceptsGzip(null));
+        assertFalse(SerializedResponseCache.acceptsGzip("gzip;q=0"));
+        assertFalse(SerializedResponseCache.acceptsGzip("gzip; q=0.000, *"));
+        assertFalse(SerializedResponseCache.acceptsGzip("br, *;q=0"));
+        assertFalse(SerializedResponseCache.acceptsGzip("deflate, br"));
+    }
+
+    @Test
+    void testRefusedGzipGetsPlainBody() {
+        ResponseEntity<byte[]> response = cache.ok(Map.of("content", "x".repeat(1000)), "gzip;q=0, identity");
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @SuppressWarnings("unchecked")
+    private long weightedSize() {
+        Cache<Object, ?> responses = (Cache<Object, ?>) ReflectionTestUtils.getField(cache, "responses");
+        responses.cleanUp();
+        return responses.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+    }
+}
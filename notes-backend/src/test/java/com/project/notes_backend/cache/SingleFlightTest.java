@@ -0,0 +1,87 @@
+package com.project.notes_backend.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Object> flights = new SingleFlight<>();
+
+    @Test
+    void testConcurrentCallsShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> calls = new ArrayList<>();
+            calls.add(executor.submit(() -> flights.execute("alice_page0", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return result;
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                calls.add(executor.submit(() -> flights.execute("alice_page0", () -> {
+                    executions.incrementAndGet();
+                    return new Object();
+                })));
+            }
+            while (flights.getSharedCount() < 7) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<Object> call : calls) {
+                assertSame(result, call.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals(0, flights.getInFlightCount());
+    }
+
+    @Test
+    void testCompletedCallsAreNotReused() {
+        AtomicInteger executions = new AtomicInteger();
+
+        flights.execute("key", executions::incrementAndGet);
+        flights.execute("key", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testFailureIsRethrownAndForgotten() {
+        assertThrows(IllegalStateException.class, () -> flights.execute("key", () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        assertEquals("ok", flights.execute("key", () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
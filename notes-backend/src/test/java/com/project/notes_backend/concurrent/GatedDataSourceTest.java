@@ -0,0 +1,66 @@
+package com.project.notes_backend.concurrent;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GatedDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final GatedDataSource gated = new GatedDataSource(pool, 2, 50);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void testConnectionsBeyondPermitsTimeOut() throws SQLException {
+        gated.getConnection();
+        gated.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, gated::getConnection);
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    void testCloseReleasesPermitOnce() throws SQLException {
+        Connection first = gated.getConnection();
+        gated.getConnection();
+
+        first.close();
+        first.close();
+
+        assertEquals(1, gated.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void testPoolFailureReturnsPermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, gated::getConnection);
+        assertEquals(2, gated.getAvailablePermits());
+    }
+
+    @Test
+    void testCallsAreDelegated() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+
+        Connection gatedConnection = gated.getConnection();
+
+        assertEquals(true, gatedConnection.getAutoCommit());
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.notes_backend.config;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notes_backend.cache.RefreshingCacheLoader;
+import com.project.notes_backend.config.CacheConfig.CacheSpec;
+
+class CacheConfigTest {
+
+    private final CacheConfig cacheConfig = new CacheConfig();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testConcurrentMissesLoadOnce() throws Exception {
+        CaffeineCache cache = new CaffeineCache("userStats", cacheConfig.buildCache("userStats",
+                new CacheSpec(100L, null, Duration.ofMinutes(10), null, null), objectMapper, loader(() -> "unused")));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    return cache.get("alice", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(100);
+                        return "stats";
+                    });
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals("stats", cache.get("alice").get());
+    }
+
+    @Test
+    void testStaleValueServedWhileRefreshing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CaffeineCache cache = new CaffeineCache("userStats", cacheConfig.buildCache("userStats",
+                new CacheSpec(100L, null, Duration.ofMinutes(10), null, Duration.ofMillis(50)), objectMapper,
+                loader(() -> {
+                    release.await();
+                    return "new";
+                })));
+        cache.put("alice", "old");
+        Thread.sleep(100);
+
+        // Triggers the refresh but does not wait for it
+        assertEquals("old", cache.get("alice").get());
+        assertEquals("old", cache.get("alice").get());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"new".equals(cache.get("alice").get()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("new", cache.get("alice").get());
+    }
+
+    private static RefreshingCacheLoader loader(Callable<Object> value) {
+        return new RefreshingCacheLoader() {
+            @Override
+            public String getCacheName() {
+                return "userStats";
+            }
+
+            @Override
+            public Object load(Object key) throws Exception {
+                return value.call();
+            }
+        };
+    }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
@@ -15,6 +16,7 @@ import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -24,19 +26,38 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notes_backend.cache.PublicNoteFeed;
+import com.project.notes_backend.cache.SerializedResponseCache;
+import com.project.notes_backend.config.LoadSheddingConfig;
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.ResponseCacheConfig;
+import com.project.notes_backend.dto.NotePatchRequestDTO;
 import com.project.notes_backend.dto.NoteRequestDTO;
 import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.exception.StaleVersionException;
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.ratelimit.RouteCostModel;
 import com.project.notes_backend.security.UserDetailsServiceImpl;
 import com.project.notes_backend.security.jwt.JwtUtils;
+import com.project.notes_backend.service.NoteBatchService;
+import com.project.notes_backend.service.NoteDraftService;
+import com.project.notes_backend.service.NoteExportService;
+import com.project.notes_backend.service.NoteImportService;
 import com.project.notes_backend.service.NoteService;
+import com.project.notes_backend.service.RateLimitService;
 
+// The servlet filters are part of the slice; their collaborators are the real
+// lightweight beans, except the rate limiter, which is mocked to admit everything
 @WebMvcTest(NoteController.class)
+@Import({SerializedResponseCache.class, ResponseCacheConfig.class, LoadSheddingConfig.class,
+    RateLimitingConfig.class, RouteClassifier.class, RouteCostModel.class})
 class NoteControllerTest {
 
     @Autowired
@@ -45,6 +66,24 @@ class NoteControllerTest {
     @MockBean
     private NoteService noteService;
 
+    @MockBean
+    private PublicNoteFeed publicNoteFeed;
+
+    @MockBean
+    private NoteExportService noteExportService;
+
+    @MockBean
+    private NoteBatchService noteBatchService;
+
+    @MockBean
+    private NoteImportService noteImportService;
+
+    @MockBean
+    private NoteDraftService noteDraftService;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
     @MockBean
     private JwtUtils jwtUtils;
 
@@ -59,6 +98,8 @@ class NoteControllerTest {
 
     @BeforeEach
     void setUp() {
+        when(rateLimitService.allowRequest(any(), any())).thenReturn(true);
+
         noteRequestDTO = NoteRequestDTO.builder()
                 .title("Test Note")
                 .content("Test Content")
@@ -159,6 +200,36 @@ class NoteControllerTest {
         verify(noteService, times(1)).updateNoteForUser(eq(1L), any(NoteRequestDTO.class), eq("testuser"));
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void testPatchNoteKeepsExplicitNulls() throws Exception {
+        when(noteService.patchNoteForUser(eq(1L), any(NotePatchRequestDTO.class), eq("testuser")))
+                .thenReturn(noteResponseDTO);
+
+        mockMvc.perform(patch("/api/notes/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"baseVersion\":3,\"title\":null,\"edits\":[{\"offset\":0,\"delete\":4,\"insert\":\"Best\"}]}")
+                .with(csrf()))
+                .andExpect(status().isOk());
+
+        verify(noteService).patchNoteForUser(eq(1L), argThat(patch -> patch.getBaseVersion() == 3
+                && patch.isPresent("title") && patch.getTitle() == null
+                && !patch.isPresent("content") && patch.getEdits().size() == 1), eq("testuser"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testPatchNoteWithStaleVersionIsConflict() throws Exception {
+        when(noteService.patchNoteForUser(eq(1L), any(NotePatchRequestDTO.class), eq("testuser")))
+                .thenThrow(new StaleVersionException(1L, 2, 3));
+
+        mockMvc.perform(patch("/api/notes/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"baseVersion\":2,\"content\":\"new\"}")
+                .with(csrf()))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void testDeleteNote() throws Exception {
@@ -170,4 +241,17 @@ class NoteControllerTest {
 
         verify(noteService, times(1)).deleteNoteForUser(1L, "testuser");
     }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testRestoreNote() throws Exception {
+        when(noteService.restoreNoteForUser(1L, "testuser"))
+                .thenReturn(NoteResponseDTO.builder().id(1L).content("back").version(3L).build());
+
+        mockMvc.perform(post("/api/notes/1/restore")
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.version").value(3));
+    }
 }
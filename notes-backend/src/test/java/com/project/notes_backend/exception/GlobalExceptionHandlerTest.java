@@ -206,4 +206,14 @@ class GlobalExceptionHandlerTest {
         assertEquals(response1.getMessage(), response2.getMessage());
         assertEquals(response1.getPath(), response2.getPath());
     }
+
+    @Test
+    void testHandleStaleVersion() {
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleStaleVersion(
+                new StaleVersionException(5L, 3, 4), request);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().getMessage().contains("current version is 4"));
+    }
 }
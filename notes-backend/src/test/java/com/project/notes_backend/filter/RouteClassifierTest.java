@@ -0,0 +1,81 @@
+package com.project.notes_backend.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class RouteClassifierTest {
+
+    private final RouteClassifier classifier = new RouteClassifier();
+
+    @Test
+    void testNoteRoutesAreNormalized() {
+        assertEquals("/api/notes", classifier.classify("GET", "/api/notes").getEndpoint());
+        assertEquals("/api/notes/{id}", classifier.classify("GET", "/api/notes/42").getEndpoint());
+        assertEquals("/api/notes/{id}", classifier.classify("POST", "/api/notes/42/favorite").getEndpoint());
+        assertEquals("/api/notes/{id}/draft", classifier.classify("PUT", "/api/notes/42/draft").getEndpoint());
+        assertEquals("/api/notes/{id}/draft", classifier.classify("POST", "/api/notes/7/draft/commit").getEndpoint());
+        assertEquals("/api/notes/trash", classifier.classify("GET", "/api/notes/trash").getEndpoint());
+        assertEquals("/api/notes/search", classifier.classify("GET", "/api/notes/search").getEndpoint());
+        assertEquals("/api/notes/stats", classifier.classify("GET", "/api/notes/stats").getEndpoint());
+        assertEquals("/api/notes/favorites", classifier.classify("GET", "/api/notes/favorites").getEndpoint());
+        assertEquals("/api/notes/public", classifier.classify("GET", "/api/notes/public").getEndpoint());
+        assertEquals("/api/notes/export", classifier.classify("GET", "/api/notes/export").getEndpoint());
+        assertEquals("/api/notes/import", classifier.classify("POST", "/api/notes/import").getEndpoint());
+        assertEquals("/api/notes/batch", classifier.classify("POST", "/api/notes/batch").getEndpoint());
+        assertEquals("/api/activities/recent", classifier.classify("GET", "/api/activities/recent").getEndpoint());
+        assertEquals("/api/dashboard", classifier.classify("GET", "/api/dashboard").getEndpoint());
+        assertEquals("/api/admin/**", classifier.classify("GET", "/api/admin/rate-limit/status/x").getEndpoint());
+    }
+
+    @Test
+    void testPublicEndpoints() {
+        assertTrue(classifier.classify("POST", "/auth/public/signin").isPublicEndpoint());
+        assertTrue(classifier.classify("GET", "/login/oauth2/code/google").isPublicEndpoint());
+        assertTrue(classifier.classify("GET", "/api-docs").isPublicEndpoint());
+        assertTrue(classifier.classify("GET", "/v3/api-docs/swagger-config").isPublicEndpoint());
+        assertTrue(classifier.classify("GET", "/error").isPublicEndpoint());
+        assertFalse(classifier.classify("GET", "/errors").isPublicEndpoint());
+        assertFalse(classifier.classify("GET", "/api/notes/1").isPublicEndpoint());
+        assertFalse(classifier.classify("POST", "/auth/enable-2fa").isPublicEndpoint());
+        assertTrue(classifier.classify("GET", "/actuator/health").isPublicEndpoint());
+        assertFalse(classifier.classify("GET", "/actuator/metrics").isPublicEndpoint());
+        assertFalse(classifier.classify("GET", "/actuator/metrics/rate.limit.decisions").isPublicEndpoint());
+        assertTrue(classifier.classify("GET", "/actuator/metrics/cache.gets").isSkipRateLimit());
+    }
+
+    @Test
+    void testSkipRateLimit() {
+        assertTrue(classifier.classify("GET", "/actuator/health").isSkipRateLimit());
+        assertTrue(classifier.classify("GET", "/health").isSkipRateLimit());
+        assertTrue(classifier.classify("GET", "/assets/css/app.css").isSkipRateLimit());
+        assertTrue(classifier.classify("GET", "/favicon.ico").isSkipRateLimit());
+        assertTrue(classifier.classify("OPTIONS", "/api/notes").isSkipRateLimit());
+        assertFalse(classifier.classify("GET", "/api/notes").isSkipRateLimit());
+    }
+
+    @Test
+    void testKnownRoutesReuseDescriptors() {
+        assertSame(classifier.classify("GET", "/api/notes/1"), classifier.classify("GET", "/api/notes/99"));
+        assertSame(classifier.classify("OPTIONS", "/api/notes/1"), classifier.classify("OPTIONS", "/api/notes/2"));
+
+        RouteDescriptor unknown = classifier.classify("GET", "/something/else");
+        assertFalse(unknown.isKnownRoute());
+        assertEquals("/something/else", unknown.getEndpoint());
+        assertNotEquals(classifier.routeIdOf("/api/notes"), classifier.routeIdOf("/api/notes/{id}"));
+    }
+
+    @Test
+    void testResolveStoresDescriptorOnRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notes/7");
+
+        RouteDescriptor first = classifier.resolve(request);
+
+        assertSame(first, request.getAttribute(RouteDescriptor.REQUEST_ATTRIBUTE));
+        assertSame(first, classifier.resolve(request));
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.notes_backend.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(20, 4, 200, 0.5, 1.5, WINDOW, clock::get);
+
+    @Test
+    void testLowPriorityIsShedFirst() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(true) >= 0);
+        }
+        assertEquals(-1, limiter.tryAcquire(true));
+
+        // Normal traffic still gets the reserved half
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(false) >= 0);
+        }
+        assertEquals(-1, limiter.tryAcquire(false));
+        assertEquals(20, limiter.getInFlight());
+    }
+
+    @Test
+    void testReleaseFreesSlot() {
+        long[] starts = new long[20];
+        for (int i = 0; i < 20; i++) {
+            starts[i] = limiter.tryAcquire(false);
+        }
+        assertEquals(-1, limiter.tryAcquire(false));
+
+        limiter.release(starts[0]);
+        assertTrue(limiter.tryAcquire(false) >= 0);
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyIsStable() {
+        for (int window = 0; window < 20; window++) {
+            runWindow(limiter.getLimit(), 10);
+        }
+        assertTrue(limiter.getLimit() > 20, "limit was " + limiter.getLimit());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        for (int window = 0; window < 5; window++) {
+            runWindow(limiter.getLimit(), 10);
+        }
+        int healthyLimit = limiter.getLimit();
+
+        for (int window = 0; window < 10; window++) {
+            runWindow(limiter.getLimit(), 80);
+        }
+        assertTrue(limiter.getLimit() < healthyLimit / 2,
+                "limit " + limiter.getLimit() + " vs healthy " + healthyLimit);
+        assertTrue(limiter.getLimit() >= 4);
+    }
+
+    @Test
+    void testIdleTrafficDoesNotInflateLimit() {
+        for (int window = 0; window < 20; window++) {
+            runWindow(1, 10);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    /**
+     * Hold {@code concurrency} requests for {@code rttMillis}, then move past
+     * the window boundary so the next release recomputes the limit.
+     */
+    private void runWindow(int concurrency, long rttMillis) {
+        long[] starts = new long[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            starts[i] = limiter.tryAcquire(false);
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        for (long start : starts) {
+            if (start >= 0) {
+                limiter.release(start);
+            }
+        }
+        clock.addAndGet(WINDOW);
+    }
+}
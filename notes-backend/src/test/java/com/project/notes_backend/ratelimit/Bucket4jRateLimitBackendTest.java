@@ -0,0 +1,64 @@
+package com.project.notes_backend.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.RateLimitingConfig.RateLimitTier;
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.service.RateLimitService.RateLimitInfo;
+
+class Bucket4jRateLimitBackendTest {
+
+    private Bucket4jRateLimitBackend backend;
+    private RateLimitKey key;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitingConfig config = new RateLimitingConfig();
+        backend = new Bucket4jRateLimitBackend();
+        ReflectionTestUtils.setField(backend, "rateLimitConfig", config);
+        ReflectionTestUtils.setField(backend, "rateLimitCache", config.rateLimitCache());
+
+        RouteClassifier classifier = new RouteClassifier();
+        key = new RateLimitKeyFactory(classifier).probe("alice", "10.0.0.1", 0, 8,
+                classifier.classify("GET", "/api/profile"));
+    }
+
+    @Test
+    void testWaitFollowsIntervalRefill() {
+        // Authenticated: burst of 20, 120 per minute added once a minute
+        for (int i = 0; i < 20; i++) {
+            assertTrue(backend.tryConsume(key, RateLimitTier.AUTHENTICATED, 1));
+        }
+        assertFalse(backend.tryConsume(key, RateLimitTier.AUTHENTICATED, 1));
+
+        // A steady-rate estimate would say half a second
+        long waitNanos = backend.nanosUntilAvailable(key, 1);
+        assertTrue(waitNanos > TimeUnit.SECONDS.toNanos(59), "waited " + waitNanos);
+    }
+
+    @Test
+    void testNoBucketMeansNoWait() {
+        assertEquals(0, backend.nanosUntilAvailable(key, 1));
+    }
+
+    @Test
+    void testInspectReportsConfiguredLimit() {
+        assertNull(backend.inspect(key));
+        backend.tryConsume(key, RateLimitTier.AUTHENTICATED, 5);
+
+        RateLimitInfo info = backend.inspect(key);
+
+        assertEquals(15, info.getRemainingTokens());
+        assertEquals(20, info.getCapacity());
+        assertEquals(TimeUnit.MINUTES.toNanos(1), info.getRefillPeriodNanos());
+    }
+}
@@ -0,0 +1,129 @@
+package com.project.notes_backend.ratelimit;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class CompactTokenBucketStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final CompactTokenBucketStore store = new CompactTokenBucketStore(1024, 4, 60_000, clock::get);
+    // 10 burst, 60 per minute -> one token per second
+    private final int profile = store.registerProfile(10, 60, 60_000);
+
+    @Test
+    void testBurstCapacityThenReject() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(store.tryConsume(42L, profile, 1));
+        }
+        assertFalse(store.tryConsume(42L, profile, 1));
+        assertEquals(0, store.availableTokens(42L));
+    }
+
+    @Test
+    void testRefillAtConfiguredRate() {
+        for (int i = 0; i < 10; i++) {
+            store.tryConsume(42L, profile, 1);
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2_500));
+        assertEquals(2, store.availableTokens(42L));
+        assertTrue(store.tryConsume(42L, profile, 2));
+        assertFalse(store.tryConsume(42L, profile, 1));
+
+        // The half second left over from the previous refill is kept
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(store.tryConsume(42L, profile, 1));
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        assertEquals(10, store.availableTokens(42L));
+    }
+
+    @Test
+    void testKeysAreIndependent() {
+        for (int i = 0; i < 10; i++) {
+            store.tryConsume(1L, profile, 1);
+        }
+        assertFalse(store.tryConsume(1L, profile, 1));
+        assertTrue(store.tryConsume(2L, profile, 1));
+        assertEquals(-1, store.availableTokens(3L));
+    }
+
+    @Test
+    void testResetRestoresFullBucket() {
+        for (int i = 0; i < 10; i++) {
+            store.tryConsume(7L, profile, 1);
+        }
+        store.reset(7L);
+        assertTrue(store.tryConsume(7L, profile, 10));
+    }
+
+    @Test
+    void testSnapshotReportsProfileLimits() {
+        store.tryConsume(9L, profile, 3);
+        CompactTokenBucketStore.Snapshot snapshot = store.snapshot(9L);
+
+        assertNotNull(snapshot);
+        assertEquals(7, snapshot.tokens());
+        assertEquals(10, snapshot.capacity());
+        assertEquals(TimeUnit.MINUTES.toNanos(1), snapshot.refillPeriodNanos());
+    }
+
+    @Test
+    void testIdleSlotsAreReusedWhenFull() {
+        // 4 shards of 32 slots: far more keys than slots must overflow while active
+        CompactTokenBucketStore small = new CompactTokenBucketStore(128, 4, 1_000, clock::get);
+        int smallProfile = small.registerProfile(1, 1, 60_000);
+        for (long key = 1; key <= 1_000; key++) {
+            small.tryConsume(key * 0x9E3779B97F4A7C15L, smallProfile, 1);
+        }
+        assertTrue(small.overflowCount() > 0);
+        assertTrue(small.occupiedSlots() <= small.capacitySlots());
+
+        // Once the old buckets are idle, new keys take over their slots
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        long overflowsBefore = small.overflowCount();
+        for (long key = 2_001; key <= 2_064; key++) {
+            assertTrue(small.tryConsume(key * 0x9E3779B97F4A7C15L, smallProfile, 1));
+            assertFalse(small.tryConsume(key * 0x9E3779B97F4A7C15L, smallProfile, 1));
+        }
+        assertEquals(overflowsBefore, small.overflowCount());
+    }
+
+    @Test
+    void testConcurrentConsumersNeverExceedCapacity() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        if (store.tryConsume(99L, profile, 1)) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(10, allowed.get());
+    }
+}
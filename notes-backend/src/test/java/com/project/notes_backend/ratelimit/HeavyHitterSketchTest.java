@@ -0,0 +1,67 @@
+package com.project.notes_backend.ratelimit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.filter.RouteDescriptor;
+import com.project.notes_backend.ratelimit.HeavyHitterSketch.HeavyHitter;
+
+class HeavyHitterSketchTest {
+
+    private final RouteClassifier classifier = new RouteClassifier();
+    private final RateLimitKeyFactory keyFactory = new RateLimitKeyFactory(classifier);
+    private final RouteDescriptor search = classifier.classify("GET", "/api/notes/search");
+
+    @Test
+    void testFindsHeavyHittersAmongLongTail() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(8, 4);
+
+        for (int round = 0; round < 1_000; round++) {
+            offer(sketch, "203.0.113.7", round % 3 == 0);
+            if (round % 2 == 0) {
+                offer(sketch, "203.0.113.8", false);
+            }
+            // Each tail client is seen once
+            offer(sketch, "10.0." + (round / 250) + "." + (round % 250), false);
+        }
+
+        List<HeavyHitter> top = sketch.top(2);
+        assertEquals(2, top.size());
+        assertEquals("ip:203.0.113.7:endpoint:/api/notes/search", top.get(0).key());
+        assertEquals("203.0.113.8", top.get(1).clientIp());
+        assertTrue(top.get(0).requests() >= 1_000);
+        assertTrue(top.get(0).requests() - top.get(0).maxOverestimate() <= 1_000);
+        assertTrue(top.get(0).rejected() > 0);
+    }
+
+    @Test
+    void testDecayHalvesCounts() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(4, 1);
+        for (int i = 0; i < 10; i++) {
+            offer(sketch, "192.0.2.1", false);
+        }
+        sketch.decay();
+
+        assertEquals(5, sketch.top(1).get(0).requests());
+    }
+
+    @Test
+    void testTrackedKeysSurviveProbeReuse() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(4, 1);
+        offer(sketch, "192.0.2.1", false);
+        // The probe is thread-local and overwritten by the next request
+        keyFactory.probe("mallory", "192.0.2.99", 0, 10, search);
+
+        HeavyHitter hitter = sketch.top(1).get(0);
+        assertEquals("192.0.2.1", hitter.clientIp());
+        assertEquals("/api/notes/search", hitter.endpoint());
+    }
+
+    private void offer(HeavyHitterSketch sketch, String ip, boolean rejected) {
+        sketch.offer(keyFactory.probe(null, ip, 0, ip.length(), search), rejected);
+    }
+}
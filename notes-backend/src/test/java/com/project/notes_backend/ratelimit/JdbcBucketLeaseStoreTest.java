@@ -0,0 +1,64 @@
+package com.project.notes_backend.ratelimit;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.RateLimitingConfig.BucketLimit;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "app.rate-limit.backend=jdbc")
+@Import({JdbcBucketLeaseStore.class, RateLimitingConfig.class})
+class JdbcBucketLeaseStoreTest {
+
+    // 10 burst, 60 per minute -> one token per second
+    private static final BucketLimit LIMIT = new BucketLimit(10, 60, Duration.ofMinutes(1));
+
+    @Autowired
+    private JdbcBucketLeaseStore leaseStore;
+
+    @Test
+    void testLeasesDrainTheSharedBucket() {
+        assertEquals(4, leaseStore.lease(1L, LIMIT, 4, 1_000));
+        assertEquals(4, leaseStore.lease(1L, LIMIT, 4, 1_000));
+        assertEquals(2, leaseStore.lease(1L, LIMIT, 4, 1_000));
+        assertEquals(0, leaseStore.lease(1L, LIMIT, 4, 1_000));
+    }
+
+    @Test
+    void testRefillIsCreditedOnNextLease() {
+        leaseStore.lease(2L, LIMIT, 10, 1_000);
+
+        assertEquals(2, leaseStore.lease(2L, LIMIT, 5, 3_500));
+        // 500 ms carried over from the previous refill
+        assertEquals(1, leaseStore.lease(2L, LIMIT, 5, 4_000));
+        assertEquals(10, leaseStore.lease(2L, LIMIT, 20, 600_000));
+    }
+
+    @Test
+    void testReturnedTokensAreCappedAtCapacity() {
+        leaseStore.lease(4L, LIMIT, 10, 1_000);
+
+        // The bucket is empty; the 4 unused tokens come back before the new lease is taken
+        assertEquals(4, leaseStore.lease(4L, LIMIT, 5, 4, 1_000));
+        assertEquals(10, leaseStore.lease(4L, LIMIT, 20, 50, 1_000));
+    }
+
+    @Test
+    void testPeekAndReset() {
+        leaseStore.lease(3L, LIMIT, 3, 1_000);
+        assertEquals(7, leaseStore.peek(3L, 1_000).getTokens());
+
+        leaseStore.reset(3L);
+        assertNull(leaseStore.peek(3L, 1_000));
+    }
+}
@@ -0,0 +1,127 @@
+package com.project.notes_backend.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.RateLimitingConfig.RateLimitTier;
+import com.project.notes_backend.filter.RouteClassifier;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcRateLimitBackendTest {
+
+    // A plain instance: a @Spy would instrument the class for every test in the JVM
+    private final RateLimitingConfig rateLimitConfig = new RateLimitingConfig();
+
+    @Mock
+    private JdbcBucketLeaseStore leaseStore;
+
+    @InjectMocks
+    private JdbcRateLimitBackend backend;
+
+    private RateLimitKey key;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(backend, "rateLimitConfig", rateLimitConfig);
+        RouteClassifier classifier = new RouteClassifier();
+        key = new RateLimitKeyFactory(classifier).probe("alice", "10.0.0.1", 0, 8,
+                classifier.classify("GET", "/api/profile"));
+    }
+
+    @Test
+    void testSlowClientIsChargedPerRequestWithDefaultTtl() {
+        backend.init();
+        // Shared bucket of 20 tokens with no refill during the test
+        long[] shared = {20};
+        when(leaseStore.lease(anyLong(), any(), anyLong(), anyLong(), anyLong())).thenAnswer(call -> {
+            shared[0] += call.<Long>getArgument(3);
+            long granted = Math.min(call.<Long>getArgument(2), shared[0]);
+            shared[0] -= granted;
+            return granted;
+        });
+
+        // One request every 1.5 s outlives each lease
+        long now = System.nanoTime();
+        long interval = TimeUnit.MILLISECONDS.toNanos(rateLimitConfig.getJdbcLeaseTtlMillis() * 3 / 2);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(backend.tryConsume(key, RateLimitTier.AUTHENTICATED, 1, now + i * interval));
+        }
+
+        // Each expired lease gave its 4 unused tokens back: 10 used, 4 still leased
+        verify(leaseStore, times(9)).lease(eq(key.fingerprint()), any(), eq(5L), eq(4L), anyLong());
+        assertEquals(6, shared[0]);
+    }
+
+    @Test
+    void testServesRequestsFromLocalLease() {
+        useLongLeases();
+        // Authenticated burst is 20, so a lease is the configured 5 tokens
+        when(leaseStore.lease(anyLong(), any(), eq(5L), anyLong(), anyLong())).thenReturn(5L);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(backend.tryConsume(key, RateLimitTier.AUTHENTICATED, 1));
+        }
+
+        verify(leaseStore, times(2)).lease(eq(key.fingerprint()), any(), eq(5L), eq(0L), anyLong());
+    }
+
+    @Test
+    void testEmptySharedBucketIsDeniedLocally() {
+        useLongLeases();
+        when(leaseStore.lease(anyLong(), any(), anyLong(), anyLong(), anyLong())).thenReturn(0L);
+
+        for (int i = 0; i < 20; i++) {
+            assertFalse(backend.tryConsume(key, RateLimitTier.AUTHENTICATED, 1));
+        }
+
+        // One round trip, then backed off until the next token is due
+        verify(leaseStore, times(1)).lease(anyLong(), any(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testRetriesWhenAnotherNodeCreatedTheBucket() {
+        useLongLeases();
+        when(leaseStore.lease(anyLong(), any(), anyLong(), anyLong(), anyLong()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenReturn(5L);
+
+        assertTrue(backend.tryConsume(key, RateLimitTier.AUTHENTICATED, 1));
+    }
+
+    @Test
+    void testFallsBackToLocalLimitsWhenStoreIsDown() {
+        useLongLeases();
+        when(leaseStore.lease(anyLong(), any(), anyLong(), anyLong(), anyLong()))
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction"));
+
+        // Falls back to the tier's own limits: burst of 20
+        for (int i = 0; i < 20; i++) {
+            assertTrue(backend.tryConsume(key, RateLimitTier.AUTHENTICATED, 1));
+        }
+        assertFalse(backend.tryConsume(key, RateLimitTier.AUTHENTICATED, 1));
+    }
+
+    private void useLongLeases() {
+        rateLimitConfig.setJdbcLeaseTtlMillis(60_000);
+        backend.init();
+    }
+}
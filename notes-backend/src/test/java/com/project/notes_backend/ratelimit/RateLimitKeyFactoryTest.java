@@ -0,0 +1,158 @@
+package com.project.notes_backend.ratelimit;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.filter.RouteDescriptor;
+import com.project.notes_backend.service.RateLimitService;
+import com.project.notes_backend.service.impl.RateLimitServiceImpl;
+
+import io.github.bucket4j.Bucket;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+class RateLimitKeyFactoryTest {
+
+    private final RouteClassifier classifier = new RouteClassifier();
+    private final RateLimitKeyFactory keyFactory = new RateLimitKeyFactory(classifier);
+
+    @Test
+    void testProbeMatchesImmutableCopy() {
+        RouteDescriptor route = classifier.classify("GET", "/api/notes/5");
+        RateLimitKey probe = keyFactory.probe("alice", "10.0.0.1", 0, 8, route);
+        RateLimitKey copy = keyFactory.immutableCopy(probe);
+
+        assertNotSame(probe, copy);
+        assertEquals(probe, copy);
+        assertEquals(probe.hashCode(), copy.hashCode());
+        assertEquals("user:alice:ip:10.0.0.1:endpoint:/api/notes/{id}", copy.toString());
+    }
+
+    @Test
+    void testForwardedForUsesFirstHop() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notes");
+        request.addHeader("X-Forwarded-For", " 203.0.113.9 , 10.0.0.1");
+        RouteDescriptor route = classifier.resolve(request);
+
+        RateLimitKey key = keyFactory.immutableCopy(keyFactory.probe(request, null, route));
+
+        assertEquals("203.0.113.9", key.getClientIp());
+        assertEquals("ip:203.0.113.9:endpoint:/api/notes", key.toString());
+    }
+
+    @Test
+    void testParseRoundTrip() {
+        RouteDescriptor route = classifier.classify("GET", "/api/notes/search");
+        RateLimitKey anonymous = keyFactory.immutableCopy(keyFactory.probe(null, "::1", 0, 3, route));
+        RateLimitKey user = keyFactory.immutableCopy(keyFactory.probe("bob", "192.168.1.20", 0, 12, route));
+
+        assertEquals(anonymous, keyFactory.parse(anonymous.toString()));
+        assertEquals(user, keyFactory.parse(user.toString()));
+        assertNotEquals(anonymous, user);
+    }
+
+    @Test
+    void testIpv4PackingAndHashingAreDisjoint() {
+        assertEquals(0x0A000001L, RateLimitKeyFactory.ipBits("10.0.0.1", 0, 8));
+        assertTrue(RateLimitKeyFactory.ipBits("10.0.0.256", 0, 10) < 0);
+        assertTrue(RateLimitKeyFactory.ipBits("2001:db8::1", 0, 11) < 0);
+        assertTrue(RateLimitKeyFactory.ipBits("1.2.3", 0, 5) < 0);
+    }
+
+    @Test
+    void testAllowedPathDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        RateLimitingConfig config = new RateLimitingConfig();
+        config.setDefaultBurstLimit(1_000_000_000L);
+        config.setDefaultRequestsPerMinute(1_000_000_000L);
+        RateLimitService rateLimitService = newRateLimitService(config);
+        HttpServletRequest request = new ForwardedRequest("GET", "/api/profile", "198.51.100.7");
+
+        int iterations = 200_000;
+        // Warm up so the bucket and the thread-local probe exist and code is compiled
+        for (int i = 0; i < iterations; i++) {
+            rateLimitService.allowRequest(request, null);
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        int allowed = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (rateLimitService.allowRequest(request, null)) {
+                allowed++;
+            }
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(iterations, allowed);
+        // Allow a little noise from the cache's read buffer maintenance
+        assertTrue(allocated / iterations < 16,
+                "Allowed path allocated " + allocated + " bytes over " + iterations + " calls");
+    }
+
+    /**
+     * The production service and default backend, wired by hand
+     */
+    private RateLimitService newRateLimitService(RateLimitingConfig config) {
+        Bucket4jRateLimitBackend backend = new Bucket4jRateLimitBackend();
+        ReflectionTestUtils.setField(backend, "rateLimitConfig", config);
+        // Same cache as the bean, with maintenance on the caller so it is measured too
+        Cache<RateLimitKey, Bucket> cache = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .executor(Runnable::run)
+                .build();
+        ReflectionTestUtils.setField(backend, "rateLimitCache", cache);
+
+        RouteCostModel routeCostModel = new RouteCostModel(config, classifier);
+        RateLimitTelemetry telemetry = new RateLimitTelemetry();
+        ReflectionTestUtils.setField(telemetry, "rateLimitConfig", config);
+        ReflectionTestUtils.setField(telemetry, "routeClassifier", classifier);
+        ReflectionTestUtils.setField(telemetry, "routeCostModel", routeCostModel);
+        telemetry.init();
+
+        RateLimitServiceImpl service = new RateLimitServiceImpl();
+        ReflectionTestUtils.setField(service, "rateLimitBackend", backend);
+        ReflectionTestUtils.setField(service, "routeClassifier", classifier);
+        ReflectionTestUtils.setField(service, "keyFactory", keyFactory);
+        ReflectionTestUtils.setField(service, "routeCostModel", routeCostModel);
+        ReflectionTestUtils.setField(service, "telemetry", telemetry);
+        return service;
+    }
+
+    /**
+     * Answers header lookups without the case-insensitive map of
+     * MockHttpServletRequest, which lower-cases (allocates) on every call, as
+     * the servlet container's request does not
+     */
+    private static final class ForwardedRequest extends HttpServletRequestWrapper {
+
+        private final String forwardedFor;
+
+        ForwardedRequest(String method, String uri, String forwardedFor) {
+            super(new MockHttpServletRequest(method, uri));
+            this.forwardedFor = forwardedFor;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return "X-Forwarded-For".equals(name) ? forwardedFor : null;
+        }
+    }
+}
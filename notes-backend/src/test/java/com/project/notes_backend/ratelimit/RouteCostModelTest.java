@@ -0,0 +1,57 @@
+package com.project.notes_backend.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.filter.RouteDescriptor;
+
+class RouteCostModelTest {
+
+    private final RouteClassifier classifier = new RouteClassifier();
+    private final RouteDescriptor search = classifier.classify("GET", "/api/notes/search");
+    private final RouteDescriptor note = classifier.classify("GET", "/api/notes/42");
+
+    @Test
+    void testDefaultCostIsOne() {
+        RouteCostModel model = new RouteCostModel(new RateLimitingConfig(), classifier);
+
+        assertEquals(1, model.costOf(search));
+        assertEquals(1, model.costOf(classifier.classify("GET", "/api/unknown")));
+    }
+
+    @Test
+    void testConfiguredCostIsCappedAtBurstCapacity() {
+        RateLimitingConfig config = new RateLimitingConfig();
+        config.getEndpointCosts().put("/api/notes/search", 4L);
+        config.getEndpointCosts().put("/api/notes/stats", 1_000L);
+        RouteCostModel model = new RouteCostModel(config, classifier);
+
+        assertEquals(4, model.costOf(search));
+        assertEquals(1, model.costOf(note));
+        // stats allows 30/min, so its burst is 30 / 3 = 10 tokens
+        assertEquals(10, model.costOf(classifier.classify("GET", "/api/notes/stats")));
+    }
+
+    @Test
+    void testDynamicCostFollowsLatency() {
+        RateLimitingConfig config = new RateLimitingConfig();
+        config.setDynamicCosts(true);
+        config.setCostUnitMillis(50);
+        config.setMaxDynamicCost(8);
+        RouteCostModel model = new RouteCostModel(config, classifier);
+
+        model.recordLatency(search, TimeUnit.MILLISECONDS.toNanos(160));
+        model.recordLatency(note, TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals(3, model.costOf(search));
+        assertEquals(1, model.costOf(note));
+
+        for (int i = 0; i < 200; i++) {
+            model.recordLatency(search, TimeUnit.SECONDS.toNanos(2));
+        }
+        assertEquals(8, model.costOf(search));
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.notes_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.notes_backend.dto.NotePatchRequestDTO;
+import com.project.notes_backend.exception.StaleVersionException;
+import com.project.notes_backend.model.Note;
+import com.project.notes_backend.model.User;
+import com.project.notes_backend.service.impl.NoteServiceImpl;
+
+/**
+ * A batch category move must make edits based on the old version stale,
+ * otherwise a delayed PATCH or draft flush silently moves the note back.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class NoteBatchVersionTest {
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testPatchBasedOnVersionBeforeBatchMoveIsStale() {
+        User alice = entityManager.persist(new User("alice", "alice@example.com", "secret"));
+        Note note = new Note("content", alice);
+        note.setCategory("inbox");
+        note = entityManager.persistAndFlush(note);
+        long loadedVersion = note.getVersion();
+        entityManager.clear();
+
+        assertEquals(1, noteRepository.updateCategoryForOwner(List.of(note.getId()), "alice", "work",
+                LocalDateTime.now()));
+        entityManager.clear();
+
+        NoteServiceImpl noteService = new NoteServiceImpl();
+        ReflectionTestUtils.setField(noteService, "noteRepository", noteRepository);
+        NotePatchRequestDTO patch = new NotePatchRequestDTO();
+        patch.setBaseVersion(loadedVersion);
+        patch.setCategory("inbox");
+
+        Long noteId = note.getId();
+        StaleVersionException stale = assertThrows(StaleVersionException.class,
+                () -> noteService.patchNoteForUser(noteId, patch, "alice"));
+        assertEquals("work", noteRepository.findById(noteId).orElseThrow().getCategory());
+        assertEquals(loadedVersion + 1, noteRepository.findById(noteId).orElseThrow().getVersion(),
+                stale.getMessage());
+    }
+}
@@ -0,0 +1,111 @@
+package com.project.notes_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the listed NoteRepository methods, captures the SQL Hibernate sends
+ * and fails if H2's EXPLAIN shows a table scan on any statement, i.e. a query
+ * that no index on Note serves. Add new owner-scoped queries to the list.
+ * Postgres-only partial indexes (PartialIndexInitializer) are not covered.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class NoteQueryPlanTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    (StatementInspector) sql -> {
+                        STATEMENTS.add(sql);
+                        return sql;
+                    });
+        }
+    }
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testListedQueriesUseAnIndex() {
+        Pageable newest = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "updatedAt"));
+        Pageable byTitle = PageRequest.of(0, 20, Sort.by("title"));
+        LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findByOwnerUsername", () -> noteRepository.findByOwnerUsername("alice", newest));
+        queries.put("findByOwnerUsername by title", () -> noteRepository.findByOwnerUsername("alice", byTitle));
+        queries.put("findByOwnerUsernameOrderByCreatedAtDesc",
+                () -> noteRepository.findByOwnerUsernameOrderByCreatedAtDesc("alice", PageRequest.of(0, 20)));
+        queries.put("findByOwnerUsernameAndCategory",
+                () -> noteRepository.findByOwnerUsernameAndCategory("alice", "work", newest));
+        queries.put("findByOwnerUsernameAndIsSharedTrue",
+                () -> noteRepository.findByOwnerUsernameAndIsSharedTrue("alice", newest));
+        queries.put("findByOwnerUsernameAndIsFavoriteTrue",
+                () -> noteRepository.findByOwnerUsernameAndIsFavoriteTrue("alice", newest));
+        queries.put("findByOwnerUsernameAndFullTextSearch",
+                () -> noteRepository.findByOwnerUsernameAndFullTextSearch("alice", "plan", PageRequest.of(0, 20)));
+        queries.put("findByOwnerUsernameAndCategoryAndSearch",
+                () -> noteRepository.findByOwnerUsernameAndCategoryAndSearch("alice", "work", "plan", newest));
+        queries.put("findByIsPublicTrue", () -> noteRepository.findByIsPublicTrue(newest));
+        queries.put("countByOwnerUsername", () -> noteRepository.countByOwnerUsername("alice"));
+        queries.put("countByOwnerUsernameAndCreatedAtAfter",
+                () -> noteRepository.countByOwnerUsernameAndCreatedAtAfter("alice", weekAgo));
+        queries.put("getLastActivityByOwnerUsername", () -> noteRepository.getLastActivityByOwnerUsername("alice"));
+        queries.put("findOwnedIdsAndPublicFlags",
+                () -> noteRepository.findOwnedIdsAndPublicFlags(List.of(1L, 2L), "alice"));
+        queries.put("findFlagStateForOwner", () -> noteRepository.findFlagStateForOwner(1L, "alice"));
+        queries.put("findEditableStateForOwner", () -> noteRepository.findEditableStateForOwner(1L, "alice"));
+        queries.put("findTrashByOwnerUsername",
+                () -> noteRepository.findTrashByOwnerUsername("alice", PageRequest.of(0, 20)));
+        queries.put("trashForOwner", () -> noteRepository.trashForOwner(List.of(1L), "alice", LocalDateTime.now()));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<String> scans = new ArrayList<>();
+        int explained = 0;
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            STATEMENTS.clear();
+            query.getValue().run();
+            for (String sql : STATEMENTS) {
+                // H2 plans a statement with unbound parameters for EXPLAIN
+                String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+                explained++;
+                if (plan.contains(".tableScan")) {
+                    scans.add(query.getKey() + ":\n" + plan);
+                }
+            }
+        }
+
+        assertTrue(explained >= queries.size(), "Expected SQL for every listed query, got " + explained);
+        assertTrue(scans.isEmpty(), "Queries without a usable index:\n" + String.join("\n\n", scans));
+    }
+}
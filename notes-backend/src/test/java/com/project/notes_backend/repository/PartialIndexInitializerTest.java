@@ -0,0 +1,52 @@
+package com.project.notes_backend.repository;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class PartialIndexInitializerTest {
+
+    private static final String DEFINITION = "notes (deleted_at) WHERE deleted_at IS NOT NULL";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testInvalidIndexIsDroppedAndRebuilt() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Boolean.class), eq("idx_notes_trash_deleted")))
+                .thenReturn(List.of(false));
+
+        PartialIndexInitializer.createIndex(jdbcTemplate, "idx_notes_trash_deleted", DEFINITION);
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_notes_trash_deleted");
+        order.verify(jdbcTemplate).execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notes_trash_deleted ON "
+                + DEFINITION);
+    }
+
+    @Test
+    void testValidOrMissingIndexIsOnlyCreatedIfAbsent() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Boolean.class), anyString()))
+                .thenReturn(List.of(true))
+                .thenReturn(List.of());
+
+        PartialIndexInitializer.createIndex(jdbcTemplate, "idx_notes_trash_deleted", DEFINITION);
+        PartialIndexInitializer.createIndex(jdbcTemplate, "idx_notes_favorites", DEFINITION);
+
+        verify(jdbcTemplate, never()).execute(startsWith("DROP"));
+        verify(jdbcTemplate).execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notes_favorites ON " + DEFINITION);
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.notes_backend.security;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.notes_backend.config.CorsConfig;
+import com.project.notes_backend.config.LoadSheddingConfig;
+import com.project.notes_backend.config.OAuth2LoginSuccessHandler;
+import com.project.notes_backend.config.PasswordHashingConfig;
+import com.project.notes_backend.config.RateLimitingConfig;
+import com.project.notes_backend.config.SecurityConfig;
+import com.project.notes_backend.filter.RouteClassifier;
+import com.project.notes_backend.ratelimit.RouteCostModel;
+import com.project.notes_backend.repository.RoleRepository;
+import com.project.notes_backend.repository.UserRepository;
+import com.project.notes_backend.security.jwt.AuthEntryPointJwt;
+import com.project.notes_backend.security.jwt.JwtUtils;
+import com.project.notes_backend.service.RateLimitService;
+
+/**
+ * The real security chain in front of stand-ins for the actuator endpoints:
+ * metrics must accept an ADMIN bearer token, which only works if the route
+ * is not classified as public (AuthTokenFilter skips JWTs there).
+ */
+@WebMvcTest(controllers = ActuatorMetricsSecurityTest.ActuatorStub.class,
+        properties = {
+            "spring.app.jwtSecret=c2VjdXJpdHktdGVzdC1zZWNyZXQtdGhhdC1pcy1sb25nLWVub3VnaC1mb3ItaHMyNTY=",
+            "spring.app.jwtExpirationMs=60000",
+            "frontend.url=http://localhost:3000"
+        })
+@Import({ActuatorMetricsSecurityTest.ActuatorStub.class, SecurityConfig.class, AuthEntryPointJwt.class,
+    JwtUtils.class, CorsConfig.class, PasswordHashingConfig.class, LoadSheddingConfig.class,
+    RateLimitingConfig.class, RouteClassifier.class, RouteCostModel.class})
+class ActuatorMetricsSecurityTest {
+
+    @RestController
+    static class ActuatorStub {
+
+        @GetMapping("/actuator/metrics/{name}")
+        String metric(@PathVariable String name) {
+            return name;
+        }
+
+        @GetMapping("/actuator/health")
+        String health() {
+            return "UP";
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    @MockBean
+    private RateLimitService rateLimitService;
+
+    @MockBean
+    private OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
+
+    @MockBean
+    private ClientRegistrationRepository clientRegistrationRepository;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private RoleRepository roleRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(rateLimitService.allowRequest(any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void testAdminTokenReadsMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/rate.limit.decisions")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenFor("admin", "ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testUserTokenIsForbidden() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/rate.limit.decisions")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenFor("alice", "USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testAnonymousIsUnauthorizedButHealthStaysPublic() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/rate.limit.decisions"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    private String tokenFor(String username, String authority) {
+        UserDetailsImpl user = new UserDetailsImpl(1L, username, username + "@example.com", "secret", false,
+                List.of(new SimpleGrantedAuthority(authority)));
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(user);
+        return jwtUtils.generateTokenFromUsername(user);
+    }
+}
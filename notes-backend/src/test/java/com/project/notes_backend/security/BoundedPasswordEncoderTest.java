@@ -0,0 +1,82 @@
+package com.project.notes_backend.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.project.notes_backend.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTest {
+
+    private ThreadPoolExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        // Single worker and a one-slot queue so saturation is easy to provoke. A
+        // queue, not a hand-off, so back-to-back hashes never race the idle worker.
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(4, executor, 5000, 3, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testEncodeAndMatches() {
+        String hash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(3, meterRegistry.get("password.hashing.duration").timers().stream()
+                .mapToLong(timer -> timer.count()).sum());
+    }
+
+    @Test
+    void testRejectsWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        // One running, one queued
+        executor.execute(blocked);
+        executor.execute(blocked);
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> encoder.encode("secret"));
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+    }
+
+    @Test
+    void testUpgradeEncodingOnCostChange() {
+        String otherCost = new BCryptPasswordEncoder(5).encode("secret");
+        String same = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.upgradeEncoding(otherCost));
+        assertFalse(encoder.upgradeEncoding(same));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+    }
+}
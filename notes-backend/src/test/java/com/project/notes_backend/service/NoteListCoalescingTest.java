@@ -0,0 +1,141 @@
+package com.project.notes_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import com.project.notes_backend.cache.SingleFlight;
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.model.Note;
+import com.project.notes_backend.repository.NoteRepository;
+import com.project.notes_backend.service.impl.NoteServiceImpl;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Identical list requests during a miss share one query, and the callers
+ * waiting for it must not hold pooled connections: the service's own
+ * @Transactional attributes are applied through a proxy over a two
+ * connection pool, as in the application context.
+ */
+class NoteListCoalescingTest {
+
+    private static final int FOLLOWERS = 6;
+
+    private final NoteRepository noteRepository = mock(NoteRepository.class);
+    private final CountDownLatch queryStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private HikariDataSource dataSource;
+    private SingleFlight<?, ?> flights;
+    private NoteService noteService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:note-list-coalescing");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setConnectionTimeout(250);
+
+        NoteServiceImpl target = new NoteServiceImpl();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        ReflectionTestUtils.setField(target, "noteRepository", noteRepository);
+        ReflectionTestUtils.setField(target, "transactionManager", transactionManager);
+        flights = (SingleFlight<?, ?>) ReflectionTestUtils.getField(target, "noteListFlights");
+
+        ProxyFactory proxy = new ProxyFactory(target);
+        proxy.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        noteService = (NoteService) proxy.getProxy();
+        executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Test
+    void testUserListFollowersHoldNoConnection() throws Exception {
+        Page<Note> page = new PageImpl<>(List.of());
+        when(noteRepository.findByOwnerUsername(eq("alice"), any(Pageable.class))).thenAnswer(call -> blockingQuery(page));
+
+        List<Future<Page<NoteResponseDTO>>> calls = coalesce(() -> noteService.getNotesForUser("alice", null, null,
+                false, "updatedAt", "desc", PageRequest.of(0, 20)));
+
+        assertCallsShareOneQuery(calls);
+        verify(noteRepository, times(1)).findByOwnerUsername(eq("alice"), any(Pageable.class));
+    }
+
+    @Test
+    void testPublicListFollowersHoldNoConnection() throws Exception {
+        Page<Note> page = new PageImpl<>(List.of());
+        when(noteRepository.findByIsPublicTrue(any(Pageable.class))).thenAnswer(call -> blockingQuery(page));
+
+        List<Future<Page<NoteResponseDTO>>> calls = coalesce(() -> noteService.getPublicNotes(PageRequest.of(0, 20)));
+
+        assertCallsShareOneQuery(calls);
+        verify(noteRepository, times(1)).findByIsPublicTrue(any(Pageable.class));
+    }
+
+    private Page<Note> blockingQuery(Page<Note> page) throws InterruptedException {
+        queryStarted.countDown();
+        assertTrue(release.await(5, TimeUnit.SECONDS));
+        return page;
+    }
+
+    private List<Future<Page<NoteResponseDTO>>> coalesce(Callable<Page<NoteResponseDTO>> call)
+            throws Exception {
+        List<Future<Page<NoteResponseDTO>>> calls = new ArrayList<>();
+        calls.add(executor.submit(call));
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < FOLLOWERS; i++) {
+            calls.add(executor.submit(call));
+        }
+
+        // Followers that opened a transaction first would be stuck on the pool instead
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flights.getSharedCount() < FOLLOWERS && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(FOLLOWERS, flights.getSharedCount());
+        assertEquals(1, dataSource.getHikariPoolMXBean().getActiveConnections());
+        release.countDown();
+        return calls;
+    }
+
+    private static void assertCallsShareOneQuery(List<Future<Page<NoteResponseDTO>>> calls) throws Exception {
+        Page<NoteResponseDTO> first = calls.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Page<NoteResponseDTO>> call : calls) {
+            assertSame(first, call.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -12,6 +13,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
@@ -19,16 +24,26 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.project.notes_backend.cache.NotesTrashedEvent;
+import com.project.notes_backend.dto.NoteFlagResponseDTO;
+import com.project.notes_backend.dto.NotePatchRequestDTO;
 import com.project.notes_backend.dto.NoteRequestDTO;
 import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.exception.StaleVersionException;
 import com.project.notes_backend.exception.UnauthorizedAccessException;
 import com.project.notes_backend.model.Note;
+import com.project.notes_backend.model.NoteFlag;
 import com.project.notes_backend.model.User;
+import com.project.notes_backend.model.UserActivity;
 import com.project.notes_backend.repository.NoteRepository;
 import com.project.notes_backend.repository.UserRepository;
 import com.project.notes_backend.service.impl.NoteServiceImpl;
@@ -45,6 +60,15 @@ class NoteServiceImplTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private UserActivityService userActivityService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private NoteServiceImpl noteService;
 
@@ -149,6 +173,22 @@ class NoteServiceImplTest {
         verify(noteRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void testGetNoteByIdForUser_CachedDetailsSkipRepositoryButCheckOwner() {
+        ReflectionTestUtils.setField(noteService, "cacheManager", new ConcurrentMapCacheManager("noteDetails"));
+        when(noteRepository.findById(1L))
+                .thenReturn(Optional.of(testNote));
+
+        NoteResponseDTO first = noteService.getNoteByIdForUser(1L, "testuser");
+        NoteResponseDTO second = noteService.getNoteByIdForUser(1L, "testuser");
+
+        assertEquals(first.getId(), second.getId());
+        assertThrows(UnauthorizedAccessException.class, () -> {
+            noteService.getNoteByIdForUser(1L, "anotheruser");
+        });
+        verify(noteRepository, times(1)).findById(1L);
+    }
+
     @Test
     void testGetNotesForUser_Success() {
         Pageable pageable = PageRequest.of(0, 10);
@@ -188,13 +228,51 @@ class NoteServiceImplTest {
 
     @Test
     void testDeleteNoteForUser_Success() {
-        when(noteRepository.findById(1L))
-                .thenReturn(Optional.of(testNote));
+        when(noteRepository.findFlagStateForOwner(1L, "testuser")).thenReturn(
+                List.<Object[]>of(new Object[] {false, false, false, "Test Note", LocalDateTime.now()}));
+        when(noteRepository.trashForOwner(eq(List.of(1L)), eq("testuser"), any(LocalDateTime.class)))
+                .thenReturn(1);
 
         noteService.deleteNoteForUser(1L, "testuser");
 
-        verify(noteRepository, times(1)).findById(1L);
-        verify(noteRepository, times(1)).delete(testNote);
+        // Moved to the trash with one UPDATE; the entity is never loaded or removed
+        verify(noteRepository, never()).findById(any());
+        verify(noteRepository, never()).delete(any(Note.class));
+        verify(auditLogService).logNoteDeletion("testuser", 1L);
+        verify(userActivityService).logActivity("testuser", UserActivity.ActivityType.DELETED, "note", 1L,
+                "Test Note");
+        // Lets the draft buffer drop unsaved autosaves for the note
+        verify(eventPublisher).publishEvent(new NotesTrashedEvent(List.of(1L)));
+    }
+
+    @Test
+    void testDeleteNoteForUser_ForeignNoteIsRejected() {
+        when(noteRepository.findFlagStateForOwner(1L, "otheruser")).thenReturn(List.of());
+        when(noteRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(UnauthorizedAccessException.class, () -> noteService.deleteNoteForUser(1L, "otheruser"));
+        verify(noteRepository, never()).trashForOwner(any(), any(), any());
+    }
+
+    @Test
+    void testRestoreNoteForUser_Success() {
+        when(noteRepository.restoreForOwner(eq(1L), eq("testuser"), any(LocalDateTime.class))).thenReturn(1);
+        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
+
+        NoteResponseDTO result = noteService.restoreNoteForUser(1L, "testuser");
+
+        assertEquals(1L, result.getId());
+        verify(auditLogService).logNoteChanges("testuser", "RESTORE", List.of(1L), null);
+    }
+
+    @Test
+    void testRestoreNoteForUser_NotInTrash() {
+        when(noteRepository.restoreForOwner(eq(1L), eq("testuser"), any(LocalDateTime.class))).thenReturn(0);
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> noteService.restoreNoteForUser(1L, "testuser"));
+        assertTrue(error.getMessage().contains("not found"));
+        verify(noteRepository, never()).findById(any());
     }
 
     @Test
@@ -212,4 +290,98 @@ class NoteServiceImplTest {
 
         verify(noteRepository, times(1)).findByOwnerUsernameAndFullTextSearch("testuser", "test", pageable);
     }
+
+    @Test
+    void testToggleFavorite_SingleUpdateAndFlagDelta() {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(noteRepository.toggleFavoriteForOwner(eq(1L), eq("testuser"), any())).thenReturn(1);
+        when(noteRepository.findFlagStateForOwner(1L, "testuser"))
+                .thenReturn(List.<Object[]>of(new Object[] {true, false, false, "Test Note", updatedAt}));
+
+        NoteFlagResponseDTO result = noteService.toggleFavorite(1L, "testuser");
+
+        assertEquals("favorite", result.getFlag());
+        assertTrue(result.isValue());
+        assertTrue(result.isChanged());
+        assertEquals(updatedAt, result.getUpdatedAt());
+        verify(noteRepository, never()).findById(anyLong());
+        verify(noteRepository, never()).save(any(Note.class));
+        verify(auditLogService).logNoteFlagChange("testuser", 1L, NoteFlag.FAVORITE, true);
+        verify(auditLogService, never()).logNoteUpdate(any(), any());
+        verify(userActivityService).logActivity("testuser", UserActivity.ActivityType.FAVORITED, "note", 1L,
+                "Test Note");
+    }
+
+    @Test
+    void testSetFlag_AlreadySetChangesNothing() {
+        when(noteRepository.setPublicIfChanged(eq(1L), eq("testuser"), eq(true), any())).thenReturn(0);
+        when(noteRepository.findFlagStateForOwner(1L, "testuser"))
+                .thenReturn(List.<Object[]>of(new Object[] {false, true, false, null, LocalDateTime.now()}));
+
+        NoteFlagResponseDTO result = noteService.setFlag(1L, "testuser", NoteFlag.PUBLIC, true);
+
+        assertTrue(result.isValue());
+        assertFalse(result.isChanged());
+        verify(auditLogService, never()).logNoteFlagChange(any(), any(), any(), anyBoolean());
+        verify(noteRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testToggleFavorite_ForeignNoteIsRejected() {
+        when(noteRepository.toggleFavoriteForOwner(eq(1L), eq("otheruser"), any())).thenReturn(0);
+        when(noteRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(UnauthorizedAccessException.class, () -> noteService.toggleFavorite(1L, "otheruser"));
+        verify(auditLogService, never()).logNoteFlagChange(any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void testPatchNote_EditsApplyToBaseVersion() {
+        testNote.setContent("Hello world");
+        testNote.setVersion(3);
+        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
+        when(noteRepository.saveAndFlush(any(Note.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        NotePatchRequestDTO patch = new NotePatchRequestDTO();
+        patch.setBaseVersion(3L);
+        patch.setEdits(List.of(new NotePatchRequestDTO.TextEdit(6, 5, "there")));
+        patch.setCategory("work");
+
+        NoteResponseDTO result = noteService.patchNoteForUser(1L, patch, "testuser");
+
+        assertEquals("Hello there", result.getContent());
+        assertEquals("work", result.getCategory());
+        // Fields missing from the patch are left alone
+        assertEquals("Test Note", result.getTitle());
+        verify(auditLogService).logNoteChanges(eq("testuser"), eq("UPDATE"), eq(List.of(1L)),
+                argThat(detail -> detail.endsWith("content, category")));
+        verify(auditLogService, never()).logNoteUpdate(any(), any());
+    }
+
+    @Test
+    void testPatchNote_StaleVersionIsRejected() {
+        testNote.setVersion(4);
+        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
+
+        NotePatchRequestDTO patch = new NotePatchRequestDTO();
+        patch.setBaseVersion(3L);
+        patch.setTitle("Renamed");
+
+        assertThrows(StaleVersionException.class, () -> noteService.patchNoteForUser(1L, patch, "testuser"));
+        verify(noteRepository, never()).saveAndFlush(any(Note.class));
+    }
+
+    @Test
+    void testPatchNote_UnchangedFieldsWriteNothing() {
+        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
+
+        NotePatchRequestDTO patch = new NotePatchRequestDTO();
+        patch.setBaseVersion(0L);
+        patch.setTitle("Test Note");
+
+        noteService.patchNoteForUser(1L, patch, "testuser");
+
+        verify(noteRepository, never()).saveAndFlush(any(Note.class));
+        verify(auditLogService, never()).logNoteChanges(any(), any(), any(), any());
+    }
 }
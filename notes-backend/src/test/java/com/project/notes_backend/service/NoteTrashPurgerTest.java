@@ -0,0 +1,75 @@
+package com.project.notes_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.project.notes_backend.config.TrashConfig;
+import com.project.notes_backend.repository.NoteRepository;
+import com.project.notes_backend.repository.UserActivityRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NoteTrashPurgerTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private UserActivityRepository userActivityRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private NoteTrashPurger purger;
+
+    private final LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+
+    @BeforeEach
+    void setUp() {
+        TrashConfig config = new TrashConfig();
+        config.setPurgeChunkSize(2);
+        ReflectionTestUtils.setField(purger, "trashConfig", config);
+        purger.init();
+    }
+
+    @Test
+    void testPurgesInChunksUntilShortChunk() {
+        when(noteRepository.findExpiredTrashIds(cutoff, 2)).thenReturn(List.of(1L, 2L)).thenReturn(List.of(3L));
+        when(noteRepository.purgeTrashed(List.of(1L, 2L))).thenReturn(2);
+        when(noteRepository.purgeTrashed(List.of(3L))).thenReturn(1);
+
+        assertEquals(3, purger.purgeDeletedBefore(cutoff));
+
+        // Activity rows go with their notes, one transaction per chunk
+        verify(userActivityRepository).deleteNoteActivities(List.of(1L, 2L));
+        verify(userActivityRepository).deleteNoteActivities(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void testNothingExpiredDeletesNothing() {
+        when(noteRepository.findExpiredTrashIds(cutoff, 2)).thenReturn(List.of());
+
+        assertEquals(0, purger.purgeDeletedBefore(cutoff));
+
+        verify(noteRepository, never()).purgeTrashed(any());
+        verify(userActivityRepository, never()).deleteNoteActivities(any());
+        verify(noteRepository, times(1)).findExpiredTrashIds(any(), anyInt());
+    }
+}
@@ -0,0 +1,110 @@
+package com.project.notes_backend.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.notes_backend.config.DashboardConfig;
+import com.project.notes_backend.dto.DashboardResponseDTO;
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.model.UserActivity;
+import com.project.notes_backend.service.NoteService;
+import com.project.notes_backend.service.UserActivityService;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    @Mock
+    private NoteService noteService;
+
+    @Mock
+    private UserActivityService userActivityService;
+
+    @InjectMocks
+    private DashboardServiceImpl dashboardService;
+
+    private final Page<NoteResponseDTO> notes = new PageImpl<>(List.of(new NoteResponseDTO()));
+    private final Page<UserActivity> activities = new PageImpl<>(List.of(new UserActivity()));
+
+    @BeforeEach
+    void setUp() {
+        DashboardConfig config = new DashboardConfig();
+        config.setStatsDeadlineMillis(200);
+        config.setRecentActivitiesDeadlineMillis(200);
+        config.setFavoritesDeadlineMillis(200);
+        config.setNotesDeadlineMillis(200);
+        ReflectionTestUtils.setField(dashboardService, "dashboardConfig", config);
+    }
+
+    @Test
+    void testAllSectionsLoaded() {
+        when(noteService.getUserNotesStats("alice")).thenReturn(Map.of("totalNotes", 3L));
+        when(userActivityService.getRecentActivities(eq("alice"), eq(7), any())).thenReturn(activities);
+        when(noteService.getFavoriteNotes(eq("alice"), any())).thenReturn(notes);
+        when(noteService.getNotesForUser(eq("alice"), any(), any(), eq(false), eq("updatedAt"), eq("desc"), any()))
+                .thenReturn(notes);
+
+        DashboardResponseDTO dashboard = dashboardService.getDashboard("alice");
+
+        assertFalse(dashboard.isPartial());
+        assertTrue(dashboard.getUnavailableSections().isEmpty());
+        assertEquals(3L, dashboard.getStats().get("totalNotes"));
+        assertEquals(activities, dashboard.getRecentActivities());
+        assertEquals(notes, dashboard.getFavorites());
+        assertEquals(notes, dashboard.getNotes());
+    }
+
+    @Test
+    void testSlowAndFailingSectionsAreLeftOut() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(noteService.getUserNotesStats("alice")).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Map.of();
+        });
+        when(userActivityService.getRecentActivities(anyString(), anyInt(), any()))
+                .thenThrow(new RuntimeException("database unavailable"));
+        when(noteService.getFavoriteNotes(eq("alice"), any())).thenReturn(notes);
+        when(noteService.getNotesForUser(eq("alice"), any(), any(), eq(false), any(), any(), any()))
+                .thenReturn(notes);
+
+        long start = System.nanoTime();
+        DashboardResponseDTO dashboard = dashboardService.getDashboard("alice");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(dashboard.isPartial());
+        assertEquals(List.of("stats", "recentActivities"), dashboard.getUnavailableSections());
+        assertNull(dashboard.getStats());
+        assertNull(dashboard.getRecentActivities());
+        assertNotNull(dashboard.getFavorites());
+        assertNotNull(dashboard.getNotes());
+
+        // Bounded by the deadline, and the slow branch was cancelled
+        assertTrue(elapsedMillis < 5_000, "took " + elapsedMillis + " ms");
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+}
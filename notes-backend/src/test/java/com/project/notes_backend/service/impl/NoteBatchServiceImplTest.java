@@ -0,0 +1,125 @@
+package com.project.notes_backend.service.impl;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.project.notes_backend.cache.UserNoteCacheInvalidator;
+import com.project.notes_backend.dto.NoteBatchRequestDTO;
+import com.project.notes_backend.dto.NoteBatchRequestDTO.Operation;
+import com.project.notes_backend.dto.NoteBatchRequestDTO.OperationType;
+import com.project.notes_backend.dto.NoteBatchResultDTO;
+import com.project.notes_backend.dto.NoteRequestDTO;
+import com.project.notes_backend.exception.UnauthorizedAccessException;
+import com.project.notes_backend.model.Note;
+import com.project.notes_backend.model.User;
+import com.project.notes_backend.model.UserActivity;
+import com.project.notes_backend.repository.NoteRepository;
+import com.project.notes_backend.repository.UserRepository;
+import com.project.notes_backend.service.AuditLogService;
+import com.project.notes_backend.service.UserActivityService;
+
+@ExtendWith(MockitoExtension.class)
+class NoteBatchServiceImplTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @Mock
+    private UserActivityService userActivityService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserNoteCacheInvalidator cacheInvalidator;
+
+    @InjectMocks
+    private NoteBatchServiceImpl batchService;
+
+    @Test
+    void testSetBasedUpdateAndDeleteWithOneOwnershipQuery() {
+        List<Long> moved = List.of(1L, 2L, 3L);
+        when(noteRepository.findOwnedIdsAndPublicFlags(anyCollection(), eq("alice"))).thenReturn(List.of(
+                new Object[] {1L, false}, new Object[] {2L, false}, new Object[] {3L, false}, new Object[] {4L, false}));
+        when(noteRepository.updateCategoryForOwner(eq(moved), eq("alice"), eq("work"), any())).thenReturn(3);
+        when(noteRepository.trashForOwner(eq(List.of(4L)), eq("alice"), any())).thenReturn(1);
+
+        NoteBatchResultDTO result = batchService.applyBatch("alice", new NoteBatchRequestDTO(List.of(
+                Operation.builder().type(OperationType.UPDATE).ids(moved).category("work").build(),
+                Operation.builder().type(OperationType.DELETE).ids(List.of(4L)).build())));
+
+        assertEquals(3, result.getUpdated());
+        assertEquals(1, result.getDeleted());
+        verify(noteRepository).findOwnedIdsAndPublicFlags(anyCollection(), eq("alice"));
+        verify(noteRepository, never()).findById(any());
+        verify(auditLogService).logNoteChanges("alice", "UPDATE", moved, "category=work");
+        verify(auditLogService).logNoteChanges("alice", "DELETE", List.of(4L), null);
+        verify(userActivityService).logActivity(eq("alice"), eq(UserActivity.ActivityType.UPDATED), eq("note"),
+                isNull(), eq("3 notes"), eq("Batch update: category=work"));
+        verify(cacheInvalidator).invalidate("alice", false);
+    }
+
+    @Test
+    void testForeignNoteRejectsWholeBatch() {
+        when(noteRepository.findOwnedIdsAndPublicFlags(anyCollection(), eq("alice")))
+                .thenReturn(List.<Object[]>of(new Object[] {1L, false}));
+
+        NoteBatchRequestDTO request = new NoteBatchRequestDTO(List.of(
+                Operation.builder().type(OperationType.DELETE).ids(List.of(1L, 99L)).build()));
+
+        assertThrows(UnauthorizedAccessException.class, () -> batchService.applyBatch("alice", request));
+        verify(noteRepository, never()).trashForOwner(anyCollection(), any(), any());
+        verifyNoInteractions(cacheInvalidator);
+    }
+
+    @Test
+    void testCreateSavesAllAndRebuildsFeedForPublicNotes() {
+        User user = new User();
+        user.setUserName("alice");
+        when(userRepository.findByUserName("alice")).thenReturn(Optional.of(user));
+        when(noteRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        NoteBatchResultDTO result = batchService.applyBatch("alice", new NoteBatchRequestDTO(List.of(
+                Operation.builder().type(OperationType.CREATE).notes(List.of(
+                        NoteRequestDTO.builder().content("one").build(),
+                        NoteRequestDTO.builder().content("two").isPublic(true).build())).build())));
+
+        assertEquals(2, result.getCreated().size());
+        verify(noteRepository, never()).save(any(Note.class));
+        verify(auditLogService).logNoteCreations(eq("alice"), anyList());
+        verify(cacheInvalidator).invalidate("alice", true);
+    }
+
+    @Test
+    void testUpdateWithoutFieldsIsRejected() {
+        NoteBatchRequestDTO request = new NoteBatchRequestDTO(List.of(
+                Operation.builder().type(OperationType.UPDATE).ids(List.of(1L)).build()));
+
+        assertThrows(IllegalArgumentException.class, () -> batchService.applyBatch("alice", request));
+        verifyNoInteractions(noteRepository);
+    }
+}
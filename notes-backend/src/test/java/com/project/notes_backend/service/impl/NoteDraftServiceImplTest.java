@@ -0,0 +1,198 @@
+package com.project.notes_backend.service.impl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notes_backend.cache.NotesTrashedEvent;
+import com.project.notes_backend.config.DraftConfig;
+import com.project.notes_backend.dto.DraftSaveResultDTO;
+import com.project.notes_backend.dto.NotePatchRequestDTO;
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.exception.StaleVersionException;
+import com.project.notes_backend.repository.NoteRepository;
+import com.project.notes_backend.service.NoteService;
+
+@ExtendWith(MockitoExtension.class)
+class NoteDraftServiceImplTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private NoteService noteService;
+
+    @TempDir
+    private Path tempDir;
+
+    private DraftConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new DraftConfig();
+        config.setWalFile(tempDir.resolve("drafts.wal").toString());
+        config.setWalFsync(false);
+
+        lenient().when(noteRepository.findEditableStateForOwner(1L, "alice"))
+                .thenReturn(List.<Object[]>of(new Object[] {3L, "Title", null, null, "base"}));
+        lenient().when(noteService.patchNoteForUser(eq(1L), any(NotePatchRequestDTO.class), eq("alice")))
+                .thenReturn(NoteResponseDTO.builder().id(1L).version(4L).build());
+    }
+
+    @Test
+    void testSavesAreCoalescedIntoOneWrite() throws IOException {
+        NoteDraftServiceImpl drafts = newService();
+        for (String content : List.of("b", "ba", "bas", "base!")) {
+            drafts.saveDraft(1L, save(3L, content), "alice");
+        }
+
+        drafts.flushDue(System.currentTimeMillis());
+        verify(noteService, never()).patchNoteForUser(any(), any(), any());
+
+        drafts.flushDue(System.currentTimeMillis() + config.getQuietPeriodMillis());
+        ArgumentCaptor<NotePatchRequestDTO> patch = ArgumentCaptor.forClass(NotePatchRequestDTO.class);
+        verify(noteService).patchNoteForUser(eq(1L), patch.capture(), eq("alice"));
+        assertEquals(3L, patch.getValue().getBaseVersion());
+        assertEquals("base!", patch.getValue().getContent());
+        assertFalse(patch.getValue().isPresent("title"));
+        assertFalse(drafts.getDraft(1L, "alice").isUnsaved());
+        assertEquals(4L, drafts.getDraft(1L, "alice").getVersion());
+    }
+
+    @Test
+    void testUnwrittenDraftIsRecoveredFromLog() throws IOException {
+        NoteDraftServiceImpl crashed = newService();
+        crashed.saveDraft(1L, save(3L, "typed before the crash"), "alice");
+        // No shutdown flush: only the log survives
+        ((DraftWriteAheadLog) ReflectionTestUtils.getField(crashed, "wal")).close();
+
+        NoteDraftServiceImpl restarted = newService();
+        assertTrue(restarted.getDraft(1L, "alice").isUnsaved());
+        restarted.flushDue(System.currentTimeMillis());
+
+        ArgumentCaptor<NotePatchRequestDTO> patch = ArgumentCaptor.forClass(NotePatchRequestDTO.class);
+        verify(noteService).patchNoteForUser(eq(1L), patch.capture(), eq("alice"));
+        assertEquals("typed before the crash", patch.getValue().getContent());
+    }
+
+    @Test
+    void testPendingSaveLimitWritesInline() throws IOException {
+        config.setMaxPendingSaves(3);
+        NoteDraftServiceImpl drafts = newService();
+
+        drafts.saveDraft(1L, save(3L, "one"), "alice");
+        drafts.saveDraft(1L, save(3L, "two"), "alice");
+        DraftSaveResultDTO result = drafts.saveDraft(1L, save(3L, "three"), "alice");
+
+        verify(noteService).patchNoteForUser(eq(1L), any(NotePatchRequestDTO.class), eq("alice"));
+        assertEquals(4L, result.getVersion());
+        assertEquals(0, result.getPendingSaves());
+        // The editor may keep sending the version it loaded
+        drafts.saveDraft(1L, save(3L, "four"), "alice");
+    }
+
+    @Test
+    void testCommitWritesAndDropsDraft() throws IOException {
+        NoteDraftServiceImpl drafts = newService();
+        drafts.saveDraft(1L, save(3L, "final"), "alice");
+
+        NoteResponseDTO committed = drafts.commitDraft(1L, "alice");
+
+        assertEquals(4L, committed.getVersion());
+        assertNull(drafts.getDraft(1L, "alice"));
+    }
+
+    @Test
+    void testStaleBaseVersionIsRejected() throws IOException {
+        NoteDraftServiceImpl drafts = newService();
+        drafts.saveDraft(1L, save(3L, "mine"), "alice");
+
+        assertThrows(StaleVersionException.class, () -> drafts.saveDraft(1L, save(2L, "old tab"), "alice"));
+        verify(noteService, never()).patchNoteForUser(any(), any(), any());
+    }
+
+    @Test
+    void testConflictingWriteKeepsDraft() throws IOException {
+        when(noteService.patchNoteForUser(eq(1L), any(NotePatchRequestDTO.class), eq("alice")))
+                .thenThrow(new StaleVersionException(1L, 3L, 5L));
+        NoteDraftServiceImpl drafts = newService();
+        drafts.saveDraft(1L, save(3L, "mine"), "alice");
+
+        drafts.flushDue(System.currentTimeMillis() + config.getQuietPeriodMillis());
+
+        assertTrue(drafts.getDraft(1L, "alice").isConflicted());
+        assertEquals("mine", drafts.getDraft(1L, "alice").getContent());
+        assertThrows(StaleVersionException.class, () -> drafts.commitDraft(1L, "alice"));
+    }
+
+    @Test
+    void testDeletedNoteDropsDraft() throws IOException {
+        when(noteService.patchNoteForUser(eq(1L), any(NotePatchRequestDTO.class), eq("alice")))
+                .thenThrow(new RuntimeException("Note not found"));
+        NoteDraftServiceImpl drafts = newService();
+        drafts.saveDraft(1L, save(3L, "mine"), "alice");
+
+        long due = System.currentTimeMillis() + config.getQuietPeriodMillis();
+        drafts.flushDue(due);
+        drafts.flushDue(due + 10 * config.getQuietPeriodMillis());
+
+        // Not retried, and not replayed after a restart
+        verify(noteService, times(1)).patchNoteForUser(any(), any(), any());
+        assertNull(drafts.getDraft(1L, "alice"));
+        ((DraftWriteAheadLog) ReflectionTestUtils.getField(drafts, "wal")).close();
+        assertNull(newService().getDraft(1L, "alice"));
+    }
+
+    @Test
+    void testTrashedNoteDropsDraft() throws IOException {
+        NoteDraftServiceImpl drafts = newService();
+        drafts.saveDraft(1L, save(3L, "mine"), "alice");
+
+        drafts.onNotesTrashed(new NotesTrashedEvent(List.of(1L, 2L)));
+        drafts.flushDue(System.currentTimeMillis() + config.getQuietPeriodMillis());
+
+        verify(noteService, never()).patchNoteForUser(any(), any(), any());
+        assertNull(drafts.getDraft(1L, "alice"));
+        ((DraftWriteAheadLog) ReflectionTestUtils.getField(drafts, "wal")).close();
+        assertNull(newService().getDraft(1L, "alice"));
+    }
+
+    private NoteDraftServiceImpl newService() throws IOException {
+        NoteDraftServiceImpl drafts = new NoteDraftServiceImpl();
+        ReflectionTestUtils.setField(drafts, "noteRepository", noteRepository);
+        ReflectionTestUtils.setField(drafts, "noteService", noteService);
+        ReflectionTestUtils.setField(drafts, "draftConfig", config);
+        ReflectionTestUtils.setField(drafts, "objectMapper", new ObjectMapper());
+        drafts.init();
+        return drafts;
+    }
+
+    private static NotePatchRequestDTO save(long baseVersion, String content) {
+        NotePatchRequestDTO save = new NotePatchRequestDTO();
+        save.setBaseVersion(baseVersion);
+        save.setContent(content);
+        return save;
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.notes_backend.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notes_backend.dto.NoteResponseDTO;
+import com.project.notes_backend.model.Note;
+import com.project.notes_backend.repository.NoteRepository;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class NoteExportServiceImplTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private NoteExportServiceImpl exportService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(exportService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(exportService, "entityManager", entityManager);
+    }
+
+    @Test
+    void testNdjsonWritesOneObjectPerLineAndDetaches() throws Exception {
+        stubNotes();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, exportService.exportNdjson("alice", out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals("milk\neggs", first.get("content").asText());
+        assertEquals("alice", first.get("ownerUsername").asText());
+        assertEquals("Ideas: \"v2\"", objectMapper.readTree(lines[1]).get("title").asText());
+        verify(entityManager, times(2)).detach(any(Note.class));
+    }
+
+    @Test
+    void testZipHasOneMarkdownFilePerNote() throws Exception {
+        stubNotes();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, exportService.exportZip("alice", out));
+
+        List<String> names = new ArrayList<>();
+        List<String> bodies = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                bodies.add(new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(List.of("1-shopping-list.md", "2-ideas-v2.md"), names);
+        assertTrue(bodies.get(0).startsWith("---\nid: 1\ntitle: \"Shopping list\"\n"));
+        assertTrue(bodies.get(0).contains("# Shopping list\n\nmilk\neggs\n"));
+        assertTrue(bodies.get(1).contains("title: \"Ideas: \\\"v2\\\"\""));
+    }
+
+    @Test
+    void testFileNameFallsBackToId() {
+        assertEquals("7.md", NoteExportServiceImpl.fileName(NoteResponseDTO.builder().id(7L).title("???").build()));
+        assertEquals("8.md", NoteExportServiceImpl.fileName(NoteResponseDTO.builder().id(8L).build()));
+    }
+
+    private void stubNotes() {
+        when(noteRepository.streamByOwnerUsername("alice"))
+                .thenReturn(Stream.of(note(1L, "Shopping list", "milk\neggs"), note(2L, "Ideas: \"v2\"", "more")));
+    }
+
+    private static Note note(Long id, String title, String content) {
+        Note note = new Note();
+        note.setId(id);
+        note.setTitle(title);
+        note.setContent(content);
+        note.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        note.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 10, 0));
+        return note;
+    }
+}
@@ -0,0 +1,197 @@
+package com.project.notes_backend.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notes_backend.cache.UserNoteCacheInvalidator;
+import com.project.notes_backend.config.NoteImportConfig;
+import com.project.notes_backend.dto.NoteImportResultDTO;
+import com.project.notes_backend.model.PooledSequences;
+import com.project.notes_backend.model.User;
+import com.project.notes_backend.repository.SequenceIdAllocator;
+import com.project.notes_backend.repository.UserRepository;
+import com.project.notes_backend.service.AuditLogService;
+import com.project.notes_backend.service.UserActivityService;
+import com.project.notes_backend.service.impl.NoteImportServiceImpl.ImportedNote;
+
+@ExtendWith(MockitoExtension.class)
+class NoteImportServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @Mock
+    private UserActivityService userActivityService;
+
+    @Mock
+    private UserNoteCacheInvalidator cacheInvalidator;
+
+    @Mock
+    private SequenceIdAllocator sequenceIdAllocator;
+
+    @InjectMocks
+    private NoteImportServiceImpl importService;
+
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    private final List<Long> insertedIds = new ArrayList<>();
+
+    private int reservedBlocks;
+
+    @BeforeEach
+    void setUp() {
+        NoteImportConfig config = new NoteImportConfig();
+        config.setBatchSize(2);
+        ReflectionTestUtils.setField(importService, "noteImportConfig", config);
+        ReflectionTestUtils.setField(importService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+
+        User user = new User();
+        user.setUserId(7L);
+        lenient().when(userRepository.findByUserName("alice")).thenReturn(Optional.of(user));
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            batchSizes.add(rows.size());
+            for (Object[] row : rows) {
+                insertedIds.add((Long) row[0]);
+            }
+            return new int[0];
+        });
+        lenient().when(sequenceIdAllocator.reserve(PooledSequences.NOTES)).thenAnswer(invocation -> {
+            long hi = 50L * ++reservedBlocks;
+            return new SequenceIdAllocator.IdBlock(hi - 49, hi);
+        });
+    }
+
+    @Test
+    void testNdjsonIsInsertedInBatchesWithOneAuditRowEach() throws Exception {
+        String ndjson = """
+                {"title":"One","content":"first"}
+                {"title":"Two","content":"second","public":true}
+                not json
+                {"title":"Blank","content":"  "}
+
+                {"title":"Three","content":"third"}
+                {"title":"Four","content":"fourth","createdAt":"2023-05-01T10:00:00"}
+                {"title":"Five","content":"fifth"}
+                """;
+
+        NoteImportResultDTO result = importService.importNdjson("alice",
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(5, result.getImported());
+        assertEquals(2, result.getSkipped());
+        assertEquals(3, result.getBatches());
+        assertEquals(List.of("line 3: malformed JSON", "line 4: content is blank"), result.getErrors());
+        assertEquals(List.of(2, 2, 1), batchSizes);
+        // Ids come from one sequence block instead of the identity column
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), insertedIds);
+        verify(sequenceIdAllocator, times(1)).reserve(PooledSequences.NOTES);
+        verify(auditLogService, times(3)).logNoteImport(eq("alice"), anyInt());
+        verify(userActivityService, times(3)).logActivity(eq("alice"), any(), eq("note"), any(), anyString(), anyString());
+
+        // Caches are evicted once for the whole import
+        verify(cacheInvalidator, times(1)).invalidate("alice", true);
+    }
+
+    @Test
+    void testOversizedNdjsonLineIsRejectedWithoutReadingItWhole() throws Exception {
+        NoteImportConfig config = (NoteImportConfig) ReflectionTestUtils.getField(importService, "noteImportConfig");
+        config.setMaxEntryBytes(64);
+        String ndjson = "{\"title\":\"One\",\"content\":\"first\"}\r\n"
+                + "{\"title\":\"Huge\",\"content\":\"" + "x".repeat(100_000) + "\"}\n"
+                + "{\"title\":\"Two\",\"content\":\"second\"}";
+
+        NoteImportResultDTO result = importService.importNdjson("alice",
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getSkipped());
+        assertEquals(List.of("line 2: line exceeds 64 bytes"), result.getErrors());
+    }
+
+    @Test
+    void testZipOfMarkdownFiles() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("notes/1-groceries.md"));
+            zip.write("---\ntitle: \"Groceries\"\nfavorite: true\n---\n\n# Groceries\n\nmilk\n".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("notes/plain.txt"));
+            zip.write("just text".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("notes/image.png"));
+            zip.write(new byte[] {1, 2, 3});
+        }
+
+        NoteImportResultDTO result = importService.importZip("alice", new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getSkipped());
+        assertEquals(List.of(2), batchSizes);
+        verify(cacheInvalidator, times(1)).invalidate("alice", false);
+    }
+
+    @Test
+    void testParseMarkdownReadsExportFormat() {
+        ImportedNote note = importService.parseMarkdown("42-ideas.md", "---\nid: 42\ntitle: \"Ideas: \\\"v2\\\"\"\n"
+                + "category: \"work\"\ncreated: 2024-01-01T10:00\nupdated: 2024-01-02T10:00\nfavorite: true\n"
+                + "public: false\nshared: false\n---\n\n# Ideas: \"v2\"\n\n> short\n> summary\n\nbody\n\nmore\n");
+
+        assertEquals("Ideas: \"v2\"", note.title());
+        assertEquals("work", note.category());
+        assertEquals("short\nsummary", note.description());
+        assertEquals("body\n\nmore", note.content());
+        assertTrue(note.favorite());
+        assertFalse(note.isPublic());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), note.createdAt());
+    }
+
+    @Test
+    void testParseMarkdownWithoutFrontMatter() {
+        ImportedNote headed = importService.parseMarkdown("a.md", "# Heading\n\n> quoted content\n");
+        assertEquals("Heading", headed.title());
+        assertNull(headed.description());
+        assertEquals("> quoted content", headed.content());
+
+        ImportedNote plain = importService.parseMarkdown("dir/Meeting notes.md", "text");
+        assertEquals("Meeting notes", plain.title());
+        assertEquals("text", plain.content());
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.notes_backend.util;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.project.notes_backend.dto.NotePatchRequestDTO.TextEdit;
+
+class TextPatchTest {
+
+    @Test
+    void testEditsUseBaseOffsets() {
+        String result = TextPatch.apply("The quick brown fox", List.of(
+                new TextEdit(4, 5, "slow"),
+                new TextEdit(10, 5, "red"),
+                new TextEdit(19, 0, "!")));
+
+        assertEquals("The slow red fox!", result);
+    }
+
+    @Test
+    void testInsertIntoEmptyContent() {
+        assertEquals("hi", TextPatch.apply(null, List.of(new TextEdit(0, 0, "hi"))));
+    }
+
+    @Test
+    void testOverlappingOrOutOfRangeEditsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TextPatch.apply("abcdef", List.of(
+                new TextEdit(2, 3, "x"), new TextEdit(3, 1, "y"))));
+        assertThrows(IllegalArgumentException.class, () -> TextPatch.apply("abc", List.of(
+                new TextEdit(2, 5, null))));
+    }
+}
@@ -42,10 +42,15 @@ export const fetchFavorites = createAsyncThunk(
 // Async thunk for toggling favorite status
 export const toggleFavoriteAsync = createAsyncThunk(
   'favorites/toggleFavorite',
-  async (noteId, { rejectWithValue }) => {
+  async (noteId, { rejectWithValue, getState }) => {
     try {
-      const updatedNote = await notesAPI.toggleFavorite(noteId);
-      return updatedNote;
+      // The backend returns only the new flag state; merge it into the note we already have
+      const result = await notesAPI.toggleFavorite(noteId);
+      const state = getState();
+      const knownNote = state.notes.notes.find(note => note.id === noteId)
+        || state.favorites.favoriteNotes.find(note => note.id === noteId)
+        || { id: noteId };
+      return { ...knownNote, favorite: result.value, updatedAt: result.updatedAt };
     } catch (error) {
       return rejectWithValue(error.response?.data?.message || 'Failed to toggle favorite');
     }